@@ -0,0 +1,258 @@
+/**
+ * Aggregates.java - Class for <code>Aggregates</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * This class holds running totals of the contents of a <code>Dock</code>, a <code>SeaPort</code>
+ * or a whole <code>World</code>, such as the number of ships present or queued, the total value of
+ * their cargo, the occupancy of their rooms, and the number and total duration of their
+ * outstanding jobs. Rather than being computed by walking a port's ships and their jobs whenever
+ * asked, the totals are adjusted by the <code>World</code> as each record is linked, unlinked,
+ * queued, docked or undocked, and as each job is finished, at a constant cost per record.
+ * <br />
+ * <br />
+ * A ship contributes to the totals of its port and of the world for as long as it is linked, and
+ * to those of a dock for as long as it is moored there. The jobs of a ship contribute alongside it
+ * until finished via <code>World.finishJob</code>, as by a <code>JobEngine</code>, and persons
+ * only to their port and the world. As records otherwise only ever change by being removed and
+ * added again, the totals need no other adjustment.
+ * <br />
+ * <br />
+ * The totals are held in <code>LongAdder</code>s and <code>DoubleAdder</code>s, such that they may
+ * be read at any time from any thread, i.e. by a dashboard, without a lock, whereas they are only
+ * adjusted on the thread owning the world. A total read while records are being linked may thus
+ * lag a little behind the world, and totals of fractional values may carry a rounding error of
+ * their own once values have been both added and subtracted.
+ *
+ * @see project1.World
+ * @author Andrew Eissen
+ */
+final class Aggregates {
+
+    // Ship totals
+    private final LongAdder ships = new LongAdder();
+    private final LongAdder queuedShips = new LongAdder();
+    private final LongAdder cargoShips = new LongAdder();
+    private final LongAdder passengerShips = new LongAdder();
+
+    // Cargo totals, over cargo ships
+    private final DoubleAdder cargoWeight = new DoubleAdder();
+    private final DoubleAdder cargoVolume = new DoubleAdder();
+    private final DoubleAdder cargoValue = new DoubleAdder();
+
+    // Passenger totals, over passenger ships
+    private final LongAdder passengers = new LongAdder();
+    private final LongAdder rooms = new LongAdder();
+    private final LongAdder occupiedRooms = new LongAdder();
+
+    // Job and person totals
+    private final LongAdder jobs = new LongAdder();
+    private final DoubleAdder jobHours = new DoubleAdder();
+    private final LongAdder persons = new LongAdder();
+
+    // Getters
+
+    /**
+     * @return The number of ships present
+     */
+    protected long getShipCount() {
+        return this.ships.sum();
+    }
+
+    /**
+     * @return The number of ships queued, i.e. present but moored at no dock
+     */
+    protected long getQueueLength() {
+        return this.queuedShips.sum();
+    }
+
+    /**
+     * @return The number of cargo ships present
+     */
+    protected long getCargoShipCount() {
+        return this.cargoShips.sum();
+    }
+
+    /**
+     * @return The number of passenger ships present
+     */
+    protected long getPassengerShipCount() {
+        return this.passengerShips.sum();
+    }
+
+    /**
+     * @return The total weight of the cargo of every cargo ship present
+     */
+    protected double getCargoWeight() {
+        return this.cargoWeight.sum();
+    }
+
+    /**
+     * @return The total volume of the cargo of every cargo ship present
+     */
+    protected double getCargoVolume() {
+        return this.cargoVolume.sum();
+    }
+
+    /**
+     * @return The total value of the cargo of every cargo ship present
+     */
+    protected double getCargoValue() {
+        return this.cargoValue.sum();
+    }
+
+    /**
+     * @return The total number of passengers of every passenger ship present
+     */
+    protected long getPassengerCount() {
+        return this.passengers.sum();
+    }
+
+    /**
+     * @return The total number of rooms of every passenger ship present
+     */
+    protected long getRoomCount() {
+        return this.rooms.sum();
+    }
+
+    /**
+     * @return The total number of occupied rooms of every passenger ship present
+     */
+    protected long getOccupiedRoomCount() {
+        return this.occupiedRooms.sum();
+    }
+
+    /**
+     * @return The fraction of the rooms of every passenger ship present that are occupied, or
+     *     <code>0</code> if there are no rooms
+     */
+    protected double getOccupancyRatio() {
+        long rooms = this.rooms.sum();
+
+        return (rooms == 0) ? 0 : (double) this.occupiedRooms.sum() / rooms;
+    }
+
+    /**
+     * @return The number of outstanding jobs, i.e. not yet finished, of every ship present
+     */
+    protected long getJobCount() {
+        return this.jobs.sum();
+    }
+
+    /**
+     * @return The total duration of the outstanding jobs of every ship present, being exactly
+     *     <code>0</code>, rather than any rounding error left over, once none are outstanding
+     */
+    protected double getJobHours() {
+        return (this.jobs.sum() == 0) ? 0 : this.jobHours.sum();
+    }
+
+    /**
+     * @return The number of persons present
+     */
+    protected long getPersonCount() {
+        return this.persons.sum();
+    }
+
+    // Handlers
+
+    /**
+     * Adds or subtracts a ship's own contribution, excluding that of its jobs.
+     *
+     * @param ship <code>Ship</code>
+     * @param sign <code>1</code> to add, or <code>-1</code> to subtract
+     * @return void
+     */
+    protected void adjustShip(Ship ship, int sign) {
+        CargoShip cargoShip;
+        PassengerShip passengerShip;
+
+        this.ships.add(sign);
+
+        if (ship instanceof CargoShip) {
+            cargoShip = (CargoShip) ship;
+            this.cargoShips.add(sign);
+            this.cargoWeight.add(sign * cargoShip.getCargoWeight());
+            this.cargoVolume.add(sign * cargoShip.getCargoVolume());
+            this.cargoValue.add(sign * cargoShip.getCargoValue());
+        } else if (ship instanceof PassengerShip) {
+            passengerShip = (PassengerShip) ship;
+            this.passengerShips.add(sign);
+            this.passengers.add(sign * passengerShip.getNumberOfPassengers());
+            this.rooms.add(sign * passengerShip.getNumberOfRooms());
+            this.occupiedRooms.add(sign * passengerShip.getNumberOfOccupiedRooms());
+        }
+    }
+
+    /**
+     * Adds or subtracts a ship's contribution together with that of each of its outstanding jobs,
+     * as when the ship moors at or leaves a dock.
+     *
+     * @param ship <code>Ship</code>
+     * @param outstanding <code>Predicate</code> accepting the jobs not yet finished
+     * @param sign <code>1</code> to add, or <code>-1</code> to subtract
+     * @return void
+     */
+    protected void adjustShipAndJobs(Ship ship, Predicate<Job> outstanding, int sign) {
+        this.adjustShip(ship, sign);
+
+        for (Job job : ship.getJobs()) {
+            if (outstanding.test(job)) {
+                this.adjustJob(job, sign);
+            }
+        }
+    }
+
+    /**
+     * @param job <code>Job</code>
+     * @param sign <code>1</code> to add, or <code>-1</code> to subtract
+     * @return void
+     */
+    protected void adjustJob(Job job, int sign) {
+        this.jobs.add(sign);
+        this.jobHours.add(sign * job.getDuration());
+    }
+
+    /**
+     * @param sign <code>1</code> as a ship joins the queue, or <code>-1</code> as it leaves
+     * @return void
+     */
+    protected void adjustQueue(int sign) {
+        this.queuedShips.add(sign);
+    }
+
+    /**
+     * @param sign <code>1</code> as a person arrives, or <code>-1</code> as one leaves
+     * @return void
+     */
+    protected void adjustPersons(int sign) {
+        this.persons.add(sign);
+    }
+
+    // Overridden methods
+
+    /**
+     * @inheritdoc
+     * @return <code>String</code>
+     */
+    @Override
+    public String toString() {
+        return String.format("Ships: %,d (%,d queued; %,d cargo, %,d passenger)\n"
+            + "Cargo: %,.2f weight, %,.2f volume, %,.2f value\n"
+            + "Passengers: %,d in %,d of %,d rooms (%.1f%% occupied)\n"
+            + "Jobs: %,d outstanding, totalling %,.2f hours\nPersons: %,d\n",
+            this.getShipCount(), this.getQueueLength(), this.getCargoShipCount(),
+            this.getPassengerShipCount(), this.getCargoWeight(), this.getCargoVolume(),
+            this.getCargoValue(), this.getPassengerCount(), this.getOccupiedRoomCount(),
+            this.getRoomCount(), 100 * this.getOccupancyRatio(), this.getJobCount(),
+            this.getJobHours(), this.getPersonCount());
+    }
+}
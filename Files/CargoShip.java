@@ -4,8 +4,9 @@
  * @author Andrew Eissen
  */
 
-//package project1;
+package project1;
 
+import java.io.IOException;
 import java.util.Scanner;
 
 /**
@@ -45,6 +46,28 @@ final class CargoShip extends Ship {
         }
     }
 
+    /**
+     * Parameterized constructor, reading the same fields from a <code>FieldSource</code>, i.e. a
+     * reusable <code>FieldTokenizer</code> or a snapshot record, rather than a per-line
+     * <code>Scanner</code>
+     * @param tokenizer <code>FieldSource</code> positioned after the record's keyword
+     */
+    protected CargoShip(FieldSource tokenizer) {
+        super(tokenizer);
+
+        if (tokenizer.hasNextDouble()) {
+            this.setCargoWeight(tokenizer.nextDouble());
+        }
+
+        if (tokenizer.hasNextDouble()) {
+            this.setCargoVolume(tokenizer.nextDouble());
+        }
+
+        if (tokenizer.hasNextDouble()) {
+            this.setCargoValue(tokenizer.nextDouble());
+        }
+    }
+
     // Setters
 
     /**
@@ -104,16 +127,28 @@ final class CargoShip extends Ship {
 
     /**
      * @inheritdoc
-     * @return stringOutput <code>String</code>
+     * @param output <code>Appendable</code>
+     * @return void
      */
     @Override
-    public String toString() {
-        String stringOutput;
-
-        stringOutput =  "Cargo Ship: " + super.toString() + "\n\tCargo Weight: "
-            + this.getCargoWeight() + "\n\tCargo Volume: " + this.getCargoVolume()
-            + "\n\tCargo Value: " + this.getCargoValue();
+    protected void appendTo(Appendable output) throws IOException {
+        output.append("Cargo Ship: ");
+        super.appendTo(output);
+        output.append("\n\tCargo Weight: ").append(String.valueOf(this.getCargoWeight()))
+            .append("\n\tCargo Volume: ").append(String.valueOf(this.getCargoVolume()))
+            .append("\n\tCargo Value: ").append(String.valueOf(this.getCargoValue()));
+    }
 
-        return stringOutput;
+    /**
+     * @inheritdoc
+     * @param output <code>SnapshotWriter</code>
+     * @return void
+     */
+    @Override
+    protected void writeFields(SnapshotWriter output) throws IOException {
+        super.writeFields(output);
+        output.writeDouble(this.getCargoWeight());
+        output.writeDouble(this.getCargoVolume());
+        output.writeDouble(this.getCargoValue());
     }
-}
\ No newline at end of file
+}
@@ -4,8 +4,9 @@
  * @author Andrew Eissen
  */
 
-//package project1;
+package project1;
 
+import java.io.IOException;
 import java.util.Scanner;
 
 /**
@@ -24,17 +25,32 @@ final class Dock extends Thing {
     // Rubric-required field
     private Ship ship;
 
+    // Running totals of the moored ship and its jobs, maintained by the <code>World</code>
+    private Aggregates aggregates;
+
     /**
      * Parameterized constructor
      * @param scannerContents Contents of <code>.txt</code> file
      */
     protected Dock(Scanner scannerContents) {
         super(scannerContents);
+        this.aggregates = new Aggregates();
+    }
+
+    /**
+     * Parameterized constructor, reading the same fields from a <code>FieldSource</code>, i.e. a
+     * reusable <code>FieldTokenizer</code> or a snapshot record, rather than a per-line
+     * <code>Scanner</code>
+     * @param tokenizer <code>FieldSource</code> positioned after the record's keyword
+     */
+    protected Dock(FieldSource tokenizer) {
+        super(tokenizer);
+        this.aggregates = new Aggregates();
     }
 
     /**
-     * Setter for <code>ship</code>; note that this setter is set to <code>protected</code>, the
-     * only setter in the program not set to <code>private</code>. Since the program's
+     * Setter for <code>ship</code>; note that this setter is set to <code>protected</code>, one of
+     * the few setters in the program not set to <code>private</code>. Since the program's
      * <code>World</code> instance needs to set the ship from within itself, using a private setting
      * would not work.
      * @param ship <code>Ship</code> instance
@@ -52,20 +68,29 @@ final class Dock extends Thing {
         return this.ship;
     }
 
+    /**
+     * Getter for <code>aggregates</code>
+     * @return <code>this.aggregates</code>, the running totals of the moored ship and its jobs
+     */
+    protected Aggregates getAggregates() {
+        return this.aggregates;
+    }
+
     /**
      * @inheritdoc
-     * @return stringOutput <code>String</code>
+     * @param output <code>Appendable</code>
+     * @return void
      */
     @Override
-    public String toString() {
-        String stringOutput = "Dock: " + super.toString() + "\n\t";
+    protected void appendTo(Appendable output) throws IOException {
+        output.append("Dock: ");
+        super.appendTo(output);
+        output.append("\n\t");
 
         if (this.getShip() == null) {
-            stringOutput += "EMPTY";
+            output.append("EMPTY");
         } else {
-            stringOutput += this.getShip().toString();
+            this.getShip().appendTo(output);
         }
-
-        return stringOutput;
     }
 }
\ No newline at end of file
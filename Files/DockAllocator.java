@@ -0,0 +1,221 @@
+/**
+ * DockAllocator.java - Class for <code>DockAllocator</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This class decides which of a port's queued <code>Ship</code>s is next to dock once a
+ * <code>Dock</code> becomes free. Ships are ranked on joining the queue by a pluggable policy,
+ * either one of the standard <code>Policy</code> constants or any other function of a ship, the
+ * lowest rank docking first and ships of equal rank docking in the order in which they joined.
+ * FIFO is thus merely the policy ranking every ship alike.
+ * <br />
+ * <br />
+ * The queue is a binary heap, i.e. a <code>PriorityQueue</code>, of entries holding each ship's
+ * rank as computed when it joined, such that each decision costs O(log n) however many ships are
+ * waiting, and the policy, which may sum a ship's jobs, is applied once per ship rather than once
+ * per comparison. A ship's rank is therefore not revised should it change while queued.
+ *
+ * @see project1.World#moveShipToDock
+ * @author Andrew Eissen
+ */
+final class DockAllocator {
+
+    // Allocation-related fields
+    private ToDoubleFunction<Ship> policy;
+    private PriorityQueue<Entry> queue;
+    private long sequence;
+
+    /**
+     * Parameterized constructor
+     * @param policy <code>ToDoubleFunction</code> ranking each ship, lowest first, e.g. a
+     *     <code>Policy</code>
+     */
+    protected DockAllocator(ToDoubleFunction<Ship> policy) {
+        this.setPolicy(policy);
+        this.queue = new PriorityQueue<>(Comparator.comparingDouble((Entry entry) -> entry.rank)
+            .thenComparingLong((Entry entry) -> entry.sequence));
+    }
+
+    /**
+     * Parameterized constructor, queueing each ship of the given port's <code>que</code> in turn
+     * @param port <code>SeaPort</code>
+     * @param policy <code>ToDoubleFunction</code> ranking each ship, lowest first
+     */
+    protected DockAllocator(SeaPort port, ToDoubleFunction<Ship> policy) {
+        this(policy);
+
+        for (Ship ship : port.getQue()) {
+            this.add(ship);
+        }
+    }
+
+    // Setter
+
+    /**
+     * Setter for <code>policy</code>
+     * @param policy <code>ToDoubleFunction</code>
+     * @return void
+     */
+    private void setPolicy(ToDoubleFunction<Ship> policy) {
+        this.policy = policy;
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>policy</code>
+     * @return <code>this.policy</code>
+     */
+    protected ToDoubleFunction<Ship> getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * @return The number of ships queued
+     */
+    protected int size() {
+        return this.queue.size();
+    }
+
+    /**
+     * @return <code>true</code> if no ships are queued
+     */
+    protected boolean isEmpty() {
+        return this.queue.isEmpty();
+    }
+
+    // Handlers
+
+    /**
+     * Queues a ship, ranking it by the policy.
+     *
+     * @param ship <code>Ship</code>
+     * @return void
+     */
+    protected void add(Ship ship) {
+        this.queue.add(new Entry(ship, this.policy.applyAsDouble(ship), this.sequence++));
+    }
+
+    /**
+     * Removes and returns the ship that is next to dock.
+     *
+     * @return The best-ranked <code>Ship</code>, or <code>null</code> if none are queued
+     */
+    protected Ship poll() {
+        Entry entry = this.queue.poll();
+
+        return (entry == null) ? null : entry.ship;
+    }
+
+    /**
+     * Moves the best-ranked ship still in its port's <code>que</code> onto the given free dock via
+     * <code>World.moveShipToDock</code>. Ships that have since left the <code>que</code> by other
+     * means, e.g. having been removed from the world, are discarded along the way.
+     *
+     * @param world The <code>World</code> of the dock
+     * @param dock A free <code>Dock</code>
+     * @return The <code>Ship</code> moved onto the dock, or <code>null</code> if none remain
+     */
+    protected Ship dockNext(World world, Dock dock) {
+        Ship ship = this.poll();
+
+        while (ship != null && !world.moveShipToDock(ship, dock)) {
+            ship = this.poll();
+        }
+        return ship;
+    }
+
+    /**
+     * The standard policies, each ranking ships such that those it favours rank lowest. Ships to
+     * which a policy does not apply, e.g. passenger ships when ranked by cargo value, rank last.
+     */
+    protected enum Policy implements ToDoubleFunction<Ship> {
+
+        FIFO("First come, first served") {
+            @Override
+            public double applyAsDouble(Ship ship) {
+                return 0;
+            }
+        },
+
+        SHORTEST_JOBS_FIRST("Shortest jobs first") {
+            @Override
+            public double applyAsDouble(Ship ship) {
+                double total = 0;
+
+                for (Job job : ship.getJobs()) {
+                    total += job.getDuration();
+                }
+                return total;
+            }
+        },
+
+        HIGHEST_CARGO_VALUE("Highest cargo value first") {
+            @Override
+            public double applyAsDouble(Ship ship) {
+                return (ship instanceof CargoShip)
+                    ? -((CargoShip) ship).getCargoValue()
+                    : Double.POSITIVE_INFINITY;
+            }
+        },
+
+        MOST_PASSENGERS("Most passengers first") {
+            @Override
+            public double applyAsDouble(Ship ship) {
+                return (ship instanceof PassengerShip)
+                    ? -((PassengerShip) ship).getNumberOfPassengers()
+                    : Double.POSITIVE_INFINITY;
+            }
+        };
+
+        // Label shown by the GUI
+        private final String label;
+
+        /**
+         * Parameterized constructor
+         * @param label <code>String</code>
+         */
+        Policy(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @inheritdoc
+         * @return <code>String</code>
+         */
+        @Override
+        public String toString() {
+            return this.label;
+        }
+    }
+
+    /**
+     * A queued ship and its rank.
+     */
+    private static final class Entry {
+
+        private final Ship ship;
+        private final double rank;
+        private final long sequence;
+
+        /**
+         * Parameterized constructor
+         * @param ship <code>Ship</code>
+         * @param rank Rank assigned by the policy
+         * @param sequence Order of joining, breaking ties between ships of equal rank
+         */
+        private Entry(Ship ship, double rank, long sequence) {
+            this.ship = ship;
+            this.rank = rank;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * FieldSource.java - Abstract class for sources of record fields
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+/**
+ * This class abstracts over the sources from which the <code>Thing</code> constructors read the
+ * fields of a single record, allowing the same constructors to build objects from a line of text,
+ * via <code>FieldTokenizer</code>, or from a record of a binary snapshot, via
+ * <code>SnapshotReader</code>. Its methods mirror those of <code>Scanner</code> relied upon by the
+ * original constructors; as with <code>Scanner</code>, the <code>hasNext</code> family of methods
+ * examine the next field without consuming it.
+ *
+ * @see project1.FieldTokenizer
+ * @see project1.SnapshotReader
+ * @author Andrew Eissen
+ */
+abstract class FieldSource {
+
+    /**
+     * @return <code>true</code> if another field remains in the record
+     */
+    protected abstract boolean hasNext();
+
+    /**
+     * @return <code>true</code> if the next field may be read via <code>nextInt</code>
+     */
+    protected abstract boolean hasNextInt();
+
+    /**
+     * @return <code>true</code> if the next field may be read via <code>nextDouble</code>
+     */
+    protected abstract boolean hasNextDouble();
+
+    /**
+     * @return The next field, as a <code>String</code>
+     */
+    protected abstract String next();
+
+    /**
+     * @return The next field, as an <code>int</code>
+     */
+    protected abstract int nextInt();
+
+    /**
+     * @return The next field, as a <code>double</code>
+     */
+    protected abstract double nextDouble();
+
+    /**
+     * Reads the next field as the name of a skill and interns it. Sources that already hold skills
+     * as identifiers may override this method to avoid building the name.
+     *
+     * @return The skill's <code>SkillTable</code> identifier
+     */
+    protected int nextSkill() {
+        return SkillTable.intern(this.next());
+    }
+}
@@ -0,0 +1,443 @@
+/**
+ * FieldTokenizer.java - Class for <code>FieldTokenizer</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class is a hand-written, reusable replacement for the per-line <code>Scanner</code>
+ * instances previously built by <code>World.process</code>. A single instance holds a growable
+ * <code>char</code> buffer into which each line is copied via one of the <code>reset</code>
+ * methods, after which the whitespace-delimited fields of the line may be read in much the same
+ * manner as with a <code>Scanner</code>. Unlike <code>Scanner</code>, no regular expressions are
+ * evaluated and <code>int</code>/<code>double</code> fields are parsed in place from the buffer, so
+ * only those fields actually kept as <code>String</code>s (names, skills, etc.) allocate.
+ * <br />
+ * <br />
+ * As with <code>Scanner</code>, the <code>hasNextInt</code> and <code>hasNextDouble</code> methods
+ * only examine the next field without consuming it, allowing the <code>Thing</code> constructors to
+ * retain their defensive structure. Instances are not thread-safe; each thread parsing input should
+ * hold its own.
+ * <br />
+ * <br />
+ * Class extends <code>FieldSource</code>
+ * @see project1.FieldSource
+ * @see java.util.Scanner
+ * @author Andrew Eissen
+ */
+final class FieldTokenizer extends FieldSource {
+
+    // Powers of ten exactly representable as doubles, used for fast exact decimal conversion
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Buffer-related fields
+    private char[] buffer;
+    private int position;
+    private int limit;
+
+    /**
+     * Default, no-parameters constructor
+     */
+    protected FieldTokenizer() {
+        this.setBuffer(new char[128]);
+    }
+
+    /**
+     * Parameterized constructor, tokenizing a single line
+     * @param line <code>CharSequence</code>
+     */
+    protected FieldTokenizer(CharSequence line) {
+        this();
+        this.reset(line);
+    }
+
+    // Setters
+
+    /**
+     * Setter for <code>buffer</code>
+     * @param buffer <code>char[]</code>
+     * @return void
+     */
+    private void setBuffer(char[] buffer) {
+        this.buffer = buffer;
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>buffer</code>
+     * @return <code>this.buffer</code>
+     */
+    private char[] getBuffer() {
+        return this.buffer;
+    }
+
+    // Handlers
+
+    /**
+     * Loads a new line into the tokenizer, discarding any unread fields of the previous line.
+     *
+     * @param line <code>CharSequence</code>
+     * @return void
+     */
+    protected void reset(CharSequence line) {
+        int length = line.length();
+
+        this.ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            this.buffer[i] = line.charAt(i);
+        }
+        this.position = 0;
+        this.limit = length;
+    }
+
+    /**
+     * Loads a new line into the tokenizer from a range of a <code>char</code> array.
+     *
+     * @param chars <code>char[]</code>
+     * @param offset Index of the line's first character
+     * @param length Number of characters in the line
+     * @return void
+     */
+    protected void reset(char[] chars, int offset, int length) {
+        this.ensureCapacity(length);
+        System.arraycopy(chars, offset, this.buffer, 0, length);
+        this.position = 0;
+        this.limit = length;
+    }
+
+    /**
+     * Loads a new line into the tokenizer from a range of ASCII bytes, such as a region of a
+     * memory-mapped file. Bytes are widened directly to <code>char</code>s without passing through
+     * a <code>CharsetDecoder</code>. The buffer's position is left untouched.
+     *
+     * @param bytes <code>ByteBuffer</code>
+     * @param start Index of the line's first byte
+     * @param end Index one past the line's last byte
+     * @return void
+     */
+    protected void resetAscii(ByteBuffer bytes, int start, int end) {
+        int length = end - start;
+
+        this.ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            this.buffer[i] = (char) (bytes.get(start + i) & 0xFF);
+        }
+        this.position = 0;
+        this.limit = length;
+    }
+
+    /**
+     * Grows the buffer if necessary so that it may hold at least <code>length</code> characters.
+     *
+     * @param length <code>int</code>
+     * @return void
+     */
+    private void ensureCapacity(int length) {
+        if (this.getBuffer().length < length) {
+            this.setBuffer(new char[Math.max(length, this.getBuffer().length * 2)]);
+        }
+    }
+
+    /**
+     * Determines whether the current line contains no fields or begins with a <code>//</code>
+     * comment, in which case it should be skipped entirely. Does not consume anything.
+     *
+     * @return <code>boolean</code>
+     */
+    protected boolean isBlankOrComment() {
+        int start = this.skipWhitespace();
+
+        return start == this.limit
+            || (start + 1 < this.limit && this.buffer[start] == '/'
+                && this.buffer[start + 1] == '/');
+    }
+
+    /**
+     * @return <code>true</code> if another field remains on the line
+     */
+    @Override
+    protected boolean hasNext() {
+        return this.skipWhitespace() < this.limit;
+    }
+
+    /**
+     * @return <code>true</code> if the next field may be read via <code>nextInt</code>
+     */
+    @Override
+    protected boolean hasNextInt() {
+        int start = this.skipWhitespace();
+        int end = this.findFieldEnd(start);
+        int i = start;
+        long value = 0;
+
+        if (i < end && (this.buffer[i] == '-' || this.buffer[i] == '+')) {
+            i++;
+        }
+
+        if (i == end) {
+            return false;
+        }
+
+        for (; i < end; i++) {
+            if (!FieldTokenizer.isDigit(this.buffer[i])) {
+                return false;
+            }
+            value = value * 10 + (this.buffer[i] - '0');
+
+            // Anything past 2^31 is out of range regardless of sign
+            if (value > 1L + Integer.MAX_VALUE) {
+                return false;
+            }
+        }
+        return value <= Integer.MAX_VALUE || this.buffer[start] == '-';
+    }
+
+    /**
+     * @return <code>true</code> if the next field may be read via <code>nextDouble</code>
+     */
+    @Override
+    protected boolean hasNextDouble() {
+        int start = this.skipWhitespace();
+        int end = this.findFieldEnd(start);
+
+        return start < end && this.scanDecimal(start, end) == end;
+    }
+
+    /**
+     * Reads the next field as a new <code>String</code>.
+     *
+     * @return <code>String</code>
+     */
+    @Override
+    protected String next() {
+        int start = this.skipWhitespace();
+        int end = this.findFieldEnd(start);
+
+        this.position = end;
+        return new String(this.buffer, start, end - start);
+    }
+
+    /**
+     * Reads the next field as an <code>int</code> without allocating. Callers are expected to
+     * check <code>hasNextInt</code> first.
+     *
+     * @return <code>int</code>
+     */
+    @Override
+    protected int nextInt() {
+        int start = this.skipWhitespace();
+        int end = this.findFieldEnd(start);
+        int i = start;
+        boolean negative = false;
+        long value = 0;
+
+        if (this.buffer[i] == '-' || this.buffer[i] == '+') {
+            negative = this.buffer[i] == '-';
+            i++;
+        }
+
+        for (; i < end; i++) {
+            value = value * 10 + (this.buffer[i] - '0');
+        }
+
+        this.position = end;
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Reads the next field as a <code>double</code>. Fields of at most 15 significant digits with
+     * a small decimal exponent, which covers every value in the project's data files, are
+     * converted exactly in place by a single multiplication or division by a power of ten. Any
+     * other field falls back to <code>Double.parseDouble</code>, so the result always matches that
+     * of <code>Scanner.nextDouble</code>. Callers are expected to check <code>hasNextDouble</code>
+     * first.
+     *
+     * @return <code>double</code>
+     */
+    @Override
+    protected double nextDouble() {
+
+        // Declarations
+        int start, end, i, digits, exponent, exponentValue;
+        long mantissa;
+        boolean negative, negativeExponent;
+        double value;
+
+        // Definitions
+        start = this.skipWhitespace();
+        end = this.findFieldEnd(start);
+        i = start;
+        digits = 0;
+        exponent = 0;
+        mantissa = 0;
+        negative = false;
+        this.position = end;
+
+        if (this.buffer[i] == '-' || this.buffer[i] == '+') {
+            negative = this.buffer[i] == '-';
+            i++;
+        }
+
+        // Integral digits, ignoring leading zeros for the purposes of the digit count
+        for (; i < end && FieldTokenizer.isDigit(this.buffer[i]); i++) {
+            if (mantissa != 0 || this.buffer[i] != '0') {
+                mantissa = mantissa * 10 + (this.buffer[i] - '0');
+                digits++;
+            }
+        }
+
+        // Fractional digits, each shifting the decimal exponent
+        if (i < end && this.buffer[i] == '.') {
+            for (i++; i < end && FieldTokenizer.isDigit(this.buffer[i]); i++) {
+                if (mantissa != 0 || this.buffer[i] != '0') {
+                    mantissa = mantissa * 10 + (this.buffer[i] - '0');
+                    digits++;
+                }
+                exponent--;
+            }
+        }
+
+        if (i < end && (this.buffer[i] == 'e' || this.buffer[i] == 'E')) {
+            i++;
+            negativeExponent = this.buffer[i] == '-';
+            if (this.buffer[i] == '-' || this.buffer[i] == '+') {
+                i++;
+            }
+
+            for (exponentValue = 0; i < end && exponentValue < 10000; i++) {
+                exponentValue = exponentValue * 10 + (this.buffer[i] - '0');
+            }
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+
+        if (digits > 15 || exponent < -22 || exponent > 22) {
+            return Double.parseDouble(new String(this.buffer, start, end - start));
+        }
+
+        value = (exponent < 0)
+            ? mantissa / POWERS_OF_TEN[-exponent]
+            : mantissa * POWERS_OF_TEN[exponent];
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Determines whether the next field is exactly equal to the given <code>String</code> without
+     * consuming or allocating it. Used to match record keywords.
+     *
+     * @param target <code>String</code>
+     * @return <code>boolean</code>
+     */
+    protected boolean nextEquals(String target) {
+        int start = this.skipWhitespace();
+        int end = this.findFieldEnd(start);
+
+        if (end - start != target.length()) {
+            return false;
+        }
+
+        for (int i = start; i < end; i++) {
+            if (this.buffer[i] != target.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Consumes the next field without allocating it.
+     *
+     * @return void
+     */
+    protected void skip() {
+        this.position = this.findFieldEnd(this.skipWhitespace());
+    }
+
+    /**
+     * Advances past any whitespace at the current position.
+     *
+     * @return The index of the next field's first character, or <code>limit</code>
+     */
+    private int skipWhitespace() {
+        while (this.position < this.limit && this.buffer[this.position] <= ' ') {
+            this.position++;
+        }
+        return this.position;
+    }
+
+    /**
+     * @param start Index of a field's first character
+     * @return The index one past the field's last character
+     */
+    private int findFieldEnd(int start) {
+        int end = start;
+
+        while (end < this.limit && this.buffer[end] > ' ') {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Scans a decimal floating-point numeral of the form <tt>[+-]digits[.digits][(e|E)[+-]digits]
+     * </tt>, requiring at least one mantissa digit.
+     *
+     * @param start Index of the field's first character
+     * @param end Index one past the field's last character
+     * @return The index at which scanning stopped, equal to <code>end</code> on success
+     */
+    private int scanDecimal(int start, int end) {
+        int i = start;
+        int digits = 0;
+
+        if (this.buffer[i] == '-' || this.buffer[i] == '+') {
+            i++;
+        }
+
+        for (; i < end && FieldTokenizer.isDigit(this.buffer[i]); i++) {
+            digits++;
+        }
+
+        if (i < end && this.buffer[i] == '.') {
+            for (i++; i < end && FieldTokenizer.isDigit(this.buffer[i]); i++) {
+                digits++;
+            }
+        }
+
+        if (digits == 0) {
+            return start;
+        }
+
+        if (i < end && (this.buffer[i] == 'e' || this.buffer[i] == 'E')) {
+            i++;
+            if (i < end && (this.buffer[i] == '-' || this.buffer[i] == '+')) {
+                i++;
+            }
+
+            if (i == end || !FieldTokenizer.isDigit(this.buffer[i])) {
+                return start;
+            }
+
+            while (i < end && FieldTokenizer.isDigit(this.buffer[i])) {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * @param character <code>char</code>
+     * @return <code>true</code> if the character is an ASCII digit
+     */
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+}
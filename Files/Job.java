@@ -4,9 +4,12 @@
  * @author Andrew Eissen
  */
 
-//package project1;
+package project1;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -16,6 +19,12 @@ import java.util.Scanner;
  * as per all <code>Thing</code> objects.
  * <br />
  * <br />
+ * Requirements are interned via <code>SkillTable</code> rather than held as a list of
+ * <code>String</code>s. They are kept both in their original order, repetitions included, as an
+ * <code>int[]</code> of skill identifiers, and as a <code>SkillSet</code>, against which the skills
+ * available at a port may be compared in a single operation.
+ * <br />
+ * <br />
  * Class extends <code>Thing</code>
  * @see project1.Thing
  * @author Andrew Eissen
@@ -24,7 +33,11 @@ final class Job extends Thing {
 
     // Rubric-required fields
     private double duration;
-    private ArrayList<String> requirements;
+    private int[] requirements;
+
+    // Requirements as a bitset, and whether any requirement is listed more than once
+    private SkillSet requirementSet;
+    private boolean repeatedRequirements;
 
     /**
      * Parameterized constructor
@@ -36,10 +49,40 @@ final class Job extends Thing {
             this.setDuration(scannerContents.nextDouble());
         }
 
-        this.setRequirements(new ArrayList<>());
+        int[] ids = new int[4];
+        int count = 0;
+
         while (scannerContents.hasNext()) {
-            this.getRequirements().add(scannerContents.next());
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = SkillTable.intern(scannerContents.next());
+        }
+        this.setRequirements(Arrays.copyOf(ids, count));
+    }
+
+    /**
+     * Parameterized constructor, reading the same fields from a <code>FieldSource</code>, i.e. a
+     * reusable <code>FieldTokenizer</code> or a snapshot record, rather than a per-line
+     * <code>Scanner</code>
+     * @param tokenizer <code>FieldSource</code> positioned after the record's keyword
+     */
+    protected Job(FieldSource tokenizer) {
+        super(tokenizer);
+        if (tokenizer.hasNextDouble()) {
+            this.setDuration(tokenizer.nextDouble());
+        }
+
+        int[] ids = new int[4];
+        int count = 0;
+
+        while (tokenizer.hasNext()) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = tokenizer.nextSkill();
         }
+        this.setRequirements(Arrays.copyOf(ids, count));
     }
 
     // Setters
@@ -54,12 +97,22 @@ final class Job extends Thing {
     }
 
     /**
-     * Setter for <code>requirements</code>
-     * @param requirements <code>ArrayList</code>
+     * Setter for <code>requirements</code>, also deriving <code>requirementSet</code> and
+     * <code>repeatedRequirements</code>
+     * @param requirements Skill identifiers, in order
      * @return void
      */
-    private void setRequirements(ArrayList<String> requirements) {
+    private void setRequirements(int[] requirements) {
         this.requirements = requirements;
+        this.requirementSet = new SkillSet();
+        this.repeatedRequirements = false;
+
+        for (int id : requirements) {
+            if (this.requirementSet.contains(id)) {
+                this.repeatedRequirements = true;
+            }
+            this.requirementSet.add(id);
+        }
     }
 
     // Getters
@@ -73,34 +126,83 @@ final class Job extends Thing {
     }
 
     /**
-     * Getter for <code>requirements</code>
-     * @return <code>this.requirements</code>
+     * Getter for <code>requirements</code>, as a read-only view of the names of the required
+     * skills, in order. The names are the canonical instances held by <code>SkillTable</code>.
+     * @return <code>List</code>
      */
-    protected ArrayList<String> getRequirements() {
-        return this.requirements;
+    protected List<String> getRequirements() {
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return SkillTable.nameOf(Job.this.requirements[index]);
+            }
+
+            @Override
+            public int size() {
+                return Job.this.requirements.length;
+            }
+        };
     }
 
-    // Overriden method
+    /**
+     * Getter for <code>requirements</code>, as skill identifiers
+     * @return A copy of <code>this.requirements</code>
+     */
+    protected int[] getRequirementIds() {
+        return this.requirements.clone();
+    }
 
     /**
-     * @inheritdoc
-     * @return stringOutput <code>String</code>
+     * Getter for <code>requirementSet</code>
+     * @return <code>this.requirementSet</code>, which must not be modified
      */
-    @Override
-    public String toString() {
-        String stringOutput;
+    protected SkillSet getRequirementSet() {
+        return this.requirementSet;
+    }
 
-        stringOutput = "\t\t" + super.toString() + "\n\t\tDuration: " + this.getDuration()
-            + "\n\t\tRequirements:";
+    /**
+     * Getter for <code>repeatedRequirements</code>
+     * @return <code>true</code> if any skill is required more than once, i.e. by two workers
+     */
+    protected boolean hasRepeatedRequirements() {
+        return this.repeatedRequirements;
+    }
+
+    // Overriden methods
 
-        if (this.getRequirements().isEmpty()) {
-            stringOutput += "\n\t\t\t - None";
+    /**
+     * @inheritdoc
+     * @param output <code>Appendable</code>
+     * @return void
+     */
+    @Override
+    protected void appendTo(Appendable output) throws IOException {
+        output.append("\t\t");
+        super.appendTo(output);
+        output.append("\n\t\tDuration: ").append(String.valueOf(this.getDuration()))
+            .append("\n\t\tRequirements:");
+
+        if (this.requirements.length == 0) {
+            output.append("\n\t\t\t - None");
         } else {
-            for(String requiredSkill : this.getRequirements()){
-                stringOutput += "\n\t\t\t - " + requiredSkill;
+            for (int requiredSkill : this.requirements) {
+                output.append("\n\t\t\t - ").append(SkillTable.nameOf(requiredSkill));
             }
         }
+    }
+
+    /**
+     * @inheritdoc
+     * @param output <code>SnapshotWriter</code>
+     * @return void
+     */
+    @Override
+    protected void writeFields(SnapshotWriter output) throws IOException {
+        super.writeFields(output);
+        output.writeDouble(this.getDuration());
 
-        return stringOutput;
+        for (int requiredSkill : this.requirements) {
+            output.writeSkill(requiredSkill);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,476 @@
+/**
+ * JobEngine.java - Class for <code>JobEngine</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This class runs the <code>Job</code>s of every <code>Ship</code> moored at a <code>Dock</code> of
+ * a <code>World</code>, all at once, docking queued ships as docks become free. Each job runs on a
+ * virtual thread of its own, acquiring a crew of the <code>Person</code>s at its ship's port whose
+ * skills match its requirements from that port's <code>PortWorkforce</code>, and holding them for
+ * its duration scaled by <code>timeFactor</code>. Jobs waiting for a crew, or working, merely park
+ * their virtual threads, so tens of thousands of jobs may run at once without one platform thread
+ * apiece. Each crew is acquired all or nothing, a job never holding part of one while it waits,
+ * and jobs waiting longer than <code>ACQUIRE_TIMEOUT</code> are counted among the port's timeouts
+ * before waiting again, such that long waits show in the <code>getStaffingReport</code>.
+ * <br />
+ * <br />
+ * Once every job of a ship has finished, the ship leaves its dock via
+ * <code>World.undockShip</code>, and the port's <code>DockAllocator</code> moves the queued ship
+ * ranked best by the <code>dockPolicy</code> onto the dock, whose jobs then start in turn. Free
+ * docks are likewise filled when the engine starts. Jobs that the port's workforce could never
+ * staff are reported and counted as finished, such that their ships still depart. Every job
+ * finished, or found impossible to staff, is also marked finished in the world via
+ * <code>World.finishJob</code>, such that it no longer counts among the outstanding jobs of the
+ * world's <code>Aggregates</code>. As the world is not thread-safe, these marks and departures
+ * alike are made via the <code>worldExecutor</code>, i.e. on the event dispatch thread when the
+ * world is on display, and <code>start</code> must likewise be invoked there. Any changes made to
+ * the world once started are not seen by the jobs already running.
+ * <br />
+ * <br />
+ * Progress is reported to a <code>Listener</code>, whose methods are invoked on the jobs' own
+ * threads, save <code>shipDeparted</code> and <code>shipDocked</code>, which are invoked via the
+ * <code>worldExecutor</code>.
+ * Once <code>stop</code> has been invoked, the jobs are interrupted and no ship departs.
+ *
+ * @see project1.PortWorkforce
+ * @author Andrew Eissen
+ */
+final class JobEngine {
+
+    // Milliseconds a job waits for its crew before a timeout is counted and it waits again
+    private static final long ACQUIRE_TIMEOUT = 250;
+
+    // Engine-related fields
+    private World world;
+    private double timeFactor;
+    private ToDoubleFunction<Ship> dockPolicy;
+    private Executor worldExecutor;
+    private Listener listener;
+    private ExecutorService jobExecutor;
+    private volatile boolean running;
+
+    // Per-port workforces and allocators, used only on the thread owning the world
+    private HashMap<SeaPort, PortWorkforce> workforces;
+    private HashMap<SeaPort, DockAllocator> allocators;
+
+    // Progress-related fields; <code>finished</code> opens once no docked ship remains
+    private AtomicInteger jobCount;
+    private AtomicInteger finishedCount;
+    private AtomicInteger unstaffableCount;
+    private AtomicInteger dockedCount;
+    private CountDownLatch finished;
+
+    /**
+     * Parameterized constructor
+     * @param world The <code>World</code> whose jobs to run
+     * @param timeFactor Milliseconds for which each unit of a job's duration lasts
+     * @param dockPolicy <code>ToDoubleFunction</code> ranking queued ships, e.g. a
+     *     <code>DockAllocator.Policy</code>
+     * @param worldExecutor <code>Executor</code> running tasks on the thread owning the world
+     * @param listener <code>Listener</code> receiving progress reports
+     */
+    protected JobEngine(World world, double timeFactor, ToDoubleFunction<Ship> dockPolicy,
+            Executor worldExecutor, Listener listener) {
+        this.setWorld(world);
+        this.setTimeFactor(timeFactor);
+        this.setDockPolicy(dockPolicy);
+        this.setWorldExecutor(worldExecutor);
+        this.setListener(listener);
+        this.workforces = new HashMap<>();
+        this.allocators = new HashMap<>();
+        this.jobCount = new AtomicInteger();
+        this.finishedCount = new AtomicInteger();
+        this.unstaffableCount = new AtomicInteger();
+        this.dockedCount = new AtomicInteger();
+        this.finished = new CountDownLatch(1);
+    }
+
+    // Setters
+
+    /**
+     * Setter for <code>world</code>
+     * @param world <code>World</code>
+     * @return void
+     */
+    private void setWorld(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Setter for <code>timeFactor</code>
+     * @param timeFactor <code>double</code>
+     * @return void
+     */
+    private void setTimeFactor(double timeFactor) {
+        this.timeFactor = timeFactor;
+    }
+
+    /**
+     * Setter for <code>dockPolicy</code>
+     * @param dockPolicy <code>ToDoubleFunction</code>
+     * @return void
+     */
+    private void setDockPolicy(ToDoubleFunction<Ship> dockPolicy) {
+        this.dockPolicy = dockPolicy;
+    }
+
+    /**
+     * Setter for <code>worldExecutor</code>
+     * @param worldExecutor <code>Executor</code>
+     * @return void
+     */
+    private void setWorldExecutor(Executor worldExecutor) {
+        this.worldExecutor = worldExecutor;
+    }
+
+    /**
+     * Setter for <code>listener</code>
+     * @param listener <code>Listener</code>
+     * @return void
+     */
+    private void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>world</code>
+     * @return <code>this.world</code>
+     */
+    protected World getWorld() {
+        return this.world;
+    }
+
+    /**
+     * Getter for <code>timeFactor</code>
+     * @return <code>this.timeFactor</code>
+     */
+    protected double getTimeFactor() {
+        return this.timeFactor;
+    }
+
+    /**
+     * Getter for <code>dockPolicy</code>
+     * @return <code>this.dockPolicy</code>
+     */
+    protected ToDoubleFunction<Ship> getDockPolicy() {
+        return this.dockPolicy;
+    }
+
+    /**
+     * Getter for <code>jobCount</code>
+     * @return The number of jobs of the ships docked so far
+     */
+    protected int getJobCount() {
+        return this.jobCount.get();
+    }
+
+    /**
+     * Getter for <code>finishedCount</code>
+     * @return The number of jobs finished, including those that could not be staffed
+     */
+    protected int getFinishedCount() {
+        return this.finishedCount.get();
+    }
+
+    /**
+     * Getter for <code>unstaffableCount</code>
+     * @return The number of jobs that could not be staffed
+     */
+    protected int getUnstaffableCount() {
+        return this.unstaffableCount.get();
+    }
+
+    /**
+     * Getter for <code>running</code>
+     * @return <code>true</code> if started and not yet stopped
+     */
+    protected boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * @return <code>true</code> if every ship has departed and none remain queued, or stopped
+     */
+    protected boolean isFinished() {
+        return this.finished.getCount() == 0;
+    }
+
+    /**
+     * Summarizes the contention for each skill at each port since the engine started, as recorded
+     * by the ports' <code>PortWorkforce</code>s. Must be invoked on the thread owning the world.
+     *
+     * @return <code>String</code>
+     */
+    protected String getStaffingReport() {
+        StringBuilder report = new StringBuilder();
+
+        for (PortWorkforce workforce : this.workforces.values()) {
+            report.append(workforce.getPort().getName()).append("\n");
+
+            for (PortWorkforce.SkillPool pool : workforce.getPools()) {
+                report.append(String.format(
+                    "  %-16s %4d persons, %4d idle, %8d crews, %6d short, %6d waited "
+                        + "(mean %.1f ms, max %.1f ms), %d timed out\n",
+                    pool.getSkill(), pool.getSize(), pool.getAvailable(),
+                    pool.getAcquisitionCount(), pool.getContentionCount(), pool.getWaitCount(),
+                    pool.getMeanWaitMillis(), pool.getMaxWaitMillis(), pool.getTimeoutCount()));
+            }
+        }
+        return report.toString();
+    }
+
+    // Handlers
+
+    /**
+     * Starts a virtual thread for each job of each ship moored at a dock, having first moved
+     * queued ships onto any free docks. Must be invoked on the thread owning the world, and only
+     * once.
+     *
+     * @return void
+     */
+    protected void start() {
+        PortWorkforce workforce;
+        DockAllocator allocator;
+        Ship ship;
+
+        this.running = true;
+        this.jobExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.dockedCount.incrementAndGet();
+
+        for (SeaPort port : this.getWorld().getPorts()) {
+            workforce = new PortWorkforce(port);
+            allocator = new DockAllocator(port, this.getDockPolicy());
+            this.workforces.put(port, workforce);
+            this.allocators.put(port, allocator);
+
+            for (Dock dock : port.getDocks()) {
+                ship = dock.getShip();
+
+                if (ship == null) {
+                    ship = allocator.dockNext(this.getWorld(), dock);
+                }
+
+                if (ship != null) {
+                    this.serveShip(workforce, ship);
+                }
+            }
+        }
+        this.shipDone();
+    }
+
+    /**
+     * Interrupts every job still waiting or working. No ship departs once stopped.
+     *
+     * @return void
+     */
+    protected void stop() {
+        this.running = false;
+
+        if (this.jobExecutor != null) {
+            this.jobExecutor.shutdownNow();
+        }
+        this.finished.countDown();
+    }
+
+    /**
+     * Blocks until every ship has departed and none remain queued, or the engine is stopped. As
+     * ships depart via the <code>worldExecutor</code>, this method must not be invoked on the
+     * thread owning the world.
+     *
+     * @param timeout Maximum time to wait
+     * @param unit <code>TimeUnit</code> of <code>timeout</code>
+     * @return <code>true</code> if finished within the timeout
+     * @throws InterruptedException If interrupted while waiting
+     */
+    protected boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return this.finished.await(timeout, unit);
+    }
+
+    /**
+     * Starts a virtual thread for each job of a newly docked ship, or has it depart at once if it
+     * has no jobs. Must be invoked on the thread owning the world.
+     *
+     * @param workforce The <code>PortWorkforce</code> of the ship's port
+     * @param ship <code>Ship</code>
+     * @return void
+     */
+    private void serveShip(PortWorkforce workforce, Ship ship) {
+        ArrayList<Job> jobs = new ArrayList<>(ship.getJobs());
+        AtomicInteger remaining = new AtomicInteger(jobs.size());
+
+        this.dockedCount.incrementAndGet();
+        this.jobCount.addAndGet(jobs.size());
+
+        if (jobs.isEmpty()) {
+            this.jobExecutor.execute(this.departureOf(workforce, ship));
+        }
+
+        for (Job job : jobs) {
+            this.jobExecutor.execute(this.runnerOf(workforce, job, ship, remaining));
+        }
+    }
+
+    /**
+     * Notes that a docked ship has departed, or that <code>start</code> has docked every ship it
+     * may, finishing once no docked ship remains.
+     *
+     * @return void
+     */
+    private void shipDone() {
+        if (this.dockedCount.decrementAndGet() == 0) {
+            this.jobExecutor.shutdown();
+            this.finished.countDown();
+        }
+    }
+
+    /**
+     * Builds the task running the given job, after which the job is marked finished in the world
+     * and its ship departs if no other jobs of the ship remain.
+     *
+     * @param workforce The <code>PortWorkforce</code> of the ship's port
+     * @param job <code>Job</code>
+     * @param ship The job's <code>Ship</code>
+     * @param remaining The number of the ship's jobs yet to finish
+     * @return <code>Runnable</code>
+     */
+    private Runnable runnerOf(PortWorkforce workforce, Job job, Ship ship,
+            AtomicInteger remaining) {
+        return () -> {
+            try {
+                this.runJob(workforce, job);
+            } catch (InterruptedException ex) {
+                return;
+            }
+
+            this.worldExecutor.execute(() -> this.getWorld().finishJob(ship, job));
+            this.finishedCount.incrementAndGet();
+            if (remaining.decrementAndGet() == 0) {
+                this.departureOf(workforce, ship).run();
+            }
+        };
+    }
+
+    /**
+     * Acquires a crew for the given job, holds it for the job's duration and releases it again.
+     *
+     * @param workforce The <code>PortWorkforce</code> of the job's port
+     * @param job <code>Job</code>
+     * @return void
+     * @throws InterruptedException If stopped while waiting or working
+     */
+    private void runJob(PortWorkforce workforce, Job job) throws InterruptedException {
+        List<Person> crew;
+
+        // Jobs needing more persons than the port employs are refused rather than left waiting
+        if (!workforce.canStaff(job)) {
+            this.unstaffableCount.incrementAndGet();
+            this.listener.jobUnstaffable(job);
+            return;
+        }
+
+        do {
+            crew = workforce.acquire(job, JobEngine.ACQUIRE_TIMEOUT, TimeUnit.MILLISECONDS);
+        } while (crew == null);
+
+        this.listener.jobStarted(job, crew);
+        try {
+            TimeUnit.NANOSECONDS.sleep((long) (job.getDuration() * this.getTimeFactor() * 1e6));
+        } finally {
+            workforce.release(crew);
+        }
+        this.listener.jobFinished(job);
+    }
+
+    /**
+     * Builds the task having the given ship leave its dock on the thread owning the world, after
+     * which the next queued ship, if any, is moved onto the dock and served.
+     *
+     * @param workforce The <code>PortWorkforce</code> of the ship's port
+     * @param ship <code>Ship</code>
+     * @return <code>Runnable</code>
+     */
+    private Runnable departureOf(PortWorkforce workforce, Ship ship) {
+        return () -> this.worldExecutor.execute(() -> {
+            Dock dock;
+            Ship nextShip;
+
+            if (!this.running) {
+                return;
+            }
+
+            dock = this.getWorld().undockShip(ship);
+            nextShip = (dock == null)
+                ? null
+                : this.allocators.get(workforce.getPort()).dockNext(this.getWorld(), dock);
+
+            if (nextShip != null) {
+                this.serveShip(workforce, nextShip);
+            }
+            this.shipDone();
+
+            if (dock != null) {
+                this.listener.shipDeparted(ship, dock);
+            }
+
+            if (nextShip != null) {
+                this.listener.shipDocked(nextShip, dock);
+            }
+        });
+    }
+
+    /**
+     * Receives the progress of a <code>JobEngine</code>. Every method does nothing by default.
+     */
+    protected interface Listener {
+
+        /**
+         * @param job The <code>Job</code> that has begun
+         * @param crew The <code>Person</code>s working it
+         * @return void
+         */
+        default void jobStarted(Job job, List<Person> crew) {}
+
+        /**
+         * @param job The <code>Job</code> that has finished
+         * @return void
+         */
+        default void jobFinished(Job job) {}
+
+        /**
+         * @param job The <code>Job</code> that its port's workforce can never staff
+         * @return void
+         */
+        default void jobUnstaffable(Job job) {}
+
+        /**
+         * @param ship The <code>Ship</code> whose jobs have all finished
+         * @param dock The <code>Dock</code> it has left
+         * @return void
+         */
+        default void shipDeparted(Ship ship, Dock dock) {}
+
+        /**
+         * @param ship The queued <code>Ship</code> moved onto a free dock
+         * @param dock The <code>Dock</code> it has been moved onto
+         * @return void
+         */
+        default void shipDocked(Ship ship, Dock dock) {}
+    }
+}
@@ -0,0 +1,545 @@
+/**
+ * MappedWorldLoader.java - Class for <code>MappedWorldLoader</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class builds a <code>World</code> directly from a memory-mapped view of the user-selected
+ * <code>.txt</code> file. Rather than streaming the file through a <code>FileReader</code> and a
+ * <code>Scanner</code>, the file is mapped via <code>FileChannel.map</code> and its ASCII bytes are
+ * split into lines and handed one at a time to a reusable <code>FieldTokenizer</code>, which in turn
+ * is passed to <code>World.processLine</code>. The file's contents are thus never copied onto the
+ * heap as a whole; only the current line is, into the tokenizer's small buffer.
+ * <br />
+ * <br />
+ * As a single mapping may not exceed <code>Integer.MAX_VALUE</code> bytes, files larger than that
+ * are mapped in consecutive regions, each ending on a line boundary so that no record is split
+ * between two mappings.
+ * <br />
+ * <br />
+ * A parallel mode is available via <code>loadParallel</code>. Each region is split at line
+ * boundaries into chunks that are parsed into unlinked <code>Thing</code>s on a
+ * <code>ForkJoinPool</code>, each task with its own <code>FieldTokenizer</code>. A single linking
+ * pass then hands the parsed records to <code>World.addRecord</code> in file order, so the
+ * resulting world is identical to that of a sequential load. As linking costs O(1) per record, the
+ * parse phase dominates and scales with the number of available cores.
+ * <br />
+ * <br />
+ * Either mode reports its progress, in bytes and records, to an optional
+ * <code>ProgressListener</code>, and may be abandoned from another thread via <code>cancel</code>,
+ * in which case the load method throws a <code>CancellationException</code>.
+ *
+ * @see project1.World
+ * @see project1.FieldTokenizer
+ * @author Andrew Eissen
+ */
+final class MappedWorldLoader {
+
+    // Largest region mapped at once
+    private static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+
+    // Approximate size of the chunks parsed by a single task in parallel mode
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    // Number of lines between progress reports and cancellation checks
+    private static final int PROGRESS_INTERVAL = 1 << 14;
+
+    // User input-related field
+    private File file;
+
+    // Progress-related fields
+    private ProgressListener progressListener;
+    private volatile boolean cancelled;
+
+    /**
+     * Parameterized constructor
+     * @param file The <code>.txt</code> file to be loaded
+     */
+    protected MappedWorldLoader(File file) {
+        this.setFile(file);
+    }
+
+    // Setters
+
+    /**
+     * Setter for <code>file</code>
+     * @param file <code>File</code>
+     * @return void
+     */
+    private void setFile(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Setter for <code>progressListener</code>, which is always called from the loading thread.
+     * @param progressListener <code>ProgressListener</code>, or <code>null</code> for none
+     * @return void
+     */
+    protected void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>file</code>
+     * @return <code>this.file</code>
+     */
+    protected File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Getter for <code>progressListener</code>
+     * @return <code>this.progressListener</code>
+     */
+    protected ProgressListener getProgressListener() {
+        return this.progressListener;
+    }
+
+    /**
+     * Getter for <code>cancelled</code>
+     * @return <code>this.cancelled</code>
+     */
+    protected boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    // Handlers
+
+    /**
+     * Requests that a load in progress, possibly on another thread, be abandoned at its next
+     * cancellation check.
+     *
+     * @return void
+     */
+    protected void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Throws a <code>CancellationException</code> if <code>cancel</code> has been invoked.
+     *
+     * @return void
+     */
+    private void checkCancelled() {
+        if (this.isCancelled()) {
+            throw new CancellationException("Load of " + this.getFile().getName() + " cancelled");
+        }
+    }
+
+    /**
+     * Notifies the <code>progressListener</code>, if any.
+     *
+     * @param bytesRead Number of bytes processed so far
+     * @param totalBytes Size of the file
+     * @param world The <code>World</code> being built
+     * @return void
+     */
+    private void reportProgress(long bytesRead, long totalBytes, World world) {
+        if (this.getProgressListener() != null) {
+            this.getProgressListener().progressMade(bytesRead, totalBytes,
+                world.getAllThings().size());
+        }
+    }
+
+    /**
+     * Maps the file region by region and builds a new <code>World</code> from its contents.
+     *
+     * @return <code>World</code>
+     * @throws IOException If the file cannot be opened, mapped, or contains a line longer than a
+     *     single mappable region
+     * @throws CancellationException If the load is cancelled
+     */
+    protected World load() throws IOException {
+
+        // Declarations
+        World world;
+        FieldTokenizer lineContents;
+        MappedByteBuffer region;
+        long position, size, regionSize;
+        int regionEnd;
+
+        // Definitions
+        world = new World();
+        lineContents = new FieldTokenizer();
+        position = 0;
+
+        try (FileChannel channel = FileChannel.open(this.getFile().toPath(),
+                StandardOpenOption.READ)) {
+            size = channel.size();
+
+            while (position < size) {
+                regionSize = Math.min(size - position, MAX_REGION_SIZE);
+                region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+
+                // Unless this is the file's last region, stop after its final complete line
+                regionEnd = (position + regionSize == size)
+                    ? (int) regionSize
+                    : MappedWorldLoader.findLastLineEnd(region, (int) regionSize);
+
+                if (regionEnd == 0) {
+                    throw new IOException("Line exceeds " + MAX_REGION_SIZE + " bytes");
+                }
+
+                this.processRegion(world, lineContents, region, regionEnd, position, size);
+                position += regionEnd;
+                this.reportProgress(position, size, world);
+            }
+        }
+        return world;
+    }
+
+    /**
+     * Parallel counterpart to <code>load</code>, parsing on the common <code>ForkJoinPool</code>.
+     *
+     * @return <code>World</code>
+     * @throws IOException If the file cannot be opened or mapped
+     * @throws CancellationException If the load is cancelled
+     */
+    protected World loadParallel() throws IOException {
+        return this.loadParallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Maps the file region by region, parses each region's chunks in parallel on the given
+     * <code>ForkJoinPool</code>, and links the results into a new <code>World</code> in file order.
+     *
+     * @param pool <code>ForkJoinPool</code> on which chunks are parsed
+     * @return <code>World</code>
+     * @throws IOException If the file cannot be opened, mapped, or contains a line longer than a
+     *     single mappable region
+     * @throws CancellationException If the load is cancelled
+     */
+    protected World loadParallel(ForkJoinPool pool) throws IOException {
+
+        // Declarations
+        World world;
+        MappedByteBuffer region;
+        ArrayList<ParsedChunk> chunks;
+        long position, size, regionSize;
+        int regionEnd;
+
+        // Definitions
+        world = new World();
+        position = 0;
+
+        try (FileChannel channel = FileChannel.open(this.getFile().toPath(),
+                StandardOpenOption.READ)) {
+            size = channel.size();
+
+            while (position < size) {
+                regionSize = Math.min(size - position, MAX_REGION_SIZE);
+                region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+                regionEnd = (position + regionSize == size)
+                    ? (int) regionSize
+                    : MappedWorldLoader.findLastLineEnd(region, (int) regionSize);
+
+                if (regionEnd == 0) {
+                    throw new IOException("Line exceeds " + MAX_REGION_SIZE + " bytes");
+                }
+
+                // Parse phase, in parallel
+                chunks = pool.invoke(new ChunkParser(this, region, 0, regionEnd));
+
+                // Linking phase, in file order
+                for (ParsedChunk chunk : chunks) {
+                    this.checkCancelled();
+                    for (ParsedRecord<?> record : chunk.records) {
+                        record.addTo(world);
+                    }
+                    this.reportProgress(position + chunk.end, size, world);
+                }
+                position += regionEnd;
+            }
+        }
+        return world;
+    }
+
+    /**
+     * Splits a mapped region into lines, passing each non-blank, non-comment line to the
+     * <code>World</code> and periodically reporting progress and checking for cancellation.
+     *
+     * @param world The <code>World</code> being built
+     * @param lineContents Reusable <code>FieldTokenizer</code>
+     * @param region <code>MappedByteBuffer</code>
+     * @param end Index one past the region's last byte to process
+     * @param regionOffset Offset of the region within the file
+     * @param totalBytes Size of the file
+     * @return The number of lines processed
+     */
+    private int processRegion(World world, FieldTokenizer lineContents, MappedByteBuffer region,
+            int end, long regionOffset, long totalBytes) {
+        int lineStart = 0;
+        int lines = 0;
+
+        for (int i = 0; i < end; i++) {
+            if (region.get(i) == '\n') {
+                MappedWorldLoader.processLine(world, lineContents, region, lineStart, i);
+                lineStart = i + 1;
+                lines++;
+
+                if (lines % PROGRESS_INTERVAL == 0) {
+                    this.checkCancelled();
+                    this.reportProgress(regionOffset + lineStart, totalBytes, world);
+                }
+            }
+        }
+
+        // Final line lacking a trailing newline
+        if (lineStart < end) {
+            MappedWorldLoader.processLine(world, lineContents, region, lineStart, end);
+            lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * Loads a single line into the tokenizer and passes it to the <code>World</code> if it is not
+     * blank or a comment. Carriage returns are treated as trailing whitespace by the tokenizer.
+     *
+     * @param world The <code>World</code> being built
+     * @param lineContents Reusable <code>FieldTokenizer</code>
+     * @param region <code>MappedByteBuffer</code>
+     * @param start Index of the line's first byte
+     * @param end Index of the line's terminating newline, or of the range's end
+     * @return void
+     */
+    private static void processLine(World world, FieldTokenizer lineContents,
+            MappedByteBuffer region, int start, int end) {
+        lineContents.resetAscii(region, start, end);
+
+        if (!lineContents.isBlankOrComment()) {
+            world.processLine(lineContents);
+        }
+    }
+
+    /**
+     * Parses every non-blank, non-comment line in the given range of a mapped region into an
+     * unlinked record, without touching any <code>World</code>. Checks for cancellation
+     * periodically, as it may run on any of the pool's threads.
+     *
+     * @param region <code>MappedByteBuffer</code>
+     * @param start Index of the range's first byte, which must begin a line
+     * @param end Index one past the range's last byte, which must end a line
+     * @return The parsed records, in file order
+     */
+    private ParsedChunk parseRange(MappedByteBuffer region, int start, int end) {
+
+        // Declarations
+        ArrayList<ParsedRecord<?>> records;
+        FieldTokenizer lineContents;
+        RecordType<? extends Thing> recordType;
+        int lineStart, lineEnd, lines;
+
+        // Definitions
+        records = new ArrayList<>();
+        lineContents = new FieldTokenizer();
+        lineStart = start;
+        lines = 0;
+
+        while (lineStart < end) {
+            if (++lines % PROGRESS_INTERVAL == 0) {
+                this.checkCancelled();
+            }
+
+            lineEnd = lineStart;
+            while (lineEnd < end && region.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            lineContents.resetAscii(region, lineStart, lineEnd);
+            if (!lineContents.isBlankOrComment()) {
+                recordType = World.matchRecordType(lineContents);
+
+                if (recordType != null) {
+                    records.add(ParsedRecord.parse(recordType, lineContents));
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return new ParsedChunk(records, end);
+    }
+
+    /**
+     * @param region <code>MappedByteBuffer</code>
+     * @param index Index of any byte in the region
+     * @param end Index one past the region's last byte
+     * @return The index one past the first newline at or after <code>index</code>, or
+     *     <code>end</code> if there is none
+     */
+    private static int findNextLineStart(MappedByteBuffer region, int index, int end) {
+        for (int i = index; i < end; i++) {
+            if (region.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * @param region <code>MappedByteBuffer</code>
+     * @param size Number of bytes in the region
+     * @return The index one past the region's last newline, or <code>0</code> if it has none
+     */
+    protected static int findLastLineEnd(MappedByteBuffer region, int size) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (region.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * A single record parsed apart from any <code>World</code>, retaining the
+     * <code>RecordType</code> whose linker must later attach it.
+     *
+     * @param <T> extends <code>Thing</code>
+     */
+    private static final class ParsedRecord<T extends Thing> {
+
+        private final RecordType<T> recordType;
+        private final T newThing;
+
+        /**
+         * Parameterized constructor
+         * @param recordType <code>RecordType</code>
+         * @param newThing <code>T</code>
+         */
+        private ParsedRecord(RecordType<T> recordType, T newThing) {
+            this.recordType = recordType;
+            this.newThing = newThing;
+        }
+
+        /**
+         * @param <T> extends <code>Thing</code>
+         * @param recordType <code>RecordType</code>
+         * @param lineContents The line's contents following the keyword
+         * @return <code>ParsedRecord</code>
+         */
+        private static <T extends Thing> ParsedRecord<T> parse(RecordType<T> recordType,
+                FieldTokenizer lineContents) {
+            return new ParsedRecord<>(recordType, recordType.build(lineContents));
+        }
+
+        /**
+         * @param world The <code>World</code> receiving the record
+         * @return void
+         */
+        private void addTo(World world) {
+            world.addRecord(this.recordType, this.newThing);
+        }
+    }
+
+    /**
+     * The records parsed from a single chunk, along with the offset within its region at which the
+     * chunk ends, used for progress reports during linking.
+     */
+    private static final class ParsedChunk {
+
+        private final ArrayList<ParsedRecord<?>> records;
+        private final int end;
+
+        /**
+         * Parameterized constructor
+         * @param records The parsed records, in file order
+         * @param end Index one past the chunk's last byte
+         */
+        private ParsedChunk(ArrayList<ParsedRecord<?>> records, int end) {
+            this.records = records;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Fork-join task parsing a range of a mapped region. Ranges larger than
+     * <code>CHUNK_SIZE</code> are split at the line boundary following their midpoint, the halves
+     * being parsed concurrently and their chunk listings concatenated in order. A range whose
+     * only line break past its midpoint is its last, as when a single long comment line spans the
+     * midpoint, cannot be split there and is parsed whole instead.
+     */
+    private static final class ChunkParser extends RecursiveTask<ArrayList<ParsedChunk>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient MappedWorldLoader loader;
+        private final transient MappedByteBuffer region;
+        private final int start;
+        private final int end;
+
+        /**
+         * Parameterized constructor
+         * @param loader The <code>MappedWorldLoader</code> performing the load
+         * @param region <code>MappedByteBuffer</code>
+         * @param start Index of the range's first byte, which must begin a line
+         * @param end Index one past the range's last byte, which must end a line
+         */
+        private ChunkParser(MappedWorldLoader loader, MappedByteBuffer region, int start,
+                int end) {
+            this.loader = loader;
+            this.region = region;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * @inheritdoc
+         * @return The parsed chunks, in file order
+         */
+        @Override
+        protected ArrayList<ParsedChunk> compute() {
+
+            // Declarations
+            ArrayList<ParsedChunk> chunks;
+            ChunkParser left;
+            int middle;
+
+            middle = this.end - this.start <= CHUNK_SIZE
+                ? this.end
+                : MappedWorldLoader.findNextLineStart(this.region,
+                    this.start + (this.end - this.start) / 2, this.end);
+
+            // Small ranges, and those whose second half holds no line break, are not split
+            if (middle <= this.start || middle >= this.end) {
+                chunks = new ArrayList<>();
+                chunks.add(this.loader.parseRange(this.region, this.start, this.end));
+                return chunks;
+            }
+
+            left = new ChunkParser(this.loader, this.region, this.start, middle);
+            left.fork();
+
+            chunks = new ChunkParser(this.loader, this.region, middle, this.end).compute();
+            chunks.addAll(0, left.join());
+            return chunks;
+        }
+    }
+
+    /**
+     * Callback notified periodically of a load's progress, always from the loading thread.
+     */
+    protected interface ProgressListener {
+
+        /**
+         * @param bytesRead Number of bytes processed so far
+         * @param totalBytes Size of the file
+         * @param records Number of records added to the <code>World</code> so far
+         * @return void
+         */
+        void progressMade(long bytesRead, long totalBytes, int records);
+    }
+}
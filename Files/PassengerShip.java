@@ -4,8 +4,9 @@
  * @author Andrew Eissen
  */
 
-//package project1;
+package project1;
 
+import java.io.IOException;
 import java.util.Scanner;
 
 /**
@@ -45,6 +46,28 @@ final class PassengerShip extends Ship {
         }
     }
 
+    /**
+     * Parameterized constructor, reading the same fields from a <code>FieldSource</code>, i.e. a
+     * reusable <code>FieldTokenizer</code> or a snapshot record, rather than a per-line
+     * <code>Scanner</code>
+     * @param tokenizer <code>FieldSource</code> positioned after the record's keyword
+     */
+    protected PassengerShip(FieldSource tokenizer) {
+        super(tokenizer);
+
+        if (tokenizer.hasNextInt()) {
+            this.setNumberOfPassengers(tokenizer.nextInt());
+        }
+
+        if (tokenizer.hasNextInt()) {
+            this.setNumberOfRooms(tokenizer.nextInt());
+        }
+
+        if (tokenizer.hasNextInt()) {
+            this.setNumberOfOccupiedRooms(tokenizer.nextInt());
+        }
+    }
+
     // Setters
 
     /**
@@ -104,16 +127,29 @@ final class PassengerShip extends Ship {
 
     /**
      * @inheritdoc
-     * @return stringOutput <code>String</code>
+     * @param output <code>Appendable</code>
+     * @return void
      */
     @Override
-    public String toString() {
-        String stringOutput;
-
-        stringOutput = "Passenger Ship: " + super.toString() + "\n\tPassengers: "
-            + this.getNumberOfPassengers() + "\n\tRooms: " + this.getNumberOfRooms()
-            + "\n\tOccupied Rooms: " + this.getNumberOfOccupiedRooms();
+    protected void appendTo(Appendable output) throws IOException {
+        output.append("Passenger Ship: ");
+        super.appendTo(output);
+        output.append("\n\tPassengers: ").append(String.valueOf(this.getNumberOfPassengers()))
+            .append("\n\tRooms: ").append(String.valueOf(this.getNumberOfRooms()))
+            .append("\n\tOccupied Rooms: ")
+            .append(String.valueOf(this.getNumberOfOccupiedRooms()));
+    }
 
-        return stringOutput;
+    /**
+     * @inheritdoc
+     * @param output <code>SnapshotWriter</code>
+     * @return void
+     */
+    @Override
+    protected void writeFields(SnapshotWriter output) throws IOException {
+        super.writeFields(output);
+        output.writeInt(this.getNumberOfPassengers());
+        output.writeInt(this.getNumberOfRooms());
+        output.writeInt(this.getNumberOfOccupiedRooms());
     }
-}
\ No newline at end of file
+}
@@ -4,8 +4,9 @@
  * @author Andrew Eissen
  */
 
-//package project1;
+package project1;
 
+import java.io.IOException;
 import java.util.Scanner;
 
 /**
@@ -16,14 +17,18 @@ import java.util.Scanner;
  * method as per the rubric.
  * <br />
  * <br />
+ * The skill is interned via <code>SkillTable</code> and held as its identifier, such that the
+ * thousands of workers sharing a profession share a single copy of its name.
+ * <br />
+ * <br />
  * Class extends <code>Thing</code>
  * @see project1.Thing
  * @author Andrew Eissen
  */
 final class Person extends Thing {
 
-    // Rubric-required field
-    private String skill;
+    // Rubric-required field, as a <code>SkillTable</code> identifier
+    private int skill;
 
     /**
      * Parameterized constructor
@@ -39,35 +44,82 @@ final class Person extends Thing {
         }
     }
 
+    /**
+     * Parameterized constructor, reading the same fields from a <code>FieldSource</code>, i.e. a
+     * reusable <code>FieldTokenizer</code> or a snapshot record, rather than a per-line
+     * <code>Scanner</code>
+     * @param tokenizer <code>FieldSource</code> positioned after the record's keyword
+     */
+    protected Person(FieldSource tokenizer) {
+        super(tokenizer);
+
+        if (tokenizer.hasNext()) {
+            this.setSkill(tokenizer.nextSkill());
+        } else {
+            this.setSkill("Error");
+        }
+    }
+
     // Setter
 
     /**
-     * Setter for <code>skill</code>
+     * Setter for <code>skill</code>, interning the name
      * @param skill <code>String</code>
      * @return void
      */
     private void setSkill(String skill) {
+        this.skill = SkillTable.intern(skill);
+    }
+
+    /**
+     * Setter for <code>skill</code>
+     * @param skill Skill identifier
+     * @return void
+     */
+    private void setSkill(int skill) {
         this.skill = skill;
     }
 
-    // Getter
+    // Getters
 
     /**
      * Getter for <code>skill</code>
-     * @return <code>this.skill</code>
+     * @return The canonical name of <code>this.skill</code>
      */
     protected String getSkill() {
+        return SkillTable.nameOf(this.skill);
+    }
+
+    /**
+     * Getter for <code>skill</code>, as a skill identifier
+     * @return <code>this.skill</code>
+     */
+    protected int getSkillId() {
         return this.skill;
     }
 
-    // Overridden method
+    // Overridden methods
 
     /**
      * @inheritdoc
-     * @return <code>String</code>
+     * @param output <code>Appendable</code>
+     * @return void
+     */
+    @Override
+    protected void appendTo(Appendable output) throws IOException {
+        output.append("Person: ");
+        super.appendTo(output);
+        output.append(" ").append(this.getSkill());
+    }
+
+    /**
+     * @inheritdoc
+     * @param output <code>SnapshotWriter</code>
+     * @return void
      */
     @Override
-    public String toString() {
-        return "Person: " + super.toString() + " " + this.getSkill();
+    protected void writeFields(SnapshotWriter output) throws IOException {
+        super.writeFields(output);
+        output.writeSkill(this.getSkillId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,667 @@
+/**
+ * PortSimulation.java - Class for <code>PortSimulation</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This class simulates the operation of every <code>SeaPort</code> of a <code>World</code> as a
+ * discrete-event simulation. Rather than running jobs in real time, as does
+ * <code>JobEngine</code>, it keeps a queue of timestamped events, i.e. the arrival, docking and
+ * departure of ships and the start and end of jobs, ordered by a virtual clock, and processes them
+ * one after another as quickly as possible. A unit of the clock is a unit of a job's duration, so
+ * hours or days of port operations are simulated in moments.
+ * <br />
+ * <br />
+ * Ships moored at a dock arrive and dock at time zero. Queued ships arrive in the order of their
+ * port's <code>que</code>, <code>arrivalInterval</code> units apart, and wait for a free dock,
+ * which each port grants via a <code>DockAllocator</code> to the waiting ship ranked best by the
+ * <code>dockPolicy</code>. Ships are ranked when the simulation is created. Once docked, each of a
+ * ship's jobs waits until the persons of the skills it requires are idle at once, as with
+ * <code>PortWorkforce</code>, and jobs that the port's workforce could never staff are skipped. A
+ * ship departs once its last job ends, freeing its dock for the next ship waiting. Durations are
+ * rounded up to whole units.
+ * <br />
+ * <br />
+ * The world's hierarchy is copied when the simulation is created, such that it may then be run on
+ * any thread without touching the world, and the world is left as it was. Once run, the times
+ * at which ships arrived and docked may be recorded in their <code>arrivalTime</code> and
+ * <code>dockTime</code>, and each port's throughput read from its <code>PortStatistics</code>.
+ *
+ * @see project1.PortTime
+ * @author Andrew Eissen
+ */
+final class PortSimulation {
+
+    // Simulation-related fields
+    private World world;
+    private int arrivalInterval;
+    private ToDoubleFunction<Ship> dockPolicy;
+    private ArrayList<PortState> ports;
+    private IdentityHashMap<Ship, Visit> visits;
+
+    // Event queue, in order of time and then of scheduling, and the virtual clock
+    private PriorityQueue<Event> events;
+    private long sequence;
+    private int now;
+    private long eventCount;
+
+    /**
+     * Parameterized constructor, copying the world's hierarchy and scheduling the arrival of every
+     * moored or queued ship. Must be invoked on the thread owning the world.
+     * @param world The <code>World</code> to simulate
+     * @param arrivalInterval Units of time between the arrivals of each port's queued ships
+     * @param dockPolicy <code>ToDoubleFunction</code> ranking waiting ships, e.g. a
+     *     <code>DockAllocator.Policy</code>
+     */
+    protected PortSimulation(World world, int arrivalInterval,
+            ToDoubleFunction<Ship> dockPolicy) {
+        this.setWorld(world);
+        this.setArrivalInterval(arrivalInterval);
+        this.setDockPolicy(dockPolicy);
+        this.ports = new ArrayList<>();
+        this.visits = new IdentityHashMap<>();
+        this.events = new PriorityQueue<>(Comparator.comparingInt((Event event) -> event.time)
+            .thenComparingLong((Event event) -> event.sequence));
+
+        for (SeaPort port : world.getPorts()) {
+            this.ports.add(new PortState(port));
+        }
+    }
+
+    // Setters
+
+    /**
+     * Setter for <code>world</code>
+     * @param world <code>World</code>
+     * @return void
+     */
+    private void setWorld(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Setter for <code>arrivalInterval</code>
+     * @param arrivalInterval <code>int</code>
+     * @return void
+     */
+    private void setArrivalInterval(int arrivalInterval) {
+        this.arrivalInterval = arrivalInterval;
+    }
+
+    /**
+     * Setter for <code>dockPolicy</code>
+     * @param dockPolicy <code>ToDoubleFunction</code>
+     * @return void
+     */
+    private void setDockPolicy(ToDoubleFunction<Ship> dockPolicy) {
+        this.dockPolicy = dockPolicy;
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>world</code>
+     * @return <code>this.world</code>
+     */
+    protected World getWorld() {
+        return this.world;
+    }
+
+    /**
+     * Getter for <code>arrivalInterval</code>
+     * @return <code>this.arrivalInterval</code>
+     */
+    protected int getArrivalInterval() {
+        return this.arrivalInterval;
+    }
+
+    /**
+     * Getter for <code>dockPolicy</code>
+     * @return <code>this.dockPolicy</code>
+     */
+    protected ToDoubleFunction<Ship> getDockPolicy() {
+        return this.dockPolicy;
+    }
+
+    /**
+     * Getter for <code>now</code>
+     * @return The time of the event most recently processed
+     */
+    protected PortTime getTime() {
+        return new PortTime(this.now);
+    }
+
+    /**
+     * Getter for <code>eventCount</code>
+     * @return The number of events processed
+     */
+    protected long getEventCount() {
+        return this.eventCount;
+    }
+
+    /**
+     * @return <code>true</code> if no events remain, i.e. every ship has departed
+     */
+    protected boolean isFinished() {
+        return this.events.isEmpty();
+    }
+
+    /**
+     * @return The <code>PortStatistics</code> of each port, in the order of the world's ports
+     */
+    protected List<PortStatistics> getStatistics() {
+        ArrayList<PortStatistics> statistics = new ArrayList<>(this.ports.size());
+
+        for (PortState port : this.ports) {
+            statistics.add(port.statistics);
+        }
+        return Collections.unmodifiableList(statistics);
+    }
+
+    // Handlers
+
+    /**
+     * Processes every event up to and including the given time, after which the simulation may be
+     * continued by invoking this method again with a later time. May be invoked on any thread.
+     *
+     * @param horizon Time after which no events are processed, e.g. <code>Integer.MAX_VALUE</code>
+     * @return void
+     */
+    protected void run(int horizon) {
+        Event event;
+
+        while (!this.events.isEmpty() && this.events.peek().time <= horizon) {
+            event = this.events.poll();
+            this.now = event.time;
+            this.eventCount++;
+
+            switch (event.type) {
+                case ARRIVAL:
+                    this.handleArrival(event.visit);
+                    break;
+                case DOCKING:
+                    this.handleDocking(event.visit);
+                    break;
+                case JOB_START:
+                    this.handleJobStart(event);
+                    break;
+                case JOB_END:
+                    this.handleJobEnd(event);
+                    break;
+                case DEPARTURE:
+                    this.handleDeparture(event.visit);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Records the times at which each ship that has arrived so far arrived and docked in its
+     * <code>arrivalTime</code> and <code>dockTime</code>. Must be invoked on the thread owning the
+     * world.
+     *
+     * @return void
+     */
+    protected void recordTimes() {
+        for (Visit visit : this.visits.values()) {
+            if (visit.arrival >= 0) {
+                visit.ship.setArrivalTime(new PortTime(visit.arrival));
+            }
+
+            if (visit.docking >= 0) {
+                visit.ship.setDockTime(new PortTime(visit.docking));
+            }
+        }
+    }
+
+    /**
+     * Builds a report of each port's statistics, one line apiece.
+     *
+     * @return <code>String</code>
+     */
+    protected String getReport() {
+        StringBuilder report = new StringBuilder(String.format("Simulated %,d events over %,d "
+            + "units of time\n", this.getEventCount(), this.now));
+
+        for (PortStatistics statistics : this.getStatistics()) {
+            report.append(String.format("\n%s: %,d of %,d ships served (%.3f per unit), "
+                + "%,d jobs completed, %,d unstaffable, mean wait %.1f, workforce %.0f%% busy",
+                statistics.getPort().getName(), statistics.getShipsServed(),
+                statistics.getShipsArrived(), statistics.getThroughput(),
+                statistics.getJobsCompleted(), statistics.getJobsUnstaffable(),
+                statistics.getMeanWait(), statistics.getUtilization() * 100));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Adds an event to the queue, to be processed after any others of the same time.
+     *
+     * @param time <code>int</code>
+     * @param type <code>EventType</code>
+     * @param visit The <code>Visit</code> of the ship concerned
+     * @param job The <code>Job</code> concerned, if any
+     * @param requirements The job's requirements, if any
+     * @return void
+     */
+    private void schedule(int time, EventType type, Visit visit, Job job, int[] requirements) {
+        this.events.add(new Event(time, this.sequence++, type, visit, job, requirements));
+    }
+
+    /**
+     * A ship has arrived, and docks at once if moored already or a dock is free, or else waits.
+     *
+     * @param visit <code>Visit</code>
+     * @return void
+     */
+    private void handleArrival(Visit visit) {
+        visit.arrival = this.now;
+        visit.port.statistics.shipsArrived++;
+
+        if (visit.dock != null) {
+            this.schedule(this.now, EventType.DOCKING, visit, null, null);
+        } else {
+            visit.port.waitingShips.add(visit.ship);
+            this.dockWaitingShips(visit.port);
+        }
+    }
+
+    /**
+     * A ship has docked, and its jobs await their crews.
+     *
+     * @param visit <code>Visit</code>
+     * @return void
+     */
+    private void handleDocking(Visit visit) {
+        PortState port = visit.port;
+        int[] requirements;
+
+        visit.docking = this.now;
+        port.statistics.shipsDocked++;
+        port.statistics.totalWait += this.now - visit.arrival;
+
+        for (Job job : visit.jobs) {
+            requirements = job.getRequirementIds();
+
+            if (PortSimulation.covers(port.total, requirements)) {
+                port.waitingJobs.add(new Event(this.now, 0, EventType.JOB_START, visit, job,
+                    requirements));
+            } else {
+                port.statistics.jobsUnstaffable++;
+                visit.remainingJobs--;
+            }
+        }
+
+        if (visit.remainingJobs == 0) {
+            this.schedule(this.now, EventType.DEPARTURE, visit, null, null);
+        }
+        this.startWaitingJobs(port);
+    }
+
+    /**
+     * A job has acquired its crew and begun.
+     *
+     * @param event <code>Event</code>
+     * @return void
+     */
+    private void handleJobStart(Event event) {
+        this.schedule(this.now + (int) Math.ceil(event.job.getDuration()), EventType.JOB_END,
+            event.visit, event.job, event.requirements);
+    }
+
+    /**
+     * A job has ended, returning its crew, and its ship departs should it have been the last.
+     *
+     * @param event <code>Event</code>
+     * @return void
+     */
+    private void handleJobEnd(Event event) {
+        PortState port = event.visit.port;
+
+        for (int skill : event.requirements) {
+            port.idle[skill]++;
+        }
+
+        port.statistics.jobsCompleted++;
+        port.statistics.busyTime += (long) event.requirements.length
+            * (int) Math.ceil(event.job.getDuration());
+
+        if (--event.visit.remainingJobs == 0) {
+            this.schedule(this.now, EventType.DEPARTURE, event.visit, null, null);
+        }
+        this.startWaitingJobs(port);
+    }
+
+    /**
+     * A ship has departed, freeing its dock for the next ship waiting.
+     *
+     * @param visit <code>Visit</code>
+     * @return void
+     */
+    private void handleDeparture(Visit visit) {
+        visit.port.statistics.shipsServed++;
+        visit.port.statistics.lastDeparture = this.now;
+        visit.port.freeDocks.add(visit.dock);
+        this.dockWaitingShips(visit.port);
+    }
+
+    /**
+     * Assigns free docks to waiting ships in order of rank.
+     *
+     * @param port <code>PortState</code>
+     * @return void
+     */
+    private void dockWaitingShips(PortState port) {
+        Visit visit;
+
+        while (!port.freeDocks.isEmpty() && !port.waitingShips.isEmpty()) {
+            visit = this.visits.get(port.waitingShips.poll());
+            visit.dock = port.freeDocks.poll();
+            this.schedule(this.now, EventType.DOCKING, visit, null, null);
+        }
+    }
+
+    /**
+     * Starts every waiting job whose crew is wholly idle, in the order in which they began to
+     * wait, leaving the rest waiting in that order.
+     *
+     * @param port <code>PortState</code>
+     * @return void
+     */
+    private void startWaitingJobs(PortState port) {
+        ArrayList<Event> waitingJobs = port.waitingJobs;
+        int kept = 0;
+        Event waiting;
+
+        for (int i = 0; i < waitingJobs.size(); i++) {
+            waiting = waitingJobs.get(i);
+
+            if (port.takeCrew(waiting.requirements)) {
+                this.schedule(this.now, EventType.JOB_START, waiting.visit, waiting.job,
+                    waiting.requirements);
+            } else {
+                waitingJobs.set(kept++, waiting);
+            }
+        }
+
+        while (waitingJobs.size() > kept) {
+            waitingJobs.remove(waitingJobs.size() - 1);
+        }
+    }
+
+    /**
+     * Determines whether the given persons include a person of each skill required, as many times
+     * as it is required, by decrementing each requirement's count and then restoring it.
+     *
+     * @param counts Persons by skill identifier
+     * @param requirements Skill identifiers, possibly repeated
+     * @return <code>true</code> if the counts cover every requirement
+     */
+    private static boolean covers(int[] counts, int[] requirements) {
+        boolean covered = true;
+
+        for (int skill : requirements) {
+            if (skill >= counts.length || --counts[skill] < 0) {
+                covered = false;
+            }
+        }
+
+        for (int skill : requirements) {
+            if (skill < counts.length) {
+                counts[skill]++;
+            }
+        }
+        return covered;
+    }
+
+    /**
+     * Kinds of <code>Event</code>, in the order in which they befall a ship.
+     */
+    private enum EventType {
+        ARRIVAL,
+        DOCKING,
+        JOB_START,
+        JOB_END,
+        DEPARTURE
+    }
+
+    /**
+     * A timestamped event, concerning a ship's visit and possibly one of its jobs.
+     */
+    private static final class Event {
+
+        private final int time;
+        private final long sequence;
+        private final EventType type;
+        private final Visit visit;
+        private final Job job;
+        private final int[] requirements;
+
+        /**
+         * Parameterized constructor
+         * @param time <code>int</code>
+         * @param sequence Order of scheduling, breaking ties between events of the same time
+         * @param type <code>EventType</code>
+         * @param visit <code>Visit</code>
+         * @param job <code>Job</code>, or <code>null</code>
+         * @param requirements The job's skill identifiers, or <code>null</code>
+         */
+        private Event(int time, long sequence, EventType type, Visit visit, Job job,
+                int[] requirements) {
+            this.time = time;
+            this.sequence = sequence;
+            this.type = type;
+            this.visit = visit;
+            this.job = job;
+            this.requirements = requirements;
+        }
+    }
+
+    /**
+     * The visit of a single ship to its port, from its arrival until its departure.
+     */
+    private static final class Visit {
+
+        private final Ship ship;
+        private final PortState port;
+        private final List<Job> jobs;
+        private final double rank;
+        private Dock dock;
+        private int arrival = -1;
+        private int docking = -1;
+        private int remainingJobs;
+
+        /**
+         * Parameterized constructor
+         * @param ship <code>Ship</code>
+         * @param port <code>PortState</code>
+         * @param dock The <code>Dock</code> at which the ship is moored, or <code>null</code>
+         * @param rank The ship's rank by the dock policy
+         */
+        private Visit(Ship ship, PortState port, Dock dock, double rank) {
+            this.ship = ship;
+            this.port = port;
+            this.jobs = new ArrayList<>(ship.getJobs());
+            this.rank = rank;
+            this.dock = dock;
+            this.remainingJobs = this.jobs.size();
+        }
+    }
+
+    /**
+     * The simulated state of a single port, i.e. its free docks, idle persons and waiting ships
+     * and jobs.
+     */
+    private final class PortState {
+
+        private final ArrayDeque<Dock> freeDocks = new ArrayDeque<>();
+        private final DockAllocator waitingShips = new DockAllocator(
+            (Ship ship) -> PortSimulation.this.visits.get(ship).rank);
+        private final ArrayList<Event> waitingJobs = new ArrayList<>();
+        private final int[] idle = new int[SkillTable.size()];
+        private final int[] total = new int[SkillTable.size()];
+        private final PortStatistics statistics;
+
+        /**
+         * Parameterized constructor, copying the port's docks and persons and scheduling the
+         * arrival of its moored and queued ships
+         * @param port <code>SeaPort</code>
+         */
+        private PortState(SeaPort port) {
+            Visit visit;
+            int arrival = 0;
+
+            this.statistics = new PortStatistics(port);
+
+            for (Person person : port.getPersons()) {
+                this.idle[person.getSkillId()]++;
+                this.total[person.getSkillId()]++;
+            }
+
+            for (Dock dock : port.getDocks()) {
+                if (dock.getShip() == null) {
+                    this.freeDocks.add(dock);
+                } else {
+                    visit = new Visit(dock.getShip(), this, dock, 0);
+                    PortSimulation.this.visits.put(visit.ship, visit);
+                    PortSimulation.this.schedule(0, EventType.ARRIVAL, visit, null, null);
+                }
+            }
+
+            for (Ship ship : port.getQue()) {
+                visit = new Visit(ship, this, null,
+                    PortSimulation.this.getDockPolicy().applyAsDouble(ship));
+                PortSimulation.this.visits.put(ship, visit);
+                PortSimulation.this.schedule(arrival, EventType.ARRIVAL, visit, null, null);
+                arrival += PortSimulation.this.getArrivalInterval();
+            }
+        }
+
+        /**
+         * Takes a crew from the idle persons should every person required be idle.
+         *
+         * @param requirements Skill identifiers, possibly repeated
+         * @return <code>true</code> if the crew was taken
+         */
+        private boolean takeCrew(int[] requirements) {
+            if (!PortSimulation.covers(this.idle, requirements)) {
+                return false;
+            }
+
+            for (int skill : requirements) {
+                this.idle[skill]--;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The throughput of a single port over a simulation.
+     */
+    protected static final class PortStatistics {
+
+        private final SeaPort port;
+        private final int persons;
+        private int shipsArrived;
+        private int shipsDocked;
+        private int shipsServed;
+        private int jobsCompleted;
+        private int jobsUnstaffable;
+        private long totalWait;
+        private long busyTime;
+        private int lastDeparture;
+
+        /**
+         * Parameterized constructor
+         * @param port <code>SeaPort</code>
+         */
+        private PortStatistics(SeaPort port) {
+            this.port = port;
+            this.persons = port.getPersons().size();
+        }
+
+        /**
+         * @return The <code>SeaPort</code> concerned
+         */
+        protected SeaPort getPort() {
+            return this.port;
+        }
+
+        /**
+         * @return The number of ships that have arrived
+         */
+        protected int getShipsArrived() {
+            return this.shipsArrived;
+        }
+
+        /**
+         * @return The number of ships that have docked
+         */
+        protected int getShipsDocked() {
+            return this.shipsDocked;
+        }
+
+        /**
+         * @return The number of ships that have departed
+         */
+        protected int getShipsServed() {
+            return this.shipsServed;
+        }
+
+        /**
+         * @return The number of jobs that have ended
+         */
+        protected int getJobsCompleted() {
+            return this.jobsCompleted;
+        }
+
+        /**
+         * @return The number of jobs skipped as the port could never staff them
+         */
+        protected int getJobsUnstaffable() {
+            return this.jobsUnstaffable;
+        }
+
+        /**
+         * @return The time of the last departure
+         */
+        protected int getLastDeparture() {
+            return this.lastDeparture;
+        }
+
+        /**
+         * @return Ships served per unit of time until the last departure
+         */
+        protected double getThroughput() {
+            return (this.lastDeparture == 0) ? 0 : (double) this.shipsServed / this.lastDeparture;
+        }
+
+        /**
+         * @return The mean time for which docked ships waited to dock
+         */
+        protected double getMeanWait() {
+            return (this.shipsDocked == 0) ? 0 : (double) this.totalWait / this.shipsDocked;
+        }
+
+        /**
+         * @return The share of the workforce's time spent working until the last departure
+         */
+        protected double getUtilization() {
+            return (this.persons == 0 || this.lastDeparture == 0)
+                ? 0
+                : (double) this.busyTime / ((long) this.persons * this.lastDeparture);
+        }
+    }
+}
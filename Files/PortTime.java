@@ -4,7 +4,7 @@
  * @author Andrew Eissen
  */
 
-//package project1;
+package project1;
 
 /**
  * As of Project 1, this class sits unused, but is designed to represent the specific times related
@@ -0,0 +1,438 @@
+/**
+ * PortWorkforce.java - Class for <code>PortWorkforce</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class lends the <code>Person</code>s of a single <code>SeaPort</code> to the
+ * <code>Job</code>s running there, such that no person works two jobs at once. A job acquires a
+ * person of each skill it requires, as many times as it requires it, before it may begin.
+ * <br />
+ * <br />
+ * Rather than guarding every person of the port with a single lock, for which every job at the
+ * port would contend, the workforce is divided into one <code>SkillPool</code> per skill, so jobs
+ * requiring different skills never contend at all. Each pool holds its idle persons in a lock-free
+ * <code>ConcurrentLinkedQueue</code>, admission to which is governed by a fair
+ * <code>Semaphore</code> holding one permit per idle person. A job thus waits only for the skills
+ * it requires, in the order in which it began to wait, and, as semaphores park rather than pin
+ * the virtual threads on which jobs run, thousands of jobs may wait at once.
+ * <br />
+ * <br />
+ * A job's crew is acquired all or nothing, and a job never waits while holding any part of it.
+ * The job attempts each of its skills in ascending order of identifier without waiting, and should
+ * some skill be short, returns whatever it has taken and waits for that skill alone before trying
+ * again, holding the persons it waited for only while attempting the rest. No job thus holds
+ * persons idle while waiting, nor can jobs wait on one another in a cycle. Jobs whose requirements
+ * the port can never meet are refused at once rather than left waiting, and waiting is moreover
+ * bounded by a timeout.
+ * <br />
+ * <br />
+ * Each pool records how often it was acquired, how often it was found short, how often a job
+ * waited for it or timed out, and the total and longest time spent waiting, in
+ * <code>LongAdder</code>s and a <code>LongAccumulator</code>, which jobs update without contending
+ * among themselves.
+ *
+ * @see project1.JobEngine
+ * @author Andrew Eissen
+ */
+final class PortWorkforce {
+
+    // Workforce-related fields
+    private SeaPort port;
+    private SkillPool[] pools;
+
+    // Skills of the pools, against which jobs are checked as in <code>SeaPort.canSatisfy</code>
+    private SkillSet skills;
+
+    /**
+     * Parameterized constructor, taking the port's current persons, all of whom begin idle
+     * @param port <code>SeaPort</code>
+     */
+    protected PortWorkforce(SeaPort port) {
+        ArrayList<ArrayList<Person>> personsBySkill = new ArrayList<>();
+
+        this.setPort(port);
+
+        for (Person person : port.getPersons()) {
+            while (personsBySkill.size() <= person.getSkillId()) {
+                personsBySkill.add(new ArrayList<>());
+            }
+            personsBySkill.get(person.getSkillId()).add(person);
+        }
+
+        this.pools = new SkillPool[personsBySkill.size()];
+        this.skills = new SkillSet();
+        for (int skill = 0; skill < this.pools.length; skill++) {
+            if (!personsBySkill.get(skill).isEmpty()) {
+                this.pools[skill] = new SkillPool(skill, personsBySkill.get(skill));
+                this.skills.add(skill);
+            }
+        }
+    }
+
+    // Setter
+
+    /**
+     * Setter for <code>port</code>
+     * @param port <code>SeaPort</code>
+     * @return void
+     */
+    private void setPort(SeaPort port) {
+        this.port = port;
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>port</code>
+     * @return <code>this.port</code>
+     */
+    protected SeaPort getPort() {
+        return this.port;
+    }
+
+    /**
+     * @param skill Skill identifier
+     * @return The pool of persons possessing the skill, or <code>null</code> if there are none
+     */
+    protected SkillPool getPool(int skill) {
+        return (skill >= 0 && skill < this.pools.length) ? this.pools[skill] : null;
+    }
+
+    /**
+     * @return Every <code>SkillPool</code> of the workforce, in order of skill identifier
+     */
+    protected List<SkillPool> getPools() {
+        ArrayList<SkillPool> pools = new ArrayList<>();
+
+        for (SkillPool pool : this.pools) {
+            if (pool != null) {
+                pools.add(pool);
+            }
+        }
+        return Collections.unmodifiableList(pools);
+    }
+
+    // Handlers
+
+    /**
+     * Determines whether the workforce could ever staff the given job, i.e. whether it includes as
+     * many persons of each skill as the job requires, busy or not. As in
+     * <code>SeaPort.canSatisfy</code>, this is usually a single bitwise comparison, the per-skill
+     * counts being consulted only for jobs listing some skill more than once.
+     *
+     * @param job <code>Job</code>
+     * @return <code>true</code> if the job could be staffed were every person idle
+     */
+    protected boolean canStaff(Job job) {
+        int[] requirements;
+
+        if (!this.skills.containsAll(job.getRequirementSet())) {
+            return false;
+        } else if (!job.hasRepeatedRequirements()) {
+            return true;
+        }
+
+        requirements = PortWorkforce.sortedRequirementsOf(job);
+        for (int i = 0, end; i < requirements.length; i = end) {
+            end = PortWorkforce.endOfRun(requirements, i);
+
+            if (end - i > this.pools[requirements[i]].getSize()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Acquires a whole crew for the given job, or nobody at all. The skills are attempted in
+     * ascending order of identifier without waiting. Should a skill be short, every person taken
+     * so far is returned and the job waits for that skill alone, then attempts the others afresh,
+     * until either every skill has been taken at once or the timeout elapses. Jobs listing a skill
+     * more than once take all persons of that skill together.
+     *
+     * @param job <code>Job</code>
+     * @param timeout Maximum time to wait for the whole crew
+     * @param unit <code>TimeUnit</code> of <code>timeout</code>
+     * @return The crew, or <code>null</code> if it could not be acquired in time
+     * @throws IllegalArgumentException If the workforce can never staff the job
+     * @throws InterruptedException If interrupted while waiting, in which case nobody is held
+     */
+    protected List<Person> acquire(Job job, long timeout, TimeUnit unit)
+            throws InterruptedException {
+
+        // Declarations
+        int[] requirements;
+        ArrayList<Person> crew;
+        long deadline;
+        int shortRun, end;
+        boolean acquired;
+
+        if (!this.canStaff(job)) {
+            throw new IllegalArgumentException(job.getName() + " can never be staffed at "
+                + this.getPort().getName());
+        }
+
+        // Definitions
+        requirements = PortWorkforce.sortedRequirementsOf(job);
+        crew = new ArrayList<>(requirements.length);
+        deadline = System.nanoTime() + unit.toNanos(timeout);
+        shortRun = -1;
+        acquired = false;
+
+        try {
+            while (!acquired) {
+
+                // Wait, holding nobody, for the skill last found short
+                if (shortRun != -1 && !this.pools[requirements[shortRun]].acquire(
+                        PortWorkforce.endOfRun(requirements, shortRun) - shortRun,
+                        deadline - System.nanoTime(), crew)) {
+                    return null;
+                }
+
+                acquired = true;
+                for (int i = 0; i < requirements.length && acquired; i = end) {
+                    end = PortWorkforce.endOfRun(requirements, i);
+
+                    if (i != shortRun && !this.pools[requirements[i]].tryAcquire(end - i, crew)) {
+                        this.release(crew);
+                        crew.clear();
+                        shortRun = i;
+                        acquired = false;
+                    }
+                }
+            }
+        } finally {
+            if (!acquired) {
+                this.release(crew);
+            }
+        }
+        return crew;
+    }
+
+    /**
+     * Returns a crew acquired via <code>acquire</code> to the pools of its skills.
+     *
+     * @param crew <code>List</code> of <code>Person</code>s
+     * @return void
+     */
+    protected void release(List<Person> crew) {
+        for (Person person : crew) {
+            this.pools[person.getSkillId()].release(person);
+        }
+    }
+
+    /**
+     * @param job <code>Job</code>
+     * @return The skill identifiers of the job's requirements, in ascending order
+     */
+    private static int[] sortedRequirementsOf(Job job) {
+        int[] requirements = job.getRequirementIds();
+
+        Arrays.sort(requirements);
+        return requirements;
+    }
+
+    /**
+     * @param requirements Sorted skill identifiers
+     * @param start Position within <code>requirements</code>
+     * @return The position following the last occurrence of the identifier at <code>start</code>
+     */
+    private static int endOfRun(int[] requirements, int start) {
+        int end = start + 1;
+
+        while (end < requirements.length && requirements[end] == requirements[start]) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * The persons of a single skill at a port, lent out one permit per person.
+     */
+    protected static final class SkillPool {
+
+        // Pool-related fields
+        private final int skill;
+        private final int size;
+        private final Semaphore permits;
+        private final ConcurrentLinkedQueue<Person> idle;
+
+        // Metrics
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder contentions = new LongAdder();
+        private final LongAdder waits = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+        /**
+         * Parameterized constructor
+         * @param skill Skill identifier
+         * @param persons Every <code>Person</code> possessing the skill, all idle
+         */
+        private SkillPool(int skill, List<Person> persons) {
+            this.skill = skill;
+            this.size = persons.size();
+            this.permits = new Semaphore(persons.size(), true);
+            this.idle = new ConcurrentLinkedQueue<>(persons);
+        }
+
+        /**
+         * Takes the given number of idle persons should that many be idle and no other job be
+         * waiting for them, without waiting otherwise. A permit is only ever released once its
+         * person is back among the idle, so holding a permit guarantees an idle person to take.
+         *
+         * @param count Number of persons required
+         * @param crew <code>List</code> receiving the persons taken
+         * @return <code>true</code> if taken, or <code>false</code> if too few were available
+         * @throws InterruptedException If interrupted
+         */
+        private boolean tryAcquire(int count, List<Person> crew) throws InterruptedException {
+
+            // A zero timeout respects fairness, unlike the untimed tryAcquire
+            if (!this.permits.tryAcquire(count, 0, TimeUnit.NANOSECONDS)) {
+                this.contentions.increment();
+                return false;
+            }
+
+            this.take(count, crew);
+            return true;
+        }
+
+        /**
+         * Takes the given number of idle persons, waiting in turn with any other jobs should too
+         * few be idle.
+         *
+         * @param count Number of persons required
+         * @param timeoutNanos Maximum time to wait
+         * @param crew <code>List</code> receiving the persons taken
+         * @return <code>true</code> if taken, or <code>false</code> if timed out
+         * @throws InterruptedException If interrupted while waiting
+         */
+        private boolean acquire(int count, long timeoutNanos, List<Person> crew)
+                throws InterruptedException {
+            long start, waited;
+
+            this.waits.increment();
+            start = System.nanoTime();
+
+            try {
+                if (!this.permits.tryAcquire(count, timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    this.timeouts.increment();
+                    return false;
+                }
+            } finally {
+                waited = System.nanoTime() - start;
+                this.waitNanos.add(waited);
+                this.maxWaitNanos.accumulate(waited);
+            }
+
+            this.take(count, crew);
+            return true;
+        }
+
+        /**
+         * Takes idle persons for whom permits have been acquired.
+         *
+         * @param count Number of permits acquired
+         * @param crew <code>List</code> receiving the persons taken
+         * @return void
+         */
+        private void take(int count, List<Person> crew) {
+            for (int i = 0; i < count; i++) {
+                crew.add(this.idle.poll());
+            }
+            this.acquisitions.increment();
+        }
+
+        /**
+         * Returns a single person to the pool.
+         *
+         * @param person <code>Person</code>
+         * @return void
+         */
+        private void release(Person person) {
+            this.idle.add(person);
+            this.permits.release();
+        }
+
+        /**
+         * @return The skill's name
+         */
+        protected String getSkill() {
+            return SkillTable.nameOf(this.skill);
+        }
+
+        /**
+         * @return The number of persons possessing the skill
+         */
+        protected int getSize() {
+            return this.size;
+        }
+
+        /**
+         * @return The number of persons currently idle, approximately
+         */
+        protected int getAvailable() {
+            return this.permits.availablePermits();
+        }
+
+        /**
+         * @return The number of successful acquisitions
+         */
+        protected long getAcquisitionCount() {
+            return this.acquisitions.sum();
+        }
+
+        /**
+         * @return The number of times the pool was found short by a job attempting it
+         */
+        protected long getContentionCount() {
+            return this.contentions.sum();
+        }
+
+        /**
+         * @return The number of times a job waited for the pool
+         */
+        protected long getWaitCount() {
+            return this.waits.sum();
+        }
+
+        /**
+         * @return The number of acquisitions that timed out
+         */
+        protected long getTimeoutCount() {
+            return this.timeouts.sum();
+        }
+
+        /**
+         * @return The mean time, in milliseconds, for which a job waited for the pool
+         */
+        protected double getMeanWaitMillis() {
+            long waits = this.waits.sum();
+
+            return (waits == 0) ? 0 : this.waitNanos.sum() / 1e6 / waits;
+        }
+
+        /**
+         * @return The longest time, in milliseconds, for which an acquisition waited
+         */
+        protected double getMaxWaitMillis() {
+            return this.maxWaitNanos.get() / 1e6;
+        }
+    }
+}
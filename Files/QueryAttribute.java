@@ -0,0 +1,330 @@
+/**
+ * QueryAttribute.java - Class for <code>QueryAttribute</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This class represents a single attribute of some <code>Thing</code> subclass that may be named in
+ * a <code>WorldQuery</code>, such as the <code>draft</code> of a <code>Ship</code> or the
+ * <code>skill</code> of a <code>Person</code>. Each instance binds the attribute's name to the
+ * class declaring it and to a plain method reference reading it, either as a <code>double</code>
+ * or as a <code>String</code>, so queries neither look up nor invoke getters reflectively.
+ * <br />
+ * <br />
+ * A condition upon an attribute, i.e. an operator and an operand, is compiled into a
+ * <code>Predicate</code> once, when the query is compiled. The operand is parsed a single time and
+ * the operator resolved to a primitive comparison, such that testing each <code>Thing</code> costs
+ * no more than a getter call and a comparison. Numeric attributes may be compared by any of
+ * <code>= != &lt; &lt;= &gt; &gt;=</code>, and text attributes by <code>=</code>, <code>!=</code>
+ * or <code>~</code>, the latter matching any value containing the operand, regardless of case.
+ * <br />
+ * <br />
+ * The standard attributes are registered below, and others may be registered via
+ * <code>registerAttribute</code>, much as record types are registered with the <code>World</code>.
+ *
+ * @param <T> extends <code>Thing</code>
+ * @see project1.WorldQuery
+ * @author Andrew Eissen
+ */
+final class QueryAttribute<T extends Thing> {
+
+    // Registry of every attribute, by lowercase name, in order of registration
+    private static final LinkedHashMap<String, QueryAttribute<? extends Thing>> ATTRIBUTES;
+
+    static {
+        ATTRIBUTES = new LinkedHashMap<>();
+        QueryAttribute.registerAttribute(new QueryAttribute<>("name", Thing.class,
+            Thing::getName));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("index", Thing.class,
+            (Thing thing) -> thing.getIndex()));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("parent", Thing.class,
+            (Thing thing) -> thing.getParent()));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("weight", Ship.class,
+            Ship::getWeight));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("length", Ship.class,
+            Ship::getLength));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("width", Ship.class,
+            Ship::getWidth));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("draft", Ship.class,
+            Ship::getDraft));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("jobs", Ship.class,
+            (Ship ship) -> ship.getJobs().size()));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("cargoweight", CargoShip.class,
+            CargoShip::getCargoWeight));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("cargovolume", CargoShip.class,
+            CargoShip::getCargoVolume));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("value", CargoShip.class,
+            CargoShip::getCargoValue));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("passengers", PassengerShip.class,
+            (PassengerShip ship) -> ship.getNumberOfPassengers()));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("rooms", PassengerShip.class,
+            (PassengerShip ship) -> ship.getNumberOfRooms()));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("occupied", PassengerShip.class,
+            (PassengerShip ship) -> ship.getNumberOfOccupiedRooms()));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("skill", Person.class,
+            Person::getSkill));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("duration", Job.class,
+            Job::getDuration));
+        QueryAttribute.registerAttribute(new QueryAttribute<>("requirements", Job.class,
+            (Job job) -> job.getRequirements().size()));
+    }
+
+    // Attribute-related fields; exactly one of <code>number</code> and <code>text</code> is set
+    private String name;
+    private Class<T> thingClass;
+    private ToDoubleFunction<T> number;
+    private Function<T, String> text;
+
+    /**
+     * Parameterized constructor, for numeric attributes
+     * @param name The attribute's name within queries, i.e. <code>"draft"</code>
+     * @param thingClass <code>Class</code> declaring the attribute
+     * @param number <code>ToDoubleFunction</code> reading the attribute
+     */
+    protected QueryAttribute(String name, Class<T> thingClass, ToDoubleFunction<T> number) {
+        this.setName(name);
+        this.setThingClass(thingClass);
+        this.number = number;
+    }
+
+    /**
+     * Parameterized constructor, for text attributes
+     * @param name The attribute's name within queries, i.e. <code>"skill"</code>
+     * @param thingClass <code>Class</code> declaring the attribute
+     * @param text <code>Function</code> reading the attribute
+     */
+    protected QueryAttribute(String name, Class<T> thingClass, Function<T, String> text) {
+        this.setName(name);
+        this.setThingClass(thingClass);
+        this.text = text;
+    }
+
+    // Setters
+
+    /**
+     * Setter for <code>name</code>
+     * @param name <code>String</code>
+     * @return void
+     */
+    private void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Setter for <code>thingClass</code>
+     * @param thingClass <code>Class</code>
+     * @return void
+     */
+    private void setThingClass(Class<T> thingClass) {
+        this.thingClass = thingClass;
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>name</code>
+     * @return <code>this.name</code>
+     */
+    protected String getName() {
+        return this.name;
+    }
+
+    /**
+     * Getter for <code>thingClass</code>
+     * @return <code>this.thingClass</code>
+     */
+    protected Class<T> getThingClass() {
+        return this.thingClass;
+    }
+
+    /**
+     * @return <code>true</code> if the attribute is numeric rather than text
+     */
+    protected boolean isNumeric() {
+        return this.number != null;
+    }
+
+    /**
+     * @param name An attribute's name, in any case
+     * @return The attribute, or <code>null</code> if none is registered under the name
+     */
+    protected static QueryAttribute<? extends Thing> getAttribute(String name) {
+        return ATTRIBUTES.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return Every registered attribute, in order of registration
+     */
+    protected static Collection<QueryAttribute<? extends Thing>> getAttributes() {
+        return Collections.unmodifiableCollection(ATTRIBUTES.values());
+    }
+
+    // Handlers
+
+    /**
+     * Registers an attribute, replacing any previously registered under the same name.
+     *
+     * @param attribute <code>QueryAttribute</code>
+     * @return void
+     */
+    protected static void registerAttribute(QueryAttribute<? extends Thing> attribute) {
+        ATTRIBUTES.put(attribute.getName().toLowerCase(Locale.ROOT), attribute);
+    }
+
+    /**
+     * @param kind <code>Class</code> of the things queried
+     * @return <code>true</code> if every instance of <code>kind</code> possesses the attribute
+     */
+    protected boolean appliesTo(Class<? extends Thing> kind) {
+        return this.getThingClass().isAssignableFrom(kind);
+    }
+
+    /**
+     * Compiles a condition upon the attribute into a <code>Predicate</code>, which may only be
+     * tested against instances of the attribute's <code>thingClass</code>.
+     *
+     * @param operator One of <code>= != &lt; &lt;= &gt; &gt;=</code>, or <code>~</code> for text
+     * @param operand The value against which to compare, parsed as a number if the attribute is
+     * @return <code>Predicate</code>
+     * @throws IllegalArgumentException If the operator or operand does not suit the attribute
+     */
+    protected Predicate<Thing> compile(String operator, String operand) {
+        return this.isNumeric()
+            ? this.compileNumeric(operator, QueryAttribute.parseNumber(this.getName(), operand))
+            : this.compileText(operator, operand);
+    }
+
+    /**
+     * Reads a numeric attribute of the given <code>Thing</code>, as when indexing or ranking by it.
+     *
+     * @param thing An instance of the attribute's <code>thingClass</code>
+     * @return <code>double</code>
+     * @throws IllegalStateException If the attribute is text
+     */
+    protected double valueOf(Thing thing) {
+        if (!this.isNumeric()) {
+            throw new IllegalStateException("The text " + this.getName() + " has no numeric value");
+        }
+        return this.number.applyAsDouble(this.getThingClass().cast(thing));
+    }
+
+    /**
+     * Reads the attribute of the given <code>Thing</code> for display, numeric values being shown
+     * without a fraction where they have none.
+     *
+     * @param thing An instance of the attribute's <code>thingClass</code>
+     * @return <code>String</code>
+     */
+    protected String format(Thing thing) {
+        double value;
+
+        if (!this.isNumeric()) {
+            return this.text.apply(this.getThingClass().cast(thing));
+        }
+
+        value = this.valueOf(thing);
+        return (value == Math.rint(value) && Math.abs(value) < 1e15)
+            ? String.valueOf((long) value)
+            : String.format("%.2f", value);
+    }
+
+    /**
+     * @param operator <code>String</code>
+     * @param value Parsed operand
+     * @return <code>Predicate</code>
+     */
+    private Predicate<Thing> compileNumeric(String operator, double value) {
+
+        // Declarations
+        Class<T> thingClass;
+        ToDoubleFunction<T> number;
+        DoublePredicate test;
+
+        // Definitions
+        thingClass = this.getThingClass();
+        number = this.number;
+
+        switch (operator) {
+            case "=":
+                test = (double actual) -> actual == value;
+                break;
+            case "!=":
+                test = (double actual) -> actual != value;
+                break;
+            case "<":
+                test = (double actual) -> actual < value;
+                break;
+            case "<=":
+                test = (double actual) -> actual <= value;
+                break;
+            case ">":
+                test = (double actual) -> actual > value;
+                break;
+            case ">=":
+                test = (double actual) -> actual >= value;
+                break;
+            default:
+                throw new IllegalArgumentException("Operator " + operator
+                    + " cannot compare the number " + this.getName());
+        }
+        return (Thing thing) -> test.test(number.applyAsDouble(thingClass.cast(thing)));
+    }
+
+    /**
+     * @param operator <code>String</code>
+     * @param value Operand
+     * @return <code>Predicate</code>
+     */
+    private Predicate<Thing> compileText(String operator, String value) {
+
+        // Declarations
+        Class<T> thingClass;
+        Function<T, String> text;
+        String lowerValue;
+
+        // Definitions
+        thingClass = this.getThingClass();
+        text = this.text;
+        lowerValue = value.toLowerCase(Locale.ROOT);
+
+        switch (operator) {
+            case "=":
+                return (Thing thing) -> value.equals(text.apply(thingClass.cast(thing)));
+            case "!=":
+                return (Thing thing) -> !value.equals(text.apply(thingClass.cast(thing)));
+            case "~":
+                return (Thing thing) -> text.apply(thingClass.cast(thing))
+                    .toLowerCase(Locale.ROOT).contains(lowerValue);
+            default:
+                throw new IllegalArgumentException("Operator " + operator
+                    + " cannot compare the text " + this.getName());
+        }
+    }
+
+    /**
+     * @param name The attribute's name, for the error message
+     * @param operand <code>String</code>
+     * @return The operand as a <code>double</code>
+     * @throws IllegalArgumentException If the operand is not a number
+     */
+    private static double parseNumber(String name, String operand) {
+        try {
+            return Double.parseDouble(operand);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Expected a number for " + name + ", not "
+                + operand);
+        }
+    }
+}
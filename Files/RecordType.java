@@ -0,0 +1,199 @@
+/**
+ * RecordType.java - Class for <code>RecordType</code> dispatch entries
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * This class represents a single kind of record that may appear in the user-selected
+ * <code>.txt</code> file, such as <code>port</code> or <code>job</code>. Each instance binds the
+ * record's keyword to a factory that builds the appropriate <code>Thing</code> subclass from the
+ * record's <code>FieldSource</code> and to a linker that attaches the new object to its parent in
+ * the <code>World</code>, reporting whether the parent could be found. Both are plain method
+ * references bound once at class initialization, so <code>World.process</code> no longer needs
+ * reflection or a hardcoded <code>switch</code> to handle a record; new record types need only be
+ * registered via <code>World.registerRecordType</code>.
+ * <br />
+ * <br />
+ * Each may also bind an unlinker, the linker's inverse, which detaches a linked object from its
+ * parent such that the record can be removed from a live <code>World</code> when its line is
+ * removed from or changed in the file. Record types registered without one are simply dropped from
+ * the world's registry upon removal.
+ *
+ * @param <T> extends <code>Thing</code>
+ * @see project1.World
+ * @author Andrew Eissen
+ */
+final class RecordType<T extends Thing> {
+
+    // Dispatch-related fields
+    private String keyword;
+    private Class<T> thingClass;
+    private Function<FieldSource, T> factory;
+    private BiPredicate<World, T> linker;
+    private BiConsumer<World, T> unlinker;
+
+    /**
+     * Parameterized constructor, for record types that cannot be removed from a live world
+     * @param keyword The leading token of the record's line, i.e. <code>"port"</code>
+     * @param thingClass <code>Class</code> of the objects built by the factory
+     * @param factory <code>Function</code> building the object from the line's contents
+     * @param linker <code>BiPredicate</code> attaching the object to its parent
+     */
+    protected RecordType(String keyword, Class<T> thingClass, Function<FieldSource, T> factory,
+            BiPredicate<World, T> linker) {
+        this(keyword, thingClass, factory, linker, (World world, T oldThing) -> {});
+    }
+
+    /**
+     * Fully-parameterized constructor
+     * @param keyword The leading token of the record's line, i.e. <code>"port"</code>
+     * @param thingClass <code>Class</code> of the objects built by the factory
+     * @param factory <code>Function</code> building the object from the line's contents
+     * @param linker <code>BiPredicate</code> attaching the object to its parent
+     * @param unlinker <code>BiConsumer</code> detaching the object from its parent
+     */
+    protected RecordType(String keyword, Class<T> thingClass, Function<FieldSource, T> factory,
+            BiPredicate<World, T> linker, BiConsumer<World, T> unlinker) {
+        this.setKeyword(keyword);
+        this.setThingClass(thingClass);
+        this.setFactory(factory);
+        this.setLinker(linker);
+        this.setUnlinker(unlinker);
+    }
+
+    // Setters
+
+    /**
+     * Setter for <code>keyword</code>
+     * @param keyword <code>String</code>
+     * @return void
+     */
+    private void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Setter for <code>thingClass</code>
+     * @param thingClass <code>Class</code>
+     * @return void
+     */
+    private void setThingClass(Class<T> thingClass) {
+        this.thingClass = thingClass;
+    }
+
+    /**
+     * Setter for <code>factory</code>
+     * @param factory <code>Function</code>
+     * @return void
+     */
+    private void setFactory(Function<FieldSource, T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Setter for <code>linker</code>
+     * @param linker <code>BiPredicate</code>
+     * @return void
+     */
+    private void setLinker(BiPredicate<World, T> linker) {
+        this.linker = linker;
+    }
+
+    /**
+     * Setter for <code>unlinker</code>
+     * @param unlinker <code>BiConsumer</code>
+     * @return void
+     */
+    private void setUnlinker(BiConsumer<World, T> unlinker) {
+        this.unlinker = unlinker;
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>keyword</code>
+     * @return <code>this.keyword</code>
+     */
+    protected String getKeyword() {
+        return this.keyword;
+    }
+
+    /**
+     * Getter for <code>thingClass</code>
+     * @return <code>this.thingClass</code>
+     */
+    protected Class<T> getThingClass() {
+        return this.thingClass;
+    }
+
+    /**
+     * Getter for <code>factory</code>
+     * @return <code>this.factory</code>
+     */
+    protected Function<FieldSource, T> getFactory() {
+        return this.factory;
+    }
+
+    /**
+     * Getter for <code>linker</code>
+     * @return <code>this.linker</code>
+     */
+    protected BiPredicate<World, T> getLinker() {
+        return this.linker;
+    }
+
+    /**
+     * Getter for <code>unlinker</code>
+     * @return <code>this.unlinker</code>
+     */
+    protected BiConsumer<World, T> getUnlinker() {
+        return this.unlinker;
+    }
+
+    // Handlers
+
+    /**
+     * Builds a new, as yet unlinked instance of the record's <code>Thing</code> subclass from the
+     * remaining contents of the line or snapshot record.
+     *
+     * @param lineContents The record's contents following the keyword
+     * @return <code>T</code>
+     */
+    protected T build(FieldSource lineContents) {
+        return this.getFactory().apply(lineContents);
+    }
+
+    /**
+     * Attaches a previously built object to its parent within the given <code>World</code>. The
+     * object is accepted as a plain <code>Thing</code> so that records held apart from their
+     * <code>RecordType</code>, such as those awaiting a parent, may be relinked; it must be an
+     * instance of <code>thingClass</code>.
+     *
+     * @param world The <code>World</code> receiving the object
+     * @param newThing <code>Thing</code>
+     * @return <code>true</code> if the object's parent was found and the object attached
+     */
+    protected boolean link(World world, Thing newThing) {
+        return this.getLinker().test(world, this.getThingClass().cast(newThing));
+    }
+
+    /**
+     * Detaches a previously linked object from its parent within the given <code>World</code>, the
+     * inverse of <code>link</code>. Any children of the object are left to the unlinker, which
+     * typically detaches them in turn via <code>World.pendThing</code>.
+     *
+     * @param world The <code>World</code> holding the object
+     * @param oldThing <code>Thing</code>, an instance of <code>thingClass</code>
+     * @return void
+     */
+    protected void unlink(World world, Thing oldThing) {
+        this.getUnlinker().accept(world, this.getThingClass().cast(oldThing));
+    }
+}
@@ -4,9 +4,13 @@
  * @author Andrew Eissen
  */
 
-//package project1;
+package project1;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -16,17 +20,38 @@ import java.util.Scanner;
  * <code>toString()</code> method.
  * <br />
  * <br />
+ * Each port also aggregates the skills of its persons into a <code>SkillSet</code> alongside a
+ * count of the persons possessing each skill, maintained by the <code>World</code> as persons are
+ * linked, such that <code>canSatisfy</code> may determine whether the port's workforce covers a
+ * job's requirements without examining any person.
+ * <br />
+ * <br />
+ * The port's lists are <code>TrackedList</code>s, so sorted views of its docks, queued ships,
+ * ships and persons may be requested by any <code>Comparator</code>, e.g. a
+ * <code>ThingOrder</code>, and are sorted only the first time they are requested after the list
+ * in question has changed. Running totals of the port's contents, e.g. the total value of its
+ * cargo or the length of its queue, are likewise kept by the <code>World</code> in the port's
+ * <code>Aggregates</code>.
+ * <br />
+ * <br />
  * Class extends <code>Thing</code>
  * @see project1.Thing
  * @author Andrew Eissen
  */
 final class SeaPort extends Thing {
 
-    // Rubric-required <code>ArrayList</code>s
-    private ArrayList<Dock> docks;
-    private ArrayList<Ship> que;
-    private ArrayList<Ship> ships;
-    private ArrayList<Person> persons;
+    // Rubric-required <code>ArrayList</code>s, tracked so sorted views are kept until changed
+    private TrackedList<Dock> docks;
+    private TrackedList<Ship> que;
+    private TrackedList<Ship> ships;
+    private TrackedList<Person> persons;
+
+    // Skills of <code>persons</code>, and the number of persons possessing each, by identifier
+    private SkillSet availableSkills;
+    private int[] skillCounts;
+
+    // Running totals of the port's contents, maintained by the <code>World</code>
+    private Aggregates aggregates;
 
     /**
      * Parameterized constructor
@@ -34,47 +59,67 @@ final class SeaPort extends Thing {
      */
     protected SeaPort(Scanner scannerContents) {
         super(scannerContents);
-        this.setDocks(new ArrayList<>());
-        this.setQue(new ArrayList<>());
-        this.setShips(new ArrayList<>());
-        this.setPersons(new ArrayList<>());
+        this.setDocks(new TrackedList<>());
+        this.setQue(new TrackedList<>());
+        this.setShips(new TrackedList<>());
+        this.setPersons(new TrackedList<>());
+        this.availableSkills = new SkillSet();
+        this.skillCounts = new int[0];
+        this.aggregates = new Aggregates();
+    }
+
+    /**
+     * Parameterized constructor, reading the same fields from a <code>FieldSource</code>, i.e. a
+     * reusable <code>FieldTokenizer</code> or a snapshot record, rather than a per-line
+     * <code>Scanner</code>
+     * @param tokenizer <code>FieldSource</code> positioned after the record's keyword
+     */
+    protected SeaPort(FieldSource tokenizer) {
+        super(tokenizer);
+        this.setDocks(new TrackedList<>());
+        this.setQue(new TrackedList<>());
+        this.setShips(new TrackedList<>());
+        this.setPersons(new TrackedList<>());
+        this.availableSkills = new SkillSet();
+        this.skillCounts = new int[0];
+        this.aggregates = new Aggregates();
     }
 
     // Setters
 
     /**
      * Setter for <code>docks</code>
-     * @param docks <code>ArrayList</code>
+     * @param docks <code>TrackedList</code>
      * @return void
      */
-    private void setDocks(ArrayList<Dock> docks) {
+    private void setDocks(TrackedList<Dock> docks) {
         this.docks = docks;
     }
 
     /**
      * Setter for <code>que</code>
-     * @param que <code>ArrayList</code>
+     * @param que <code>TrackedList</code>
      * @return void
      */
-    private void setQue(ArrayList<Ship> que) {
+    private void setQue(TrackedList<Ship> que) {
         this.que = que;
     }
 
     /**
      * Setter for <code>ships</code>
-     * @param ships <code>ArrayList</code>
+     * @param ships <code>TrackedList</code>
      * @return void
      */
-    private void setShips(ArrayList<Ship> ships) {
+    private void setShips(TrackedList<Ship> ships) {
         this.ships = ships;
     }
 
     /**
      * Setter for <code>persons</code>
-     * @param persons <code>ArrayList</code>
+     * @param persons <code>TrackedList</code>
      * @return void
      */
-    private void setPersons(ArrayList<Person> persons) {
+    private void setPersons(TrackedList<Person> persons) {
         this.persons = persons;
     }
 
@@ -112,39 +157,167 @@ final class SeaPort extends Thing {
         return this.persons;
     }
 
+    /**
+     * @param order <code>Comparator</code> imposing a total order, e.g. a <code>ThingOrder</code>
+     * @return The port's docks, sorted, as cached until <code>docks</code> next changes
+     */
+    protected List<Dock> getSortedDocks(Comparator<? super Dock> order) {
+        return this.docks.getSortedView(order);
+    }
+
+    /**
+     * @param order <code>Comparator</code> imposing a total order, e.g. a <code>ThingOrder</code>
+     * @return The port's queued ships, sorted, as cached until <code>que</code> next changes
+     */
+    protected List<Ship> getSortedQue(Comparator<? super Ship> order) {
+        return this.que.getSortedView(order);
+    }
+
+    /**
+     * @param order <code>Comparator</code> imposing a total order, e.g. a <code>ThingOrder</code>
+     * @return The port's ships, sorted, as cached until <code>ships</code> next changes
+     */
+    protected List<Ship> getSortedShips(Comparator<? super Ship> order) {
+        return this.ships.getSortedView(order);
+    }
+
+    /**
+     * @param order <code>Comparator</code> imposing a total order, e.g. a <code>ThingOrder</code>
+     * @return The port's persons, sorted, as cached until <code>persons</code> next changes
+     */
+    protected List<Person> getSortedPersons(Comparator<? super Person> order) {
+        return this.persons.getSortedView(order);
+    }
+
+    /**
+     * Getter for <code>aggregates</code>
+     * @return <code>this.aggregates</code>, the running totals of the port's contents
+     */
+    protected Aggregates getAggregates() {
+        return this.aggregates;
+    }
+
+    /**
+     * Getter for <code>availableSkills</code>
+     * @return <code>this.availableSkills</code>, which must not be modified
+     */
+    protected SkillSet getAvailableSkills() {
+        return this.availableSkills;
+    }
+
+    /**
+     * @param skill Skill identifier
+     * @return The number of persons at the port possessing the skill
+     */
+    protected int getSkillCount(int skill) {
+        return (skill >= 0 && skill < this.skillCounts.length) ? this.skillCounts[skill] : 0;
+    }
+
+    // Handlers
+
+    /**
+     * Records that a person possessing the given skill works at this port.
+     *
+     * @param skill Skill identifier
+     * @return void
+     */
+    protected void addAvailableSkill(int skill) {
+        if (skill >= this.skillCounts.length) {
+            this.skillCounts = Arrays.copyOf(this.skillCounts, Math.max(skill + 1,
+                this.skillCounts.length * 2));
+        }
+
+        if (this.skillCounts[skill]++ == 0) {
+            this.availableSkills.add(skill);
+        }
+    }
+
+    /**
+     * Records that a person possessing the given skill no longer works at this port. The skill is
+     * removed from <code>availableSkills</code> once nobody possessing it remains.
+     *
+     * @param skill Skill identifier
+     * @return void
+     */
+    protected void removeAvailableSkill(int skill) {
+        if (this.getSkillCount(skill) > 0 && --this.skillCounts[skill] == 0) {
+            this.availableSkills.remove(skill);
+        }
+    }
+
+    /**
+     * Determines whether the port's workforce possesses every skill required by the given job. As
+     * almost all jobs require each skill at most once, this is usually a single bitwise comparison
+     * of the job's <code>requirementSet</code> against <code>availableSkills</code>. Only for jobs
+     * listing some skill more than once are the per-skill counts consulted, so that a job needing
+     * two stevedores is not deemed satisfiable by a port employing only one.
+     *
+     * @param job <code>Job</code>
+     * @return <code>true</code> if the port could staff the job, were every person idle
+     */
+    protected boolean canSatisfy(Job job) {
+
+        // Declarations
+        int[] requirements;
+        int needed;
+
+        if (!this.availableSkills.containsAll(job.getRequirementSet())) {
+            return false;
+        } else if (!job.hasRepeatedRequirements()) {
+            return true;
+        }
+
+        // Definitions
+        requirements = job.getRequirementIds();
+        Arrays.sort(requirements);
+
+        for (int i = 0; i < requirements.length; i += needed) {
+            for (needed = 1; i + needed < requirements.length
+                    && requirements[i + needed] == requirements[i]; needed++) {}
+
+            if (this.getSkillCount(requirements[i]) < needed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     // Overridden methods
 
     /**
      * @inheritdoc
-     * @return stringOutput <code>String</code>
+     * @param output <code>Appendable</code>
+     * @return void
      */
     @Override
-    public String toString() {
-        String stringOutput;
+    protected void appendTo(Appendable output) throws IOException {
 
         // A near-identical implementation of the method as denoted in the rubric
-        stringOutput = "\n\nSeaPort: " + super.toString();
+        output.append("\n\nSeaPort: ");
+        super.appendTo(output);
         for (Dock dock: this.getDocks()) {
-            stringOutput += "\n> " + dock.toString();
+            output.append("\n> ");
+            dock.appendTo(output);
         }
 
-        stringOutput += "\n\n --- List of all ships in que:";
+        output.append("\n\n --- List of all ships in que:");
         for (Ship shipQue: this.getQue()) {
-            stringOutput += "\n> " + shipQue.toString();
+            output.append("\n> ");
+            shipQue.appendTo(output);
         }
 
         // Since the above output displays ship-related details, this one is just a quick summary
-        stringOutput += "\n\n --- List of all ships:";
+        output.append("\n\n --- List of all ships:");
         for (Ship shipAll: this.getShips()) {
-            stringOutput += "\n> " + shipAll.getName() + " " + shipAll.getIndex() + " ("
-                + shipAll.getClass().getSimpleName() + ")";
+            output.append("\n> ").append(shipAll.getName()).append(" ")
+                .append(String.valueOf(shipAll.getIndex())).append(" (")
+                .append(shipAll.getClass().getSimpleName()).append(")");
         }
 
-        stringOutput += "\n\n --- List of all persons:";
+        output.append("\n\n --- List of all persons:");
         for (Person person: this.getPersons()) {
-            stringOutput += "\n> " + person.toString();
+            output.append("\n> ");
+            person.appendTo(output);
         }
-
-        return stringOutput;
     }
 }
\ No newline at end of file
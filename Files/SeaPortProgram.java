@@ -4,16 +4,17 @@
  * @author Andrew Eissen
  */
 
-//package project1;
+package project1;
 
 import java.io.*;
 import java.util.*;
+import java.util.List;
 import javax.swing.*;
+import javax.swing.event.TreeSelectionEvent;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.beans.PropertyChangeEvent;
 
 /**
  * This is the central class of the program. It initializes the program and assembles the GUI and
@@ -28,6 +29,15 @@ import java.lang.reflect.Method;
  */
 final class SeaPortProgram extends JFrame {
 
+    // Milliseconds for which each unit of a job's duration lasts when jobs are run
+    private static final double JOB_TIME_FACTOR = 100;
+
+    // Units of simulated time between the arrivals of each port's queued ships
+    private static final int SIMULATION_ARRIVAL_INTERVAL = 10;
+
+    // Greatest number of query results listed in the results popup
+    private static final int QUERY_RESULT_LIMIT = 200;
+
     // New world instance
     private World world;
 
@@ -39,17 +49,35 @@ final class SeaPortProgram extends JFrame {
     // GUI related fields
     private JFrame mainFrame;
     private JTextArea mainTextArea;
-    private JScrollPane mainScrollPane;
-    private JPanel mainPanel, optionsPanel;
-    private JButton readButton, searchButton;
+    private JScrollPane mainScrollPane, treeScrollPane;
+    private JSplitPane mainSplitPane;
+    private JTree worldTree;
+    private WorldTreeModel worldTreeModel;
+    private JPanel mainPanel, optionsPanel, statusPanel, modePanel;
+    private JButton readButton, searchButton, cancelButton, simulateButton;
+    private JCheckBox watchCheckBox;
+    private JToggleButton runJobsButton;
+    private JProgressBar loadProgressBar;
     private JLabel searchTextLabel;
     private JTextField searchTextField;
     private String[] searchComboBoxValues;
     private JComboBox<String> searchComboBox;
+    private String[] sortComboBoxValues;
+    private JComboBox<String> sortComboBox;
+    private JComboBox<DockAllocator.Policy> dockPolicyComboBox;
 
-    // User input-related fields
+    // User input-related field
     private JFileChooser fileChooser;
-    private Scanner scannerContents;
+
+    // Background loading-related field
+    private WorldLoadWorker loadWorker;
+
+    // File watching-related fields
+    private File worldFile;
+    private WorldWatcher worldWatcher;
+
+    // Job execution-related field
+    private JobEngine jobEngine;
 
     /**
      * Default, no-parameters constructor
@@ -143,6 +171,16 @@ final class SeaPortProgram extends JFrame {
      * for the text area and <code>GridLayout</code> for the top bar options panel. Though the GUI
      * does resize nicely, making it too small does break the effect a bit and results in a
      * <span style="color:yellow;font-family:'Comic Sans MS';">jAnkY</span> looking interface.
+     * <br />
+     * <br />
+     * Rather than dumping the entire world into the text area at once, the world is browsed via a
+     * <code>JTree</code> backed by a lazily-evaluated <code>WorldTreeModel</code> placed to the left
+     * of the text area in a <code>JSplitPane</code>. Selecting a node renders only that node's
+     * details into the text area. A status bar along the bottom displays the progress of any load
+     * in progress alongside a button to cancel it, a check box enabling watch mode, a toggle
+     * button running the world's jobs, a button simulating the world's ports and a combo box
+     * selecting the policy by which both allocate docks to queued ships. A further combo box in the
+     * options panel orders the contents of each port within the tree by a <code>ThingOrder</code>.
      *
      * @return void
      */
@@ -150,7 +188,7 @@ final class SeaPortProgram extends JFrame {
 
         // Layout manager definitions, eschewing FlowLayout as per rubric
         this.mainPanel = new JPanel(new BorderLayout());
-        this.optionsPanel = new JPanel(new GridLayout(1, 5, 5, 5));
+        this.optionsPanel = new JPanel(new GridLayout(1, 6, 5, 5));
 
         // Central text area related definitions
         this.mainTextArea = new JTextArea();
@@ -161,6 +199,25 @@ final class SeaPortProgram extends JFrame {
         // Add JTextArea to JScrollPane as per rubric
         this.mainScrollPane = new JScrollPane(this.mainTextArea);
 
+        // World browser, labelling nodes with short descriptions rather than full toString output
+        this.worldTreeModel = new WorldTreeModel(null);
+        this.worldTree = new JTree(this.worldTreeModel) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String convertValueToText(Object value, boolean selected, boolean expanded,
+                    boolean leaf, int row, boolean hasFocus) {
+                return WorldTreeModel.describe(value);
+            }
+        };
+        this.worldTree.addTreeSelectionListener((TreeSelectionEvent e) -> {
+            this.displaySelectedNode();
+        });
+        this.treeScrollPane = new JScrollPane(this.worldTree);
+        this.mainSplitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, this.treeScrollPane,
+            this.mainScrollPane);
+        this.mainSplitPane.setResizeWeight(0.4);
+
         // Create buttons for options menu
         this.readButton = new JButton("Read");
         this.searchButton = new JButton("Search");
@@ -173,8 +230,14 @@ final class SeaPortProgram extends JFrame {
          * Combo box definitions, using <code>String</code> array idea from
          * <a href="www.codejava.net/java-se/swing/jcombobox-basic-tutorial-and-examples">this</a>.
          */
-        this.searchComboBoxValues = new String[] {"By name", "By index", "By skill"};
+        this.searchComboBoxValues = new String[] {"By name", "By index", "By skill", "By query"};
         this.searchComboBox = new JComboBox<>(this.searchComboBoxValues);
+        this.sortComboBoxValues = new String[ThingOrder.values().length + 1];
+        this.sortComboBoxValues[0] = "In file order";
+        for (ThingOrder order : ThingOrder.values()) {
+            this.sortComboBoxValues[order.ordinal() + 1] = order.toString();
+        }
+        this.sortComboBox = new JComboBox<>(this.sortComboBoxValues);
 
         // Add UI options to top panel
         this.optionsPanel.add(this.readButton);         // Read button first
@@ -182,16 +245,42 @@ final class SeaPortProgram extends JFrame {
         this.optionsPanel.add(this.searchTextField);    // Search bar itself
         this.optionsPanel.add(this.searchComboBox);     // Sorting options combo box
         this.optionsPanel.add(this.searchButton);       // Search button itself
+        this.optionsPanel.add(this.sortComboBox);       // Tree ordering combo box
+
+        // Load progress bar and cancel button, idle until a file is read
+        this.statusPanel = new JPanel(new BorderLayout(5, 5));
+        this.loadProgressBar = new JProgressBar(0, 100);
+        this.loadProgressBar.setStringPainted(true);
+        this.loadProgressBar.setString("No file loaded");
+        this.cancelButton = new JButton("Cancel");
+        this.cancelButton.setEnabled(false);
+        this.watchCheckBox = new JCheckBox("Watch file");
+        this.runJobsButton = new JToggleButton("Run jobs");
+        this.simulateButton = new JButton("Simulate");
+        this.dockPolicyComboBox = new JComboBox<>(DockAllocator.Policy.values());
+        this.modePanel = new JPanel(new GridLayout(1, 4, 5, 5));
+        this.modePanel.add(this.watchCheckBox);
+        this.modePanel.add(this.runJobsButton);
+        this.modePanel.add(this.simulateButton);
+        this.modePanel.add(this.dockPolicyComboBox);
+        this.statusPanel.add(this.modePanel, BorderLayout.WEST);
+        this.statusPanel.add(this.loadProgressBar, BorderLayout.CENTER);
+        this.statusPanel.add(this.cancelButton, BorderLayout.EAST);
 
         // Per rubric, JTextArea within JScrollPane on JPanel in the BorderLayout.CENTER position
-        this.mainPanel.add(this.mainScrollPane, BorderLayout.CENTER);
+        this.mainPanel.add(this.mainSplitPane, BorderLayout.CENTER);
 
         // Add buttons options UI to the top of the main panel
         this.mainPanel.add(this.optionsPanel, BorderLayout.NORTH);
 
+        // Add load status to the bottom of the main panel
+        this.mainPanel.add(this.statusPanel, BorderLayout.SOUTH);
+
         // Add borders for a cleaner look
         this.optionsPanel.setBorder(BorderFactory.createTitledBorder("Options"));
-        this.mainScrollPane.setBorder(BorderFactory.createTitledBorder("World"));
+        this.treeScrollPane.setBorder(BorderFactory.createTitledBorder("World"));
+        this.mainScrollPane.setBorder(BorderFactory.createTitledBorder("Details"));
+        this.statusPanel.setBorder(BorderFactory.createTitledBorder("Status"));
         this.mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // Read button handler
@@ -199,11 +288,38 @@ final class SeaPortProgram extends JFrame {
             this.readFileContents();
         });
 
+        // Cancel button handler
+        this.cancelButton.addActionListener((ActionEvent e) -> {
+            this.cancelFileContents();
+        });
+
+        // Watch check box handler
+        this.watchCheckBox.addActionListener((ActionEvent e) -> {
+            this.updateWorldWatcher();
+        });
+
+        // Run jobs button handler
+        this.runJobsButton.addActionListener((ActionEvent e) -> {
+            this.updateJobEngine();
+        });
+
+        // Simulate button handler
+        this.simulateButton.addActionListener((ActionEvent e) -> {
+            this.simulateWorld();
+        });
+
         // Search button handler
         this.searchButton.addActionListener((ActionEvent e) -> {
             this.searchWorldContents();
         });
 
+        // Sort combo box handler, ordering each port's contents within the tree
+        this.sortComboBox.addActionListener((ActionEvent e) -> {
+            this.worldTreeModel.setOrder((this.sortComboBox.getSelectedIndex() == 0)
+                ? null
+                : ThingOrder.values()[this.sortComboBox.getSelectedIndex() - 1]);
+        });
+
         // Placement/sizing details for main JFrame element
         this.mainFrame = new JFrame(this.getWindowTitle());
         this.mainFrame.setContentPane(this.mainPanel);
@@ -220,6 +336,14 @@ final class SeaPortProgram extends JFrame {
      * extension. Since the input will be a text file, such a restriction was deemed sensible.
      * Related to this was the subsequent restriction forbidding improperly-formatted text files
      * from erroneously being run.
+     * <br />
+     * <br />
+     * The selected file is loaded via <code>MappedWorldLoader</code>, which memory-maps it and
+     * parses records straight from the mapped bytes rather than streaming it through a
+     * <code>FileReader</code> and <code>Scanner</code>. The load runs on a background
+     * <code>WorldLoadWorker</code> so that the GUI remains responsive and may cancel it; the
+     * "Read" button is disabled until it finishes, and the current world, if any, remains
+     * searchable and browsable until the new one replaces it.
      *
      * @return void
      */
@@ -227,7 +351,6 @@ final class SeaPortProgram extends JFrame {
 
         // Declarations
         int selection;
-        FileReader fileReader;
         FileNameExtensionFilter filter;
 
         // Main folder, as per rubric
@@ -245,37 +368,312 @@ final class SeaPortProgram extends JFrame {
 
         selection = this.fileChooser.showOpenDialog(new JFrame());
 
-        if (selection == JFileChooser.APPROVE_OPTION) {
-            try {
-                fileReader = new FileReader(this.fileChooser.getSelectedFile());
-                this.scannerContents = new Scanner(fileReader);
-            } catch (FileNotFoundException ex) {
-                this.displayErrorPopup("Error: No such file found. Please try again.");
+        if (selection != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        this.loadFile(this.fileChooser.getSelectedFile());
+    }
+
+    /**
+     * Builds a new <code>World</code> instance from the given file in the background, via a
+     * <code>WorldLoadWorker</code>. Used both by <code>readFileContents</code> and should a
+     * watched file change in a manner that cannot be applied incrementally.
+     *
+     * @param file The <code>.txt</code> file to load
+     * @return void
+     */
+    private void loadFile(File file) {
+        this.readButton.setEnabled(false);
+        this.cancelButton.setEnabled(true);
+        this.loadProgressBar.setValue(0);
+        this.loadProgressBar.setString("Loading " + file.getName());
+
+        this.loadWorker = new WorldLoadWorker(file, this.loadProgressBar,
+            (World world) -> this.publishWorld(world, file), this::displayLoadFailure);
+        this.loadWorker.addPropertyChangeListener((PropertyChangeEvent e) -> {
+            if (e.getNewValue() == SwingWorker.StateValue.DONE) {
+                this.readButton.setEnabled(true);
+                this.cancelButton.setEnabled(false);
+                this.loadWorker = null;
             }
+        });
+        this.loadWorker.execute();
+    }
+
+    /**
+     * Click handler for the "Cancel" button, abandoning the load in progress, if any.
+     *
+     * @return void
+     */
+    private void cancelFileContents() {
+        if (this.loadWorker != null) {
+            this.loadWorker.cancelLoad();
+        }
+    }
+
+    /**
+     * Invoked on the event dispatch thread once a load has completed, this method replaces the
+     * current world with the newly loaded one. As the world is only ever assigned here, searches
+     * and the browser never observe a partially built world. In watch mode, the file from which the
+     * world was loaded is watched in place of any previous one. Any jobs of the previous world
+     * still running are stopped.
+     *
+     * @param world The finished, non-empty <code>World</code>
+     * @param file The <code>.txt</code> file from which the world was loaded
+     * @return void
+     */
+    private void publishWorld(World world, File file) {
+        this.world = world;
+        this.worldFile = file;
+        this.mainTextArea.setText("");
+        this.worldTreeModel.setWorld(this.world);
+        this.updateWorldWatcher();
+        this.runJobsButton.setSelected(false);
+        this.updateJobEngine();
+    }
+
+    /**
+     * Starts or stops watching the current world's file in accordance with the "Watch file" check
+     * box, replacing any <code>WorldWatcher</code> of a previous world. Should the file's directory
+     * not be watchable, the check box is cleared again.
+     *
+     * @return void
+     */
+    private void updateWorldWatcher() {
+        if (this.worldWatcher != null) {
+            this.worldWatcher.stop();
+            this.worldWatcher = null;
+        }
+
+        if (!this.watchCheckBox.isSelected() || this.world == null) {
+            return;
+        }
+
+        this.worldWatcher = new WorldWatcher(this.world, this.worldFile, this::applyReload,
+            this::reloadWorldFile, this::displayWatchFailure);
+        try {
+            this.worldWatcher.start();
+        } catch (IOException ex) {
+            this.worldWatcher = null;
+            this.watchCheckBox.setSelected(false);
+            this.displayErrorPopup("Error: File cannot be watched. Please try again.");
+        }
+    }
+
+    /**
+     * Starts or stops running the current world's jobs in accordance with the "Run jobs" toggle
+     * button, via a <code>JobEngine</code> whose progress is shown on the progress bar. Freed docks
+     * are allocated by the selected policy. As each ship departs, making way for the next, its
+     * port is refreshed in the browser. Once every ship has departed, the button is released
+     * again.
+     *
+     * @return void
+     */
+    private void updateJobEngine() {
+        JobEngine.Listener listener;
+
+        if (this.jobEngine != null) {
+            this.jobEngine.stop();
+            this.jobEngine = null;
         }
 
-        // Create new <code>World</code> instance, passing <code>Scanner</code> contents
-        this.world = new World(this.scannerContents);
+        if (!this.runJobsButton.isSelected()) {
+            return;
+        } else if (this.world == null) {
+            this.runJobsButton.setSelected(false);
+            this.displayErrorPopup("Error: No world initialized. Please try again.");
+            return;
+        }
+
+        listener = new JobEngine.Listener() {
+            @Override
+            public void jobFinished(Job job) {
+                SwingUtilities.invokeLater(SeaPortProgram.this::displayJobProgress);
+            }
+
+            @Override
+            public void jobUnstaffable(Job job) {
+                SwingUtilities.invokeLater(SeaPortProgram.this::displayJobProgress);
+            }
+
+            @Override
+            public void shipDeparted(Ship ship, Dock dock) {
+                SeaPortProgram.this.worldTreeModel.portChanged(
+                    SeaPortProgram.this.world.getPortOf(dock));
+                SeaPortProgram.this.displayJobProgress();
+            }
+        };
+
+        this.jobEngine = new JobEngine(this.world, JOB_TIME_FACTOR,
+            (DockAllocator.Policy) this.dockPolicyComboBox.getSelectedItem(),
+            SwingUtilities::invokeLater, listener);
+        this.jobEngine.start();
+        this.displayJobProgress();
+    }
 
-        // Forbid users from using a text file that is not in the proper format
-        if (this.world.getAllThings().isEmpty()) {
-            // Clear any previous results from proper input and set World object to null
-            this.mainTextArea.setText("");
-            this.world = null;
-            this.displayErrorPopup("Error: File data may be empty or corrupted. Please try again.");
+    /**
+     * Click handler for the "Simulate" button. Simulates every port of the current world via a
+     * <code>PortSimulation</code> on a background thread, docking ships by the selected policy,
+     * after which the times at which ships arrived and docked are recorded and each port's
+     * throughput is displayed in the text area.
+     *
+     * @return void
+     */
+    private void simulateWorld() {
+        PortSimulation simulation;
+
+        if (this.world == null) {
+            this.displayErrorPopup("Error: No world initialized. Please try again.");
+            return;
+        }
+
+        simulation = new PortSimulation(this.world, SIMULATION_ARRIVAL_INTERVAL,
+            (DockAllocator.Policy) this.dockPolicyComboBox.getSelectedItem());
+        this.simulateButton.setEnabled(false);
+        this.loadProgressBar.setString("Simulating");
+
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                simulation.run(Integer.MAX_VALUE);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                simulation.recordTimes();
+                SeaPortProgram.this.simulateButton.setEnabled(true);
+                SeaPortProgram.this.loadProgressBar.setString("Simulated until time "
+                    + simulation.getTime().getTime());
+                SeaPortProgram.this.mainTextArea.setText(simulation.getReport());
+                SeaPortProgram.this.mainTextArea.setCaretPosition(0);
+            }
+        }.execute();
+    }
+
+    /**
+     * Displays the progress of the running jobs, if any, on the progress bar, releasing the "Run
+     * jobs" button and displaying the engine's staffing report once every ship has departed.
+     *
+     * @return void
+     */
+    private void displayJobProgress() {
+        if (this.jobEngine == null) {
+            return;
+        }
+
+        this.loadProgressBar.setString(String.format("Jobs: %,d of %,d finished, %,d unstaffable",
+            this.jobEngine.getFinishedCount(), this.jobEngine.getJobCount(),
+            this.jobEngine.getUnstaffableCount()));
+
+        if (this.jobEngine.isFinished()) {
+            this.mainTextArea.setText(this.jobEngine.getStaffingReport());
+            this.mainTextArea.setCaretPosition(0);
+            this.jobEngine = null;
+            this.runJobsButton.setSelected(false);
+        }
+    }
+
+    /**
+     * Invoked on the event dispatch thread once a change to the watched file has been applied to
+     * the world. Rather than rebuilding the whole tree, only the ports whose contents have changed
+     * are refreshed, unless ports themselves have been added or removed. The selected node, if
+     * any, is rendered again, as its details may have changed.
+     *
+     * @param delta The applied <code>WorldReloader.Delta</code>
+     * @return void
+     */
+    private void applyReload(WorldReloader.Delta delta) {
+        if (delta.hasChangedPorts()) {
+            this.worldTreeModel.setWorld(this.world);
         } else {
-            this.mainTextArea.setText("" + this.world.toString()); // Clear text area first
+            for (SeaPort port : delta.getAffectedPorts()) {
+                this.worldTreeModel.portChanged(port);
+            }
         }
 
+        this.displaySelectedNode();
+        this.loadProgressBar.setString(String.format("Reloaded: %,d added, %,d changed, "
+            + "%,d removed", delta.getAddedCount(), delta.getChangedCount(),
+            delta.getRemovedCount()));
+    }
+
+    /**
+     * Invoked on the event dispatch thread should a change to the watched file not be applicable
+     * incrementally, this method loads the file in full, unless a load is already in progress.
+     *
+     * @return void
+     */
+    private void reloadWorldFile() {
+        if (this.loadWorker == null) {
+            this.loadFile(this.worldFile);
+        }
+    }
+
+    /**
+     * Invoked on the event dispatch thread should the watched file become unreadable, this method
+     * displays the reason on the progress bar. Watching continues, as the file may yet reappear.
+     *
+     * @param message <code>String</code>
+     * @return void
+     */
+    private void displayWatchFailure(String message) {
+        this.loadProgressBar.setString(message);
+    }
+
+    /**
+     * Invoked on the event dispatch thread should a load fail, this method resets the progress bar
+     * and displays the reason for the failure.
+     *
+     * @param message <code>String</code>
+     * @return void
+     */
+    private void displayLoadFailure(String message) {
+        this.loadProgressBar.setValue(0);
+        this.loadProgressBar.setString("Load failed");
+        this.displayErrorPopup(message);
+    }
+
+    /**
+     * Selection handler for the world browser. Renders the selected <code>Thing</code>, and only
+     * that <code>Thing</code>, into the text area. The root <code>World</code> is merely summarized,
+     * as rendering it in full would defeat the purpose of the browser. The running aggregates of
+     * the world, of a port or of a dock are shown above its rendering, costing nothing to read.
+     *
+     * @return void
+     */
+    private void displaySelectedNode() {
+        Object node = this.worldTree.getLastSelectedPathComponent();
+        Aggregates aggregates = null;
+
+        if (node instanceof SeaPort) {
+            aggregates = ((SeaPort) node).getAggregates();
+        } else if (node instanceof Dock) {
+            aggregates = ((Dock) node).getAggregates();
+        }
+
+        if (node instanceof Thing && !(node instanceof World)) {
+            WorldRenderer.renderToTextArea((Thing) node, this.mainTextArea);
+            if (aggregates != null) {
+                this.mainTextArea.insert(aggregates + "\n", 0);
+            }
+            this.mainTextArea.setCaretPosition(0);
+        } else if (node instanceof World) {
+            this.mainTextArea.setText(WorldTreeModel.describe(node) + "\n\n"
+                + ((World) node).getAggregates());
+        } else if (node != null) {
+            this.mainTextArea.setText(WorldTreeModel.describe(node));
+        }
     }
 
     /**
      * Method serves as the handler for clicks of the "Search" button. The method retrieves the
      * user-inputted values for <code>this.searchTextField</code> and
      * <code>this.searchComboBox</code> and makes evaluation decisions based on these options. The
-     * author believes this would be far easier to implement with a set of <code>HashMap</code>s,
-     * but in the interest of preserving professor sanity, simpler, less effective methods have been
-     * employed instead.
+     * author always believed this would be far easier to implement with a set of
+     * <code>HashMap</code>s, and name and index searches are now answered by exactly such a set,
+     * the world's <code>ThingIndex</code>.
      * <br />
      * <br />
      * Initially, there was a fair bit of code repetition contained within the body of the method's
@@ -283,20 +681,24 @@ final class SeaPortProgram extends JFrame {
      * individual methods for optimized reuse. As the operations of both selection by name and also
      * by index are basically the same, they were consolidated into a single operation that
      * passes their index to <code>assembleResults</code>. The index value ultimately determines
-     * which method to be used for comparison, either <code>Thing.class.getIndex</code> or else
+     * which lookup is to be used, either by <code>Thing.class.getIndex</code> or else by
      * <code>Thing.class.getName</code>.
      * <br />
      * <br />
-     * Skill is special, so it gets its own handler within the <code>switch</code> statement, seeing
-     * as skills are encapsulated within <code>Person</code>s and not included within
+     * Skill is special, so it gets its own handler, <code>assembleSkillResults</code>, seeing as
+     * skills are encapsulated within <code>Person</code>s and not included within
      * <code>World.class.allThings</code>.
+     * <br />
+     * <br />
+     * Queries are likewise handed to <code>assembleQueryResults</code>, any syntax error being
+     * reported in an error popup.
      *
      * @return void
      */
     private void searchWorldContents() {
 
         // Prevent users seeking to hit the search button before building da world
-        if (this.world == null || this.scannerContents == null) {
+        if (this.world == null) {
             this.displayErrorPopup("Error: No world initialized. Please try again.");
             return;
         }
@@ -320,17 +722,20 @@ final class SeaPortProgram extends JFrame {
         switch(dropdownSelection) {
             case 0: // By name
             case 1: // By index
-                resultsString = this.assembleResults(dropdownSelection, searchText);
+                resultsString = SeaPortProgram.assembleResults(this.world, dropdownSelection,
+                    searchText);
                 this.displayStatus(resultsString, searchText);
                 break;
             case 2: // By skill
-                for (SeaPort port : this.world.getPorts()) {
-                    for (Person person : port.getPersons()) {
-                        if (person.getSkill().equals(searchText)) {
-                            resultsString += person.getName() + " (id #" + person.getIndex()
-                                + ")\n";
-                        }
-                    }
+                resultsString = SeaPortProgram.assembleSkillResults(this.world, searchText);
+                this.displayStatus(resultsString, searchText);
+                break;
+            case 3: // By query
+                try {
+                    resultsString = this.assembleQueryResults(searchText);
+                } catch (IllegalArgumentException ex) {
+                    this.displayErrorPopup("Error: " + ex.getMessage() + ".");
+                    return;
                 }
                 this.displayStatus(resultsString, searchText);
                 break;
@@ -345,55 +750,109 @@ final class SeaPortProgram extends JFrame {
      * <br />
      * <br />
      * Initially, the author employed a ternary operation within the body of the <code>for</code>
-     * loop to select which method to use to compare with the value of <code>target</code>. However,
-     * to reduce the need to select the same operation each time when the operation is already known
-     * the first time, the author removed this and replaced it in favor of reflection, choosing the
-     * desired method before the loop and invoking that method as desired within. This removed the
-     * needless <code>if</code> operation and slightly improved efficiency.
+     * loop to select which method to use to compare with the value of <code>target</code>, later
+     * replaced by a reflective <code>Method</code> and then a typed <code>Predicate</code>, though
+     * every search still scanned the whole of <code>World.class.allThings</code>. Matches are now
+     * looked up directly in the world's <code>ThingIndex</code>, built as the world was loaded, so
+     * a search costs the same regardless of the size of the world. For index searches, the target
+     * is parsed a single time and looked up as a primitive. A target that is not the canonical form
+     * of an <code>int</code> (i.e. <code>"007"</code>) matches nothing, as was previously the case.
+     * The method is static, taking the world searched, such that the benchmarks may measure the
+     * search exactly as the GUI performs it.
      *
-     * @see java.lang.reflect
+     * @param world <code>World</code> to search
      * @param index The value of <code>this.searchComboBox.getSelectedIndex()</code>
      * @param target The search term inputted by the user
      * @return resultsString The assembled <code>String</code> of search values
      */
-    private String assembleResults(int index, String target) {
+    protected static String assembleResults(World world, int index, String target) {
 
-        // Declarations/definitions
-        Method getParam;
-        String parameter, methodName;
-        String resultsString = "";
+        // Declarations
+        List<Thing> matches;
+        StringBuilder resultsString;
 
-        /**
-         * Compare 1 ternary operation per method invocation vs
-         * <code>World.class.allThings.size()</code> operations per method invocation. Thank the
-         * Java gods for reflection.
-         */
-        methodName = (index == 0) ? "getName" : "getIndex";
+        // Definitions
+        resultsString = new StringBuilder();
+        matches = (index == 0)
+            ? world.getSearchIndex().findByName(target)
+            : SeaPortProgram.findByIndex(world, target);
+
+        for (Thing item : matches) {
+            resultsString.append(item.getName()).append(" ").append(item.getIndex())
+                .append(" (").append(item.getClass().getSimpleName()).append(")\n");
+        }
+        return resultsString.toString();
+    }
+
+    /**
+     * Looks up the <code>Thing</code>s matching an index search. If the target does not round-trip
+     * as an <code>int</code>, nothing matches.
+     *
+     * @param world <code>World</code> to search
+     * @param target The search term inputted by the user
+     * @return <code>List</code>
+     */
+    private static List<Thing> findByIndex(World world, String target) {
+        int targetIndex;
 
         try {
-            // Either Thing.class.getName or Thing.class.getIndex
-            getParam = Thing.class.getDeclaredMethod(methodName);
+            targetIndex = Integer.parseInt(target);
+        } catch (NumberFormatException ex) {
+            return Collections.emptyList();
+        }
 
-            for (Thing item : this.world.getAllThings()) {
+        if (!String.valueOf(targetIndex).equals(target)) {
+            return Collections.emptyList();
+        }
+        return world.getSearchIndex().findByIndex(targetIndex);
+    }
 
-                // Hacky? Yes. But it leaves Strings alone and converts Integers to String
-                parameter = "" + getParam.invoke(item);
+    /**
+     * Assembles the results of a skill search from the world's <code>SkillIndex</code>. Rather
+     * than comparing the skill of every person of every port, the index's matches for each port
+     * are listed in turn, yielding the same results in the same order as the original scan.
+     *
+     * @param world <code>World</code> to search
+     * @param target The skill inputted by the user
+     * @return resultsString The assembled <code>String</code> of search values
+     */
+    protected static String assembleSkillResults(World world, String target) {
+        StringBuilder resultsString = new StringBuilder();
 
-                if (parameter.equals(target)) {
-                    resultsString += item.getName() + " " + item.getIndex() + " ("
-                        + item.getClass().getSimpleName() + ")\n";
-                }
+        for (SeaPort port : world.getPorts()) {
+            for (Person person : world.getSkillIndex().findPersons(port, target)) {
+                resultsString.append(person.getName()).append(" (id #")
+                    .append(person.getIndex()).append(")\n");
             }
-        } catch (
-            NoSuchMethodException |
-            SecurityException |
-            IllegalAccessException |
-            IllegalArgumentException |
-            InvocationTargetException ex
-        ) {
-            System.out.println("Error: " + ex);
         }
-        return resultsString;
+        return resultsString.toString();
+    }
+
+    /**
+     * Compiles and executes a query written in the language of <code>WorldQuery</code>, e.g.
+     * <code>cargo ships where value &gt; 200 and draft &lt; 30 at Lanshan</code>, listing at most
+     * <code>QUERY_RESULT_LIMIT</code> of its matches. The number of matches, the source of
+     * candidates chosen by the query and the time taken are shown on the progress bar.
+     *
+     * @param query The query inputted by the user
+     * @return resultsString The assembled <code>String</code> of search values
+     * @throws IllegalArgumentException If the query is malformed
+     */
+    private String assembleQueryResults(String query) {
+
+        // Declarations
+        WorldQuery worldQuery;
+        List<Thing> matches;
+        long start;
+
+        // Definitions
+        worldQuery = new WorldQuery(query);
+        start = System.nanoTime();
+        matches = worldQuery.execute(this.world);
+
+        this.loadProgressBar.setString(String.format("Query: %,d matches via %s in %.1f ms",
+            matches.size(), worldQuery.getPlan(), (System.nanoTime() - start) / 1e6));
+        return worldQuery.format(matches, SeaPortProgram.QUERY_RESULT_LIMIT);
     }
 
     /**
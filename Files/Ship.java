@@ -4,8 +4,9 @@
  * @author Andrew Eissen
  */
 
-//package project1;
+package project1;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Scanner;
 
@@ -19,8 +20,9 @@ import java.util.Scanner;
  * <br />
  * <br />
  * Interestingly, the Project 1 design rubric makes no mention of what to do with the
- * <code>PortTime</code> values <code>arrivalTime</code> and <code>dockTime</code>, so they are
- * simply included but left untouched.
+ * <code>PortTime</code> values <code>arrivalTime</code> and <code>dockTime</code>, so they were
+ * long included but left untouched. They are now recorded by <code>PortSimulation</code>, which
+ * alone sets them, hence their <code>protected</code> setters.
  * <br />
  * <br />
  * Class extends <code>Thing</code>
@@ -62,23 +64,53 @@ class Ship extends Thing {
         this.setJobs(new ArrayList<>());
     }
 
+    /**
+     * Parameterized constructor, reading the same fields from a <code>FieldSource</code>, i.e. a
+     * reusable <code>FieldTokenizer</code> or a snapshot record, rather than a per-line
+     * <code>Scanner</code>
+     * @param tokenizer <code>FieldSource</code> positioned after the record's keyword
+     */
+    protected Ship(FieldSource tokenizer) {
+        super(tokenizer);
+
+        if (tokenizer.hasNextDouble()) {
+            this.setWeight(tokenizer.nextDouble());
+        }
+
+        if (tokenizer.hasNextDouble()) {
+            this.setLength(tokenizer.nextDouble());
+        }
+
+        if (tokenizer.hasNextDouble()) {
+            this.setWidth(tokenizer.nextDouble());
+        }
+
+        if (tokenizer.hasNextDouble()) {
+            this.setDraft(tokenizer.nextDouble());
+        }
+
+        this.setJobs(new ArrayList<>());
+    }
+
     // Setters
 
     /**
-     * Setter for <code>arrivalTime</code>
+     * Setter for <code>arrivalTime</code>, <code>protected</code> such that a
+     * <code>PortSimulation</code> may record when the ship arrived
      * @param arrivalTime <code>PortTime</code>
      * @return void
      */
-    private void setArrivalTime(PortTime arrivalTime) {
+    protected void setArrivalTime(PortTime arrivalTime) {
         this.arrivalTime = arrivalTime;
     }
 
     /**
-     * Setter for <code>dockTime</code>
+     * Setter for <code>dockTime</code>, <code>protected</code> such that a
+     * <code>PortSimulation</code> may record when the ship docked
      * @param dockTime <code>PortTime</code>
      * @return void
      */
-    private void setDockTime(PortTime dockTime) {
+    protected void setDockTime(PortTime dockTime) {
         this.dockTime = dockTime;
     }
 
@@ -189,24 +221,39 @@ class Ship extends Thing {
 
     /**
      * @inheritdoc
-     * @return stringOutput <code>String</code>
+     * @param output <code>Appendable</code>
+     * @return void
      */
     @Override
-    public String toString() {
-        String stringOutput;
-
-        stringOutput = super.toString() + "\n\tWeight: " + this.getWeight() + "\n\tLength: "
-            + this.getLength() + "\n\tWidth: " + this.getWidth() + "\n\tDraft: " + this.getDraft()
-            + "\n\tJobs:";
+    protected void appendTo(Appendable output) throws IOException {
+        super.appendTo(output);
+        output.append("\n\tWeight: ").append(String.valueOf(this.getWeight()))
+            .append("\n\tLength: ").append(String.valueOf(this.getLength()))
+            .append("\n\tWidth: ").append(String.valueOf(this.getWidth()))
+            .append("\n\tDraft: ").append(String.valueOf(this.getDraft()))
+            .append("\n\tJobs:");
 
         if (this.getJobs().isEmpty()){
-            stringOutput += " None";
+            output.append(" None");
         } else {
             for (Job newJob : this.getJobs()) {
-                stringOutput += "\n" + newJob.toString();
+                output.append("\n");
+                newJob.appendTo(output);
             }
         }
+    }
 
-        return stringOutput;
+    /**
+     * @inheritdoc
+     * @param output <code>SnapshotWriter</code>
+     * @return void
+     */
+    @Override
+    protected void writeFields(SnapshotWriter output) throws IOException {
+        super.writeFields(output);
+        output.writeDouble(this.getWeight());
+        output.writeDouble(this.getLength());
+        output.writeDouble(this.getWidth());
+        output.writeDouble(this.getDraft());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,344 @@
+/**
+ * ShipRangeIndex.java - Class for <code>ShipRangeIndex</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * This class answers range and top-k queries upon the numeric attributes of the world's ships, such
+ * as every ship whose draft lies between 30 and 40, or the ten heaviest cargo ships, without a pass
+ * over every port's ships. It is kept by the <code>World</code>, which adds each ship as it is
+ * linked and removes it as it is unlinked, and consulted by <code>WorldQuery</code>.
+ * <br />
+ * <br />
+ * For each indexed attribute, the index holds a column of two parallel arrays, the attribute's
+ * values as <code>double</code>s in ascending order and the ships bearing them, ties being ordered
+ * by <code>Thing.compareTo</code>. A range is then found by two binary searches of the values, and
+ * its ships returned as a view of the array, such that a range of <code>k</code> ships costs
+ * <code>O(log n)</code> to find and <code>O(k)</code> to read, from either end. Only attributes
+ * fixed for the lifetime of a ship are indexed, i.e. not the number of its jobs.
+ * <br />
+ * <br />
+ * Columns are built lazily, the first time an attribute is queried, and are cached alongside the
+ * modification count at which they were built, much as are the sorted views of a
+ * <code>TrackedList</code>. Linking or unlinking a ship merely moves the count on, so loading a
+ * world costs nothing more, and a column is rebuilt in <code>O(n log n)</code> by the first query
+ * after a change. Like the world itself, the index is not thread-safe.
+ *
+ * @see project1.WorldQuery
+ * @see project1.World
+ * @author Andrew Eissen
+ */
+final class ShipRangeIndex {
+
+    // Names of the attributes indexed, each fixed for the lifetime of a ship
+    private static final List<String> INDEXED_ATTRIBUTES = List.of("weight", "length", "width",
+        "draft", "cargoweight", "cargovolume", "value", "passengers", "rooms", "occupied");
+
+    // Every linked ship, and the number of changes made to the set so far
+    private HashSet<Ship> ships;
+    private int modCount;
+
+    // Cached columns, by attribute
+    private HashMap<QueryAttribute<? extends Thing>, Column> columns;
+
+    /**
+     * Default, no-parameters constructor
+     */
+    protected ShipRangeIndex() {
+        this.ships = new HashSet<>();
+        this.columns = new HashMap<>();
+    }
+
+    // Getter
+
+    /**
+     * @param attribute <code>QueryAttribute</code>
+     * @return <code>true</code> if the attribute is a numeric attribute of ships that is indexed
+     */
+    protected static boolean isIndexed(QueryAttribute<? extends Thing> attribute) {
+        return attribute.isNumeric() && Ship.class.isAssignableFrom(attribute.getThingClass())
+            && INDEXED_ATTRIBUTES.contains(attribute.getName());
+    }
+
+    // Handlers
+
+    /**
+     * @param ship A newly linked <code>Ship</code>
+     * @return void
+     */
+    protected void add(Ship ship) {
+        if (this.ships.add(ship)) {
+            this.modCount++;
+        }
+    }
+
+    /**
+     * @param ship A <code>Ship</code> being unlinked
+     * @return void
+     */
+    protected void remove(Ship ship) {
+        if (this.ships.remove(ship)) {
+            this.modCount++;
+        }
+    }
+
+    /**
+     * Finds every ship whose value of the given attribute lies within the given range. As the
+     * result is ordered by that value, the first or last <code>k</code> elements of the result are
+     * the <code>k</code> least or greatest within the range, the latter most simply read via
+     * <code>reversed()</code>.
+     *
+     * @param attribute An indexed <code>QueryAttribute</code>
+     * @param range <code>Range</code>
+     * @return Unmodifiable <code>List</code>, in ascending order of the attribute, valid until the
+     *     next ship is linked or unlinked
+     * @throws IllegalArgumentException If the attribute is not indexed
+     */
+    protected List<Ship> findInRange(QueryAttribute<? extends Thing> attribute, Range range) {
+
+        // Declarations
+        Column column;
+        int from, to;
+
+        // Definitions
+        column = this.getColumn(attribute);
+        from = (range.lowInclusive)
+            ? ShipRangeIndex.firstAtLeast(column.keys, range.low)
+            : ShipRangeIndex.firstAbove(column.keys, range.low);
+        to = (range.highInclusive)
+            ? ShipRangeIndex.firstAbove(column.keys, range.high)
+            : ShipRangeIndex.firstAtLeast(column.keys, range.high);
+
+        return (to <= from)
+            ? Collections.emptyList()
+            : Collections.unmodifiableList(Arrays.asList(column.ships).subList(from, to));
+    }
+
+    /**
+     * Returns the column of the given attribute, rebuilding it only if a ship has been linked or
+     * unlinked since it was last built.
+     *
+     * @param attribute <code>QueryAttribute</code>
+     * @return <code>Column</code>
+     * @throws IllegalArgumentException If the attribute is not indexed
+     */
+    private Column getColumn(QueryAttribute<? extends Thing> attribute) {
+        Column column;
+
+        if (!ShipRangeIndex.isIndexed(attribute)) {
+            throw new IllegalArgumentException("No range index on " + attribute.getName());
+        }
+
+        column = this.columns.get(attribute);
+        if (column == null || column.modCount != this.modCount) {
+            column = this.buildColumn(attribute);
+            this.columns.put(attribute, column);
+        }
+        return column;
+    }
+
+    /**
+     * Sorts the ships possessing the given attribute by its value, ties being broken by the natural
+     * order of <code>Thing</code> such that every build yields the same column.
+     *
+     * @param attribute An indexed <code>QueryAttribute</code>
+     * @return <code>Column</code>
+     */
+    private Column buildColumn(QueryAttribute<? extends Thing> attribute) {
+
+        // Declarations
+        Ship[] sorted;
+        double[] keys;
+        int count;
+
+        // Definitions
+        sorted = new Ship[this.ships.size()];
+        count = 0;
+
+        for (Ship ship : this.ships) {
+            if (attribute.getThingClass().isInstance(ship)) {
+                sorted[count++] = ship;
+            }
+        }
+
+        sorted = Arrays.copyOf(sorted, count);
+        Arrays.sort(sorted, Comparator.comparingDouble((Ship ship) -> attribute.valueOf(ship))
+            .thenComparing(Comparator.naturalOrder()));
+
+        keys = new double[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = attribute.valueOf(sorted[i]);
+        }
+        return new Column(keys, sorted, this.modCount);
+    }
+
+    /**
+     * @param keys Ascending values
+     * @param value <code>double</code>
+     * @return The position of the first value no less than <code>value</code>
+     */
+    private static int firstAtLeast(double[] keys, double value) {
+        int low = 0;
+        int high = keys.length;
+        int middle;
+
+        while (low < high) {
+            middle = (low + high) >>> 1;
+
+            if (keys[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param keys Ascending values
+     * @param value <code>double</code>
+     * @return The position of the first value greater than <code>value</code>
+     */
+    private static int firstAbove(double[] keys, double value) {
+        int low = 0;
+        int high = keys.length;
+        int middle;
+
+        while (low < high) {
+            middle = (low + high) >>> 1;
+
+            if (keys[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * An interval of values, each of whose bounds may be open or closed. Ranges are immutable, and
+     * are narrowed condition by condition as a query is compiled, starting from <code>ALL</code>.
+     */
+    protected static final class Range {
+
+        // The range of every value
+        protected static final Range ALL = new Range(Double.NEGATIVE_INFINITY, true,
+            Double.POSITIVE_INFINITY, true);
+
+        private final double low;
+        private final boolean lowInclusive;
+        private final double high;
+        private final boolean highInclusive;
+
+        /**
+         * Parameterized constructor
+         * @param low Lower bound
+         * @param lowInclusive <code>true</code> if the lower bound is itself within the range
+         * @param high Upper bound
+         * @param highInclusive <code>true</code> if the upper bound is itself within the range
+         */
+        private Range(double low, boolean lowInclusive, double high, boolean highInclusive) {
+            this.low = low;
+            this.lowInclusive = lowInclusive;
+            this.high = high;
+            this.highInclusive = highInclusive;
+        }
+
+        /**
+         * @return The lower bound, whether or not itself within the range
+         */
+        protected double getLow() {
+            return this.low;
+        }
+
+        /**
+         * @return The upper bound, whether or not itself within the range
+         */
+        protected double getHigh() {
+            return this.high;
+        }
+
+        /**
+         * Narrows the range by a condition, i.e. <code>&gt;= 30</code>.
+         *
+         * @param operator One of <code>= &lt; &lt;= &gt; &gt;=</code>
+         * @param value Operand
+         * @return The narrowed <code>Range</code>, or <code>null</code> if the operator bounds no
+         *     range, i.e. <code>!=</code>
+         */
+        protected Range narrow(String operator, double value) {
+            switch (operator) {
+                case "=":
+                    return this.above(value, true).below(value, true);
+                case "<":
+                    return this.below(value, false);
+                case "<=":
+                    return this.below(value, true);
+                case ">":
+                    return this.above(value, false);
+                case ">=":
+                    return this.above(value, true);
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * @param value Lower bound
+         * @param inclusive <code>true</code> if the bound is itself within the range
+         * @return The narrower of this range and that above the bound
+         */
+        private Range above(double value, boolean inclusive) {
+            if (value < this.low || (value == this.low && (inclusive || !this.lowInclusive))) {
+                return this;
+            }
+            return new Range(value, inclusive, this.high, this.highInclusive);
+        }
+
+        /**
+         * @param value Upper bound
+         * @param inclusive <code>true</code> if the bound is itself within the range
+         * @return The narrower of this range and that below the bound
+         */
+        private Range below(double value, boolean inclusive) {
+            if (value > this.high || (value == this.high && (inclusive || !this.highInclusive))) {
+                return this;
+            }
+            return new Range(this.low, this.lowInclusive, value, inclusive);
+        }
+    }
+
+    /**
+     * The ships possessing an attribute in ascending order of its value, the values themselves,
+     * and the modification count at which they were sorted.
+     */
+    private static final class Column {
+
+        private final double[] keys;
+        private final Ship[] ships;
+        private final int modCount;
+
+        /**
+         * Parameterized constructor
+         * @param keys Ascending values
+         * @param ships Ships bearing each value
+         * @param modCount Modification count of the index when sorted
+         */
+        private Column(double[] keys, Ship[] ships, int modCount) {
+            this.keys = keys;
+            this.ships = ships;
+            this.modCount = modCount;
+        }
+    }
+}
@@ -0,0 +1,606 @@
+/**
+ * ShipSpatialIndex.java - Class for <code>ShipSpatialIndex</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * This class answers nearest-neighbour and box queries upon the dimensions of the world's ships,
+ * i.e. their length, width, draft and weight, as when seeking the ships most like one being moved
+ * between berths. Each ship, whether a <code>CargoShip</code> or a <code>PassengerShip</code>, is a
+ * point in four dimensions, and the index a k-d tree over those points, such that both queries
+ * cost time logarithmic in the number of ships for all but the most unusual of worlds, in place
+ * of a pass comparing every pair of ships. Like the <code>ShipRangeIndex</code>, it is kept by the
+ * <code>World</code> as ships are linked and unlinked, and consulted by <code>WorldQuery</code>.
+ * <br />
+ * <br />
+ * As the dimensions are measured in different units and over very different ranges, distances are
+ * measured after scaling each dimension by the span of its values across the indexed ships, such
+ * that a difference of a tenth of the span of weights counts as much as a tenth of the span of
+ * drafts. Box queries, by contrast, are given in the dimensions' own units.
+ * <br />
+ * <br />
+ * The tree is implicit, held in flat arrays of coordinates and ships, each subtree occupying a
+ * contiguous slice whose middle element is its root. It is built by partitioning each slice about
+ * the median of the dimension in which the slice's points are most spread, via quickselect, in
+ * <code>O(n log n)</code> time and without a node object per ship, so millions of ships cost only
+ * the arrays themselves. As with the columns of the <code>ShipRangeIndex</code>, the tree is built
+ * lazily, by the first query after a ship is linked or unlinked, and cached until the next such
+ * change. The index is not thread-safe.
+ *
+ * @see project1.WorldQuery
+ * @see project1.World
+ * @author Andrew Eissen
+ */
+final class ShipSpatialIndex {
+
+    // Names of the dimensions, in the order of the coordinates of each point
+    protected static final List<String> DIMENSIONS = List.of("length", "width", "draft", "weight");
+
+    // Every linked ship, and the number of changes made to the set so far
+    private HashSet<Ship> ships;
+    private int modCount;
+
+    // Cached tree, if built
+    private Tree tree;
+
+    /**
+     * Default, no-parameters constructor
+     */
+    protected ShipSpatialIndex() {
+        this.ships = new HashSet<>();
+    }
+
+    // Getter
+
+    /**
+     * @param attribute <code>QueryAttribute</code>
+     * @return The position of the attribute among <code>DIMENSIONS</code>, or <code>-1</code> if
+     *     the attribute is not a dimension of ships
+     */
+    protected static int dimensionOf(QueryAttribute<? extends Thing> attribute) {
+        return Ship.class.isAssignableFrom(attribute.getThingClass())
+            ? DIMENSIONS.indexOf(attribute.getName())
+            : -1;
+    }
+
+    // Handlers
+
+    /**
+     * @param ship A newly linked <code>Ship</code>
+     * @return void
+     */
+    protected void add(Ship ship) {
+        if (this.ships.add(ship)) {
+            this.modCount++;
+        }
+    }
+
+    /**
+     * @param ship A <code>Ship</code> being unlinked
+     * @return void
+     */
+    protected void remove(Ship ship) {
+        if (this.ships.remove(ship)) {
+            this.modCount++;
+        }
+    }
+
+    /**
+     * Finds the ships whose dimensions are nearest those of the given ship, which is itself
+     * excluded whether indexed or not. Ships equally distant are ordered by the natural order of
+     * <code>Thing</code>.
+     *
+     * @param target <code>Ship</code>
+     * @param count The greatest number of ships to find
+     * @param filter <code>Predicate</code> that each ship found must satisfy
+     * @return <code>List</code>, nearest first
+     */
+    protected List<Ship> findNearest(Ship target, int count, Predicate<? super Ship> filter) {
+        return this.getTree().findNearest(ShipSpatialIndex.coordinatesOf(target), count,
+            (Ship ship) -> ship != target && filter.test(ship));
+    }
+
+    /**
+     * Finds every ship whose dimensions lie within the given box, bounds included. Either bound of
+     * a dimension may be infinite, leaving the dimension unbounded on that side.
+     *
+     * @param low Lower bound of each dimension, in the order of <code>DIMENSIONS</code>
+     * @param high Upper bound of each dimension, in the order of <code>DIMENSIONS</code>
+     * @return <code>List</code>, in no particular order
+     */
+    protected List<Ship> findWithin(double[] low, double[] high) {
+        return this.getTree().findWithin(low, high);
+    }
+
+    /**
+     * Returns the tree, rebuilding it only if a ship has been linked or unlinked since it was last
+     * built.
+     *
+     * @return <code>Tree</code>
+     */
+    private Tree getTree() {
+        if (this.tree == null || this.tree.modCount != this.modCount) {
+            this.tree = new Tree(this.ships.toArray(new Ship[0]), this.modCount);
+        }
+        return this.tree;
+    }
+
+    /**
+     * @param ship <code>Ship</code>
+     * @return The ship's coordinates, in the order of <code>DIMENSIONS</code>
+     */
+    private static double[] coordinatesOf(Ship ship) {
+        return new double[] {ship.getLength(), ship.getWidth(), ship.getDraft(), ship.getWeight()};
+    }
+
+    /**
+     * An implicit k-d tree over a fixed set of ships. The coordinates of the ship at position
+     * <code>i</code> are held at positions <code>i * DIMENSIONS.size()</code> onward of
+     * <code>coordinates</code>, and the dimension by which the subtree rooted there is split at
+     * position <code>i</code> of <code>splits</code>.
+     */
+    private static final class Tree {
+
+        private static final int D = DIMENSIONS.size();
+
+        private final Ship[] ships;
+        private final double[] coordinates;
+        private final byte[] splits;
+        private final double[] scales;
+        private final int modCount;
+
+        /**
+         * Parameterized constructor, building the tree
+         * @param ships The ships to index, in any order, which the tree then owns
+         * @param modCount Modification count of the index when built
+         */
+        private Tree(Ship[] ships, int modCount) {
+            double[] point;
+            double spread;
+
+            this.ships = ships;
+            this.coordinates = new double[ships.length * D];
+            this.splits = new byte[ships.length];
+            this.scales = new double[D];
+            this.modCount = modCount;
+
+            for (int i = 0; i < ships.length; i++) {
+                point = ShipSpatialIndex.coordinatesOf(ships[i]);
+                System.arraycopy(point, 0, this.coordinates, i * D, D);
+            }
+
+            // Dimensions in which every ship is alike are left unscaled
+            for (int d = 0; d < D; d++) {
+                spread = this.spread(0, ships.length, d);
+                this.scales[d] = (spread > 0) ? 1 / spread : 1;
+            }
+            this.build(0, ships.length);
+        }
+
+        /**
+         * Partitions the slice <code>[low, high)</code> about the median of its widest dimension,
+         * and each half in turn.
+         *
+         * @param low First position of the slice
+         * @param high Position after the last of the slice
+         * @return void
+         */
+        private void build(int low, int high) {
+            int middle;
+            int widest = 0;
+            double widestSpread = -1;
+            double spread;
+
+            if (high - low < 2) {
+                return;
+            }
+
+            for (int d = 0; d < D; d++) {
+                spread = this.spread(low, high, d) * this.scales[d];
+
+                if (spread > widestSpread) {
+                    widest = d;
+                    widestSpread = spread;
+                }
+            }
+
+            middle = (low + high) >>> 1;
+            this.select(low, high - 1, middle, widest);
+            this.splits[middle] = (byte) widest;
+            this.build(low, middle);
+            this.build(middle + 1, high);
+        }
+
+        /**
+         * @param low First position of the slice
+         * @param high Position after the last of the slice
+         * @param d Dimension
+         * @return The difference between the greatest and least coordinates of the slice
+         */
+        private double spread(int low, int high, int d) {
+            double least = Double.POSITIVE_INFINITY;
+            double greatest = Double.NEGATIVE_INFINITY;
+
+            for (int i = low; i < high; i++) {
+                least = Math.min(least, this.coordinate(i, d));
+                greatest = Math.max(greatest, this.coordinate(i, d));
+            }
+            return (high > low) ? greatest - least : 0;
+        }
+
+        /**
+         * Quickselect, rearranging the slice <code>[left, right]</code> such that the point at
+         * position <code>k</code> is preceded by no greater coordinate of dimension <code>d</code>
+         * and followed by no lesser. Points equal to the pivot are divided between both sides,
+         * such that coordinates shared by many ships cost no more to partition than any others.
+         *
+         * @param left First position of the slice
+         * @param right Last position of the slice
+         * @param k Position to select
+         * @param d Dimension
+         * @return void
+         */
+        private void select(int left, int right, int k, int d) {
+            int i, j;
+            double pivot;
+
+            while (right > left) {
+                pivot = this.medianOfThree(left, (left + right) >>> 1, right, d);
+                i = left;
+                j = right;
+
+                while (i <= j) {
+                    while (this.coordinate(i, d) < pivot) {
+                        i++;
+                    }
+                    while (this.coordinate(j, d) > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        this.swap(i++, j--);
+                    }
+                }
+
+                if (k <= j) {
+                    right = j;
+                } else if (k >= i) {
+                    left = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Finds the nearest points to the given one satisfying the filter, keeping the best found
+         * so far in a bounded heap and skipping every subtree that cannot hold a nearer point. The
+         * heap is sized to the lesser of the count and the number of ships, as the count is that
+         * typed by the user and may be arbitrarily large.
+         *
+         * @param point Coordinates
+         * @param count The greatest number of ships to find
+         * @param filter <code>Predicate</code>
+         * @return <code>List</code>, nearest first
+         */
+        private List<Ship> findNearest(double[] point, int count, Predicate<? super Ship> filter) {
+            Nearest nearest = new Nearest(Math.min(count, this.ships.length));
+
+            this.searchNearest(0, this.ships.length, point, filter, nearest);
+            return nearest.toList(this.ships);
+        }
+
+        /**
+         * @param low First position of the slice
+         * @param high Position after the last of the slice
+         * @param point Coordinates
+         * @param filter <code>Predicate</code>
+         * @param nearest The best found so far
+         * @return void
+         */
+        private void searchNearest(int low, int high, double[] point,
+                Predicate<? super Ship> filter, Nearest nearest) {
+
+            // Declarations
+            int middle, d;
+            double offset;
+
+            if (low >= high) {
+                return;
+            }
+
+            // Definitions
+            middle = (low + high) >>> 1;
+            d = this.splits[middle];
+            offset = (point[d] - this.coordinate(middle, d)) * this.scales[d];
+
+            if (filter.test(this.ships[middle])) {
+                nearest.offer(middle, this.distance(middle, point), this.ships);
+            }
+
+            // Search the side of the split holding the point first, and the other only if needed
+            if (offset < 0) {
+                this.searchNearest(low, middle, point, filter, nearest);
+                if (nearest.admits(offset * offset)) {
+                    this.searchNearest(middle + 1, high, point, filter, nearest);
+                }
+            } else {
+                this.searchNearest(middle + 1, high, point, filter, nearest);
+                if (nearest.admits(offset * offset)) {
+                    this.searchNearest(low, middle, point, filter, nearest);
+                }
+            }
+        }
+
+        /**
+         * @param low Lower bound of each dimension
+         * @param high Upper bound of each dimension
+         * @return <code>List</code>
+         */
+        private List<Ship> findWithin(double[] low, double[] high) {
+            ArrayList<Ship> found = new ArrayList<>();
+
+            this.searchWithin(0, this.ships.length, low, high, found);
+            return found;
+        }
+
+        /**
+         * @param from First position of the slice
+         * @param to Position after the last of the slice
+         * @param low Lower bound of each dimension
+         * @param high Upper bound of each dimension
+         * @param found Ships found so far
+         * @return void
+         */
+        private void searchWithin(int from, int to, double[] low, double[] high,
+                ArrayList<Ship> found) {
+
+            // Declarations
+            int middle, d;
+            boolean inside;
+
+            if (from >= to) {
+                return;
+            }
+
+            // Definitions
+            middle = (from + to) >>> 1;
+            d = this.splits[middle];
+            inside = true;
+
+            for (int e = 0; e < D && inside; e++) {
+                inside = this.coordinate(middle, e) >= low[e]
+                    && this.coordinate(middle, e) <= high[e];
+            }
+            if (inside) {
+                found.add(this.ships[middle]);
+            }
+
+            if (low[d] <= this.coordinate(middle, d)) {
+                this.searchWithin(from, middle, low, high, found);
+            }
+            if (high[d] >= this.coordinate(middle, d)) {
+                this.searchWithin(middle + 1, to, low, high, found);
+            }
+        }
+
+        /**
+         * @param i Position of a point
+         * @param point Coordinates
+         * @return The squared scaled distance between the two
+         */
+        private double distance(int i, double[] point) {
+            double sum = 0;
+            double difference;
+
+            for (int d = 0; d < D; d++) {
+                difference = (point[d] - this.coordinate(i, d)) * this.scales[d];
+                sum += difference * difference;
+            }
+            return sum;
+        }
+
+        /**
+         * @param i Position of a point
+         * @param d Dimension
+         * @return The point's coordinate in the dimension
+         */
+        private double coordinate(int i, int d) {
+            return this.coordinates[i * D + d];
+        }
+
+        /**
+         * @param a Position of a point
+         * @param b Position of a point
+         * @param c Position of a point
+         * @param d Dimension
+         * @return The median of the three points' coordinates in the dimension
+         */
+        private double medianOfThree(int a, int b, int c, int d) {
+            double x = this.coordinate(a, d);
+            double y = this.coordinate(b, d);
+            double z = this.coordinate(c, d);
+
+            return Math.max(Math.min(x, y), Math.min(Math.max(x, y), z));
+        }
+
+        /**
+         * @param a Position of a point
+         * @param b Position of a point
+         * @return void
+         */
+        private void swap(int a, int b) {
+            Ship ship = this.ships[a];
+            double coordinate;
+
+            this.ships[a] = this.ships[b];
+            this.ships[b] = ship;
+
+            for (int d = 0; d < D; d++) {
+                coordinate = this.coordinates[a * D + d];
+                this.coordinates[a * D + d] = this.coordinates[b * D + d];
+                this.coordinates[b * D + d] = coordinate;
+            }
+        }
+    }
+
+    /**
+     * A binary max-heap of the nearest points found so far, by position within the tree, holding
+     * at most a fixed number of points. The root is the farthest, ties being broken by the natural
+     * order of <code>Thing</code> such that the points kept do not depend on the order of search.
+     */
+    private static final class Nearest {
+
+        private final int[] positions;
+        private final double[] distances;
+        private int size;
+
+        /**
+         * Parameterized constructor
+         * @param capacity The greatest number of points to keep
+         */
+        private Nearest(int capacity) {
+            this.positions = new int[capacity];
+            this.distances = new double[capacity];
+        }
+
+        /**
+         * @param distance Squared scaled distance
+         * @return <code>true</code> if a point at that distance could yet be kept
+         */
+        private boolean admits(double distance) {
+            return this.size < this.positions.length
+                || (this.size > 0 && distance <= this.distances[0]);
+        }
+
+        /**
+         * Keeps the given point should it be nearer than the farthest kept, or should fewer than
+         * the capacity be kept.
+         *
+         * @param position Position of the point within the tree
+         * @param distance Squared scaled distance
+         * @param ships Ships of the tree
+         * @return void
+         */
+        private void offer(int position, double distance, Ship[] ships) {
+            if (this.size < this.positions.length) {
+                this.positions[this.size] = position;
+                this.distances[this.size] = distance;
+                this.siftUp(this.size++, ships);
+            } else if (this.size > 0
+                    && Nearest.isFarther(this.distances[0], ships[this.positions[0]], distance,
+                        ships[position])) {
+                this.positions[0] = position;
+                this.distances[0] = distance;
+                this.siftDown(0, ships);
+            }
+        }
+
+        /**
+         * Empties the heap into a list, nearest first.
+         *
+         * @param ships Ships of the tree
+         * @return <code>List</code>
+         */
+        private List<Ship> toList(Ship[] ships) {
+            Ship[] sorted = new Ship[this.size];
+
+            for (int i = this.size - 1; i >= 0; i--) {
+                sorted[i] = ships[this.positions[0]];
+                this.size--;
+                this.positions[0] = this.positions[this.size];
+                this.distances[0] = this.distances[this.size];
+                this.siftDown(0, ships);
+            }
+            return Arrays.asList(sorted);
+        }
+
+        /**
+         * @param i Position within the heap
+         * @param ships Ships of the tree
+         * @return void
+         */
+        private void siftUp(int i, Ship[] ships) {
+            int parent;
+
+            while (i > 0) {
+                parent = (i - 1) >>> 1;
+
+                if (!this.isFarther(i, parent, ships)) {
+                    return;
+                }
+                this.swap(i, parent);
+                i = parent;
+            }
+        }
+
+        /**
+         * @param i Position within the heap
+         * @param ships Ships of the tree
+         * @return void
+         */
+        private void siftDown(int i, Ship[] ships) {
+            int child;
+
+            while ((child = 2 * i + 1) < this.size) {
+                if (child + 1 < this.size && this.isFarther(child + 1, child, ships)) {
+                    child++;
+                }
+                if (!this.isFarther(child, i, ships)) {
+                    return;
+                }
+                this.swap(i, child);
+                i = child;
+            }
+        }
+
+        /**
+         * @param a Position within the heap
+         * @param b Position within the heap
+         * @param ships Ships of the tree
+         * @return <code>true</code> if the point at <code>a</code> is farther than that at
+         *     <code>b</code>
+         */
+        private boolean isFarther(int a, int b, Ship[] ships) {
+            return Nearest.isFarther(this.distances[a], ships[this.positions[a]],
+                this.distances[b], ships[this.positions[b]]);
+        }
+
+        /**
+         * @param distance Squared scaled distance of the first ship
+         * @param ship The first ship
+         * @param otherDistance Squared scaled distance of the second ship
+         * @param other The second ship
+         * @return <code>true</code> if the first ship is the farther, or equally far and later in
+         *     the natural order of <code>Thing</code>
+         */
+        private static boolean isFarther(double distance, Ship ship, double otherDistance,
+                Ship other) {
+            return distance > otherDistance
+                || (distance == otherDistance && ship.compareTo(other) > 0);
+        }
+
+        /**
+         * @param a Position within the heap
+         * @param b Position within the heap
+         * @return void
+         */
+        private void swap(int a, int b) {
+            int position = this.positions[a];
+            double distance = this.distances[a];
+
+            this.positions[a] = this.positions[b];
+            this.distances[a] = this.distances[b];
+            this.positions[b] = position;
+            this.distances[b] = distance;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/**
+ * SkillIndex.java - Class for <code>SkillIndex</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * This class relates skills to the <code>Person</code>s possessing them and to the
+ * <code>Job</code>s requiring them, both across the whole <code>World</code> and within each
+ * <code>SeaPort</code>. It is filled by the <code>World</code> as each person and job is linked, at
+ * which point the port to which each belongs is known, so skill searches no longer walk every
+ * person of every port.
+ * <br />
+ * <br />
+ * The per-port tables also allow questions spanning both kinds of record to be answered without a
+ * scan, i.e. which of a port's jobs require a skill that nobody at that port possesses, via
+ * <code>findUnstaffableJobs</code>. Ports are held by identity, as is the case for every
+ * <code>Thing</code>.
+ * <br />
+ * <br />
+ * Each table is indexed directly by <code>SkillTable</code> identifier rather than hashed by skill
+ * name, and the tables of the port most recently indexed are kept at hand, as a port's records
+ * tend to be linked together. Indexing a job thus costs little more than appending it to one list
+ * per requirement. Persons and jobs unlinked from a live world are removed again in turn.
+ *
+ * @see project1.World
+ * @author Andrew Eissen
+ */
+final class SkillIndex {
+
+    // World-wide tables
+    private SkillLists<Person> personsBySkill;
+    private SkillLists<Job> jobsBySkill;
+
+    // Per-port tables, and those of the port most recently indexed
+    private HashMap<SeaPort, PortSkills> portSkills;
+    private SeaPort lastPort;
+    private PortSkills lastPortSkills;
+
+    /**
+     * Default, no-parameters constructor
+     */
+    protected SkillIndex() {
+        this.personsBySkill = new SkillLists<>();
+        this.jobsBySkill = new SkillLists<>();
+        this.portSkills = new HashMap<>();
+    }
+
+    // Handlers
+
+    /**
+     * Indexes a newly linked <code>Person</code> by its skill.
+     *
+     * @param port The <code>SeaPort</code> at which the person works
+     * @param person <code>Person</code>
+     * @return void
+     */
+    protected void addPerson(SeaPort port, Person person) {
+        this.personsBySkill.add(person.getSkillId(), person);
+        this.getPortSkills(port).personsBySkill.add(person.getSkillId(), person);
+    }
+
+    /**
+     * Indexes a newly linked <code>Job</code> by each of its requirements. A job listing the same
+     * requirement more than once is indexed under that skill only once.
+     *
+     * @param port The <code>SeaPort</code> of the job's ship
+     * @param job <code>Job</code>
+     * @return void
+     */
+    protected void addJob(SeaPort port, Job job) {
+        PortSkills skills = this.getPortSkills(port);
+        int[] requirements = job.getRequirementIds();
+
+        for (int i = 0; i < requirements.length; i++) {
+            if (job.hasRepeatedRequirements() && SkillIndex.occursBefore(requirements, i)) {
+                continue;
+            }
+            this.jobsBySkill.add(requirements[i], job);
+            skills.jobsBySkill.add(requirements[i], job);
+        }
+    }
+
+    /**
+     * Removes a <code>Person</code> being unlinked from the index.
+     *
+     * @param port The <code>SeaPort</code> at which the person worked
+     * @param person <code>Person</code>
+     * @return void
+     */
+    protected void removePerson(SeaPort port, Person person) {
+        this.personsBySkill.remove(person.getSkillId(), person);
+        this.getPortSkills(port).personsBySkill.remove(person.getSkillId(), person);
+    }
+
+    /**
+     * Removes a <code>Job</code> being unlinked from the index, under each of its requirements.
+     *
+     * @param port The <code>SeaPort</code> of the job's ship
+     * @param job <code>Job</code>
+     * @return void
+     */
+    protected void removeJob(SeaPort port, Job job) {
+        PortSkills skills = this.getPortSkills(port);
+        int[] requirements = job.getRequirementIds();
+
+        for (int i = 0; i < requirements.length; i++) {
+            if (job.hasRepeatedRequirements() && SkillIndex.occursBefore(requirements, i)) {
+                continue;
+            }
+            this.jobsBySkill.remove(requirements[i], job);
+            skills.jobsBySkill.remove(requirements[i], job);
+        }
+    }
+
+    /**
+     * @param skill <code>String</code>
+     * @return Every <code>Person</code> in the world possessing the skill, in order of linking
+     */
+    protected List<Person> findPersons(String skill) {
+        return this.personsBySkill.get(SkillTable.idOf(skill));
+    }
+
+    /**
+     * @param port <code>SeaPort</code>
+     * @param skill <code>String</code>
+     * @return Every <code>Person</code> at the port possessing the skill, in order of linking
+     */
+    protected List<Person> findPersons(SeaPort port, String skill) {
+        PortSkills skills = this.portSkills.get(port);
+
+        return (skills == null)
+            ? Collections.emptyList()
+            : skills.personsBySkill.get(SkillTable.idOf(skill));
+    }
+
+    /**
+     * @param skill <code>String</code>
+     * @return Every <code>Job</code> in the world requiring the skill, in order of linking
+     */
+    protected List<Job> findJobs(String skill) {
+        return this.jobsBySkill.get(SkillTable.idOf(skill));
+    }
+
+    /**
+     * @param port <code>SeaPort</code>
+     * @param skill <code>String</code>
+     * @return Every <code>Job</code> at the port requiring the skill, in order of linking
+     */
+    protected List<Job> findJobs(SeaPort port, String skill) {
+        PortSkills skills = this.portSkills.get(port);
+
+        return (skills == null)
+            ? Collections.emptyList()
+            : skills.jobsBySkill.get(SkillTable.idOf(skill));
+    }
+
+    /**
+     * Finds the jobs at the given port that require at least one skill which no person at that
+     * port possesses, and which therefore can never be staffed from the port's own workforce. Only
+     * the distinct skills required at the port are examined, not its jobs or persons.
+     *
+     * @param port <code>SeaPort</code>
+     * @return The unstaffable <code>Job</code>s, without duplicates
+     */
+    protected List<Job> findUnstaffableJobs(SeaPort port) {
+
+        // Declarations
+        PortSkills skills;
+        LinkedHashSet<Job> unstaffable;
+
+        // Definitions
+        skills = this.portSkills.get(port);
+        unstaffable = new LinkedHashSet<>();
+
+        if (skills == null) {
+            return Collections.emptyList();
+        }
+
+        for (int skill = 0; skill < skills.jobsBySkill.size(); skill++) {
+            if (skills.personsBySkill.get(skill).isEmpty()) {
+                unstaffable.addAll(skills.jobsBySkill.get(skill));
+            }
+        }
+        return new ArrayList<>(unstaffable);
+    }
+
+    /**
+     * @param port <code>SeaPort</code>
+     * @return The port's tables, created if not yet present
+     */
+    private PortSkills getPortSkills(SeaPort port) {
+        if (port != this.lastPort) {
+            this.lastPortSkills = this.portSkills.computeIfAbsent(port,
+                (SeaPort newPort) -> new PortSkills());
+            this.lastPort = port;
+        }
+        return this.lastPortSkills;
+    }
+
+    /**
+     * @param requirements Skill identifiers
+     * @param index Position within <code>requirements</code>
+     * @return <code>true</code> if the identifier at <code>index</code> also appears before it
+     */
+    private static boolean occursBefore(int[] requirements, int index) {
+        for (int i = 0; i < index; i++) {
+            if (requirements[i] == requirements[index]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A table of lists indexed by skill identifier, grown as new skills are encountered.
+     *
+     * @param <T> extends <code>Thing</code>
+     */
+    private static final class SkillLists<T extends Thing> {
+
+        private final ArrayList<ArrayList<T>> lists = new ArrayList<>();
+
+        /**
+         * @param skill Skill identifier
+         * @param thing <code>T</code>
+         * @return void
+         */
+        private void add(int skill, T thing) {
+            while (this.lists.size() <= skill) {
+                this.lists.add(null);
+            }
+
+            if (this.lists.get(skill) == null) {
+                this.lists.set(skill, new ArrayList<>());
+            }
+            this.lists.get(skill).add(thing);
+        }
+
+        /**
+         * @param skill Skill identifier
+         * @param thing <code>T</code>
+         * @return void
+         */
+        private void remove(int skill, T thing) {
+            if (skill < this.lists.size() && this.lists.get(skill) != null) {
+                this.lists.get(skill).remove(thing);
+            }
+        }
+
+        /**
+         * @param skill Skill identifier, or <code>-1</code>
+         * @return A read-only view of the skill's list, possibly empty
+         */
+        private List<T> get(int skill) {
+            return (skill < 0 || skill >= this.lists.size() || this.lists.get(skill) == null)
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(this.lists.get(skill));
+        }
+
+        /**
+         * @return One more than the highest skill identifier held
+         */
+        private int size() {
+            return this.lists.size();
+        }
+    }
+
+    /**
+     * The skill tables of a single <code>SeaPort</code>.
+     */
+    private static final class PortSkills {
+
+        private final SkillLists<Person> personsBySkill = new SkillLists<>();
+        private final SkillLists<Job> jobsBySkill = new SkillLists<>();
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * SkillSet.java - Class for <code>SkillSet</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.Arrays;
+
+/**
+ * This class is a compact set of skills, held as a bitset over the identifiers assigned by
+ * <code>SkillTable</code>. As the project's files name only a handful of distinct skills, a set
+ * usually occupies a single <code>long</code>, and testing whether one set contains another, i.e.
+ * whether the skills available at a port cover those required by a job, is a single bitwise
+ * operation per 64 skills.
+ * <br />
+ * <br />
+ * Instances are not thread-safe. Those held by a <code>Job</code> are built once and never
+ * modified.
+ *
+ * @see project1.SkillTable
+ * @author Andrew Eissen
+ */
+final class SkillSet {
+
+    // Shared by every empty set to avoid allocating
+    private static final long[] NO_WORDS = new long[0];
+
+    // Bits of the set, skill <code>id</code> being bit <code>id % 64</code> of word
+    // <code>id / 64</code>; trailing words may be zero
+    private long[] words;
+
+    /**
+     * Default, no-parameters constructor, creating an empty set
+     */
+    protected SkillSet() {
+        this.words = NO_WORDS;
+    }
+
+    /**
+     * Parameterized constructor, creating a set containing each of the given skills
+     * @param ids Skill identifiers, possibly repeated
+     */
+    protected SkillSet(int[] ids) {
+        this();
+        for (int id : ids) {
+            this.add(id);
+        }
+    }
+
+    // Handlers
+
+    /**
+     * @param id Skill identifier
+     * @return void
+     */
+    protected void add(int id) {
+        int word = id >>> 6;
+
+        if (word >= this.words.length) {
+            this.words = Arrays.copyOf(this.words, word + 1);
+        }
+        this.words[word] |= 1L << id;
+    }
+
+    /**
+     * @param id Skill identifier
+     * @return void
+     */
+    protected void remove(int id) {
+        int word = id >>> 6;
+
+        if (word < this.words.length) {
+            this.words[word] &= ~(1L << id);
+        }
+    }
+
+    /**
+     * @param id Skill identifier
+     * @return <code>true</code> if the set contains the skill
+     */
+    protected boolean contains(int id) {
+        int word = id >>> 6;
+
+        return id >= 0 && word < this.words.length && (this.words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * @param other <code>SkillSet</code>
+     * @return <code>true</code> if every skill of <code>other</code> is also in this set
+     */
+    protected boolean containsAll(SkillSet other) {
+        long available;
+
+        for (int i = 0; i < other.words.length; i++) {
+            available = (i < this.words.length) ? this.words[i] : 0L;
+            if ((other.words[i] & ~available) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if the set contains no skills
+     */
+    protected boolean isEmpty() {
+        for (long word : this.words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Overridden method
+
+    /**
+     * @inheritdoc
+     * @return The names of the set's skills, in order of identifier
+     */
+    @Override
+    public String toString() {
+        StringBuilder output = new StringBuilder("[");
+
+        for (int i = 0; i < this.words.length * 64; i++) {
+            if (this.contains(i)) {
+                output.append((output.length() == 1) ? "" : ", ").append(SkillTable.nameOf(i));
+            }
+        }
+        return output.append("]").toString();
+    }
+}
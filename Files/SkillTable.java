@@ -0,0 +1,112 @@
+/**
+ * SkillTable.java - Class for the global <code>SkillTable</code> symbol table
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class interns the skills named by <code>Person</code> and <code>Job</code> records into a
+ * small, dense range of <code>int</code> identifiers beginning at zero. Each distinct skill is
+ * stored exactly once, no matter how many of the potentially millions of jobs require it, and the
+ * identifiers double as bit positions within a <code>SkillSet</code>, such that comparing the
+ * skills required by a job against those available at a port need not compare any
+ * <code>String</code>s.
+ * <br />
+ * <br />
+ * The table is shared by every <code>World</code>, as the number of distinct skills is small, and
+ * is safe for use from multiple threads, as records may be parsed in parallel. Looking up a skill
+ * already present, by name or by identifier, takes no lock; only the registration of a new skill
+ * is synchronized. Identifiers are never reused or removed.
+ *
+ * @see project1.SkillSet
+ * @author Andrew Eissen
+ */
+final class SkillTable {
+
+    // Identifiers of every interned skill
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<>();
+
+    // Names of every interned skill, indexed by identifier; replaced whenever it grows
+    private static volatile String[] names = new String[16];
+
+    // Number of interned skills, guarded by the class lock
+    private static int count;
+
+    /**
+     * Private constructor, as the class holds only <code>static</code> members
+     */
+    private SkillTable() {}
+
+    // Handlers
+
+    /**
+     * Returns the identifier of the given skill, registering it first if it has not been seen
+     * before.
+     *
+     * @param skill <code>String</code>
+     * @return The skill's identifier
+     */
+    protected static int intern(String skill) {
+        Integer id = IDS.get(skill);
+
+        return (id == null) ? SkillTable.register(skill) : id;
+    }
+
+    /**
+     * @param skill <code>String</code>
+     * @return The skill's identifier, or <code>-1</code> if it has never been interned
+     */
+    protected static int idOf(String skill) {
+        Integer id = IDS.get(skill);
+
+        return (id == null) ? -1 : id;
+    }
+
+    /**
+     * @param id An identifier returned by <code>intern</code>
+     * @return The canonical name of the skill
+     */
+    protected static String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * @return The number of skills interned so far, one more than the highest identifier
+     */
+    protected static synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Registers a new skill. The name is published, via the <code>volatile</code> write to
+     * <code>names</code>, before the identifier is made visible in <code>IDS</code>, so a thread
+     * obtaining an identifier from <code>intern</code> or <code>idOf</code> may always resolve it
+     * via <code>nameOf</code>.
+     *
+     * @param skill <code>String</code>
+     * @return The skill's identifier
+     */
+    private static synchronized int register(String skill) {
+        Integer existing = IDS.get(skill);
+        String[] current;
+
+        // Another thread may have registered the skill while this one awaited the lock
+        if (existing != null) {
+            return existing;
+        }
+
+        current = names;
+        if (count == current.length) {
+            current = Arrays.copyOf(current, count * 2);
+        }
+        current[count] = skill;
+        names = current;
+        IDS.put(skill, count);
+        return count++;
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * SnapshotReader.java - Class for <code>SnapshotReader</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class reads the records of a binary world snapshot written by <code>SnapshotWriter</code>,
+ * typically from a memory-mapped <code>ByteBuffer</code>. As a <code>FieldSource</code>, it is
+ * handed to the very same <code>Thing</code> constructors used when parsing text, which read a
+ * record's fields in the order in which <code>Thing.writeFields</code> wrote them. As every field
+ * is always written, the <code>hasNext</code> family of methods need only report whether the
+ * current record has any fields left, and no field is ever parsed from text.
+ * <br />
+ * <br />
+ * Skills are read as snapshot-local identifiers and translated to those of the running
+ * <code>SkillTable</code> via <code>skillIds</code>, such that no skill name is built per record.
+ * <br />
+ * <br />
+ * Class extends <code>FieldSource</code>
+ * @see project1.WorldSnapshot
+ * @see project1.SnapshotWriter
+ * @author Andrew Eissen
+ */
+final class SnapshotReader extends FieldSource {
+
+    // Input-related fields
+    private ByteBuffer input;
+    private int recordEnd;
+
+    // Translation of snapshot skill identifiers to <code>SkillTable</code> identifiers
+    private int[] skillIds;
+
+    // Reusable buffer for <code>String</code> fields
+    private byte[] scratch;
+
+    /**
+     * Parameterized constructor
+     * @param input <code>ByteBuffer</code> positioned at the start of the snapshot's payload
+     */
+    protected SnapshotReader(ByteBuffer input) {
+        this.input = input;
+        this.recordEnd = input.limit();
+        this.skillIds = new int[0];
+        this.scratch = new byte[64];
+    }
+
+    // Setter
+
+    /**
+     * Setter for <code>skillIds</code>
+     * @param skillIds <code>SkillTable</code> identifiers indexed by snapshot identifier
+     * @return void
+     */
+    protected void setSkillIds(int[] skillIds) {
+        this.skillIds = skillIds;
+    }
+
+    // Handlers
+
+    /**
+     * Reads the header of the next record, after which its fields may be read.
+     *
+     * @return Position of the record's type within the snapshot's type table
+     * @throws IllegalStateException If the record overruns the payload
+     */
+    protected int beginRecord() {
+        int recordType = this.input.get() & 0xFF;
+        int length = this.input.getInt();
+
+        if (length < 0 || length > this.input.remaining()) {
+            throw new IllegalStateException("Snapshot record overruns the payload");
+        }
+
+        this.recordEnd = this.input.position() + length;
+        return recordType;
+    }
+
+    /**
+     * Skips any fields of the current record left unread, such as those written by a newer
+     * version of a <code>Thing</code> subclass, and ends the record.
+     *
+     * @return void
+     */
+    protected void endRecord() {
+        this.input.position(this.recordEnd);
+        this.recordEnd = this.input.limit();
+    }
+
+    /**
+     * Reads a <code>String</code> outside of any record.
+     *
+     * @return <code>String</code>, possibly <code>null</code>
+     */
+    protected String readHeaderString() {
+        return this.next();
+    }
+
+    /**
+     * Reads an <code>int</code> outside of any record.
+     *
+     * @return <code>int</code>
+     */
+    protected int readHeaderInt() {
+        return this.input.getInt();
+    }
+
+    /**
+     * Reads enough <code>int</code>s outside of any record to fill the given array, in bulk.
+     *
+     * @param values <code>int[]</code>
+     * @return void
+     */
+    protected void readHeaderInts(int[] values) {
+        this.input.asIntBuffer().get(values);
+        this.input.position(this.input.position() + values.length * Integer.BYTES);
+    }
+
+    // Overridden methods
+
+    /**
+     * @inheritdoc
+     * @return <code>boolean</code>
+     */
+    @Override
+    protected boolean hasNext() {
+        return this.input.position() < this.recordEnd;
+    }
+
+    /**
+     * @inheritdoc
+     * @return <code>boolean</code>
+     */
+    @Override
+    protected boolean hasNextInt() {
+        return this.hasNext();
+    }
+
+    /**
+     * @inheritdoc
+     * @return <code>boolean</code>
+     */
+    @Override
+    protected boolean hasNextDouble() {
+        return this.hasNext();
+    }
+
+    /**
+     * @inheritdoc
+     * @return <code>String</code>, possibly <code>null</code>
+     */
+    @Override
+    protected String next() {
+        int length = this.input.getInt();
+
+        if (length < 0) {
+            return null;
+        }
+
+        if (this.scratch.length < length) {
+            this.scratch = new byte[Math.max(length, this.scratch.length * 2)];
+        }
+        this.input.get(this.scratch, 0, length);
+        return new String(this.scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @inheritdoc
+     * @return <code>int</code>
+     */
+    @Override
+    protected int nextInt() {
+        return this.input.getInt();
+    }
+
+    /**
+     * @inheritdoc
+     * @return <code>double</code>
+     */
+    @Override
+    protected double nextDouble() {
+        return this.input.getDouble();
+    }
+
+    /**
+     * Reads a snapshot skill identifier and translates it without building the skill's name.
+     *
+     * @return The skill's <code>SkillTable</code> identifier
+     */
+    @Override
+    protected int nextSkill() {
+        return this.skillIds[this.input.getInt()];
+    }
+}
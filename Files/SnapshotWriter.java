@@ -0,0 +1,161 @@
+/**
+ * SnapshotWriter.java - Class for <code>SnapshotWriter</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class writes the records of a binary world snapshot. Each record consists of a one-byte
+ * record type, the length of its fields in bytes, and the fields themselves, written by
+ * <code>Thing.writeFields</code> via the <code>write</code> methods of this class. As the length
+ * precedes the fields, each record's fields are first gathered in a reusable buffer and copied to
+ * the underlying stream by <code>endRecord</code>.
+ * <br />
+ * <br />
+ * All values are big-endian. <code>String</code>s are written as their length in bytes followed
+ * by their UTF-8 encoding, with a length of <code>-1</code> denoting <code>null</code>. Skills are
+ * written as their <code>SkillTable</code> identifiers, which <code>SnapshotReader</code> maps
+ * back via the skill names stored at the start of the snapshot.
+ *
+ * @see project1.WorldSnapshot
+ * @see project1.SnapshotReader
+ * @author Andrew Eissen
+ */
+final class SnapshotWriter {
+
+    // Output-related fields
+    private DataOutputStream output;
+    private ByteArrayOutputStream recordBuffer;
+    private DataOutputStream record;
+    private int recordType;
+
+    /**
+     * Parameterized constructor
+     * @param output <code>OutputStream</code> receiving the snapshot's payload
+     */
+    protected SnapshotWriter(OutputStream output) {
+        this.output = new DataOutputStream(output);
+        this.recordBuffer = new ByteArrayOutputStream(256);
+        this.record = new DataOutputStream(this.recordBuffer);
+    }
+
+    // Handlers
+
+    /**
+     * Writes a <code>String</code> outside of any record, i.e. as part of a table preceding them.
+     *
+     * @param value <code>String</code>, possibly <code>null</code>
+     * @return void
+     * @throws IOException If the underlying output fails
+     */
+    protected void writeHeaderString(String value) throws IOException {
+        SnapshotWriter.writeString(this.output, value);
+    }
+
+    /**
+     * Writes an <code>int</code> outside of any record.
+     *
+     * @param value <code>int</code>
+     * @return void
+     * @throws IOException If the underlying output fails
+     */
+    protected void writeHeaderInt(int value) throws IOException {
+        this.output.writeInt(value);
+    }
+
+    /**
+     * Begins a new record, discarding the fields of any record not ended.
+     *
+     * @param recordType Position of the record's type within the snapshot's type table
+     * @return void
+     */
+    protected void beginRecord(int recordType) {
+        this.recordBuffer.reset();
+        this.recordType = recordType;
+    }
+
+    /**
+     * Copies the current record, prefixed by its length, to the underlying stream.
+     *
+     * @return void
+     * @throws IOException If the underlying output fails
+     */
+    protected void endRecord() throws IOException {
+        this.output.writeByte(this.recordType);
+        this.output.writeInt(this.recordBuffer.size());
+        this.recordBuffer.writeTo(this.output);
+    }
+
+    /**
+     * @param value <code>String</code>, possibly <code>null</code>
+     * @return void
+     * @throws IOException Never, as records are buffered in memory
+     */
+    protected void writeString(String value) throws IOException {
+        SnapshotWriter.writeString(this.record, value);
+    }
+
+    /**
+     * @param value <code>int</code>
+     * @return void
+     * @throws IOException Never, as records are buffered in memory
+     */
+    protected void writeInt(int value) throws IOException {
+        this.record.writeInt(value);
+    }
+
+    /**
+     * @param value <code>double</code>
+     * @return void
+     * @throws IOException Never, as records are buffered in memory
+     */
+    protected void writeDouble(double value) throws IOException {
+        this.record.writeDouble(value);
+    }
+
+    /**
+     * @param skill Skill identifier
+     * @return void
+     * @throws IOException Never, as records are buffered in memory
+     */
+    protected void writeSkill(int skill) throws IOException {
+        this.record.writeInt(skill);
+    }
+
+    /**
+     * Flushes any buffered output to the underlying stream.
+     *
+     * @return void
+     * @throws IOException If the underlying output fails
+     */
+    protected void flush() throws IOException {
+        this.output.flush();
+    }
+
+    /**
+     * @param output <code>DataOutputStream</code>
+     * @param value <code>String</code>, possibly <code>null</code>
+     * @return void
+     * @throws IOException If the underlying output fails
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes;
+
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+
+        bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
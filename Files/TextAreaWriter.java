@@ -0,0 +1,149 @@
+/**
+ * TextAreaWriter.java - Class for <code>TextAreaWriter</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.Writer;
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+
+/**
+ * This class is a <code>Writer</code> that appends its output to a <code>JTextArea</code> in
+ * fixed-size chunks rather than requiring the whole of the text to be assembled beforehand and
+ * passed to <code>setText</code>. Characters are collected in a small buffer, and each time the
+ * buffer fills, its contents are appended to the text area as a single chunk. If written to from
+ * a thread other than the Swing event dispatch thread, chunks are appended via
+ * <code>SwingUtilities.invokeLater</code> in the order in which they were written.
+ * <br />
+ * <br />
+ * Class extends <code>Writer</code>
+ * @see java.io.Writer
+ * @see project1.WorldRenderer
+ * @author Andrew Eissen
+ */
+final class TextAreaWriter extends Writer {
+
+    // Default number of characters appended to the text area at once
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    // Output-related fields
+    private JTextArea textArea;
+    private char[] chunk;
+    private int count;
+
+    /**
+     * Parameterized constructor
+     * @param textArea The <code>JTextArea</code> to which output is appended
+     */
+    protected TextAreaWriter(JTextArea textArea) {
+        this(textArea, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Fully-parameterized constructor
+     * @param textArea The <code>JTextArea</code> to which output is appended
+     * @param chunkSize Number of characters appended to the text area at once
+     */
+    protected TextAreaWriter(JTextArea textArea, int chunkSize) {
+        this.setTextArea(textArea);
+        this.setChunk(new char[chunkSize]);
+    }
+
+    // Setters
+
+    /**
+     * Setter for <code>textArea</code>
+     * @param textArea <code>JTextArea</code>
+     * @return void
+     */
+    private void setTextArea(JTextArea textArea) {
+        this.textArea = textArea;
+    }
+
+    /**
+     * Setter for <code>chunk</code>
+     * @param chunk <code>char[]</code>
+     * @return void
+     */
+    private void setChunk(char[] chunk) {
+        this.chunk = chunk;
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>textArea</code>
+     * @return <code>this.textArea</code>
+     */
+    protected JTextArea getTextArea() {
+        return this.textArea;
+    }
+
+    /**
+     * Getter for <code>chunk</code>
+     * @return <code>this.chunk</code>
+     */
+    private char[] getChunk() {
+        return this.chunk;
+    }
+
+    // Overridden methods
+
+    /**
+     * @inheritdoc
+     * @param characters <code>char[]</code>
+     * @param offset <code>int</code>
+     * @param length <code>int</code>
+     * @return void
+     */
+    @Override
+    public void write(char[] characters, int offset, int length) {
+        int copied;
+
+        while (length > 0) {
+            copied = Math.min(length, this.getChunk().length - this.count);
+            System.arraycopy(characters, offset, this.getChunk(), this.count, copied);
+            this.count += copied;
+            offset += copied;
+            length -= copied;
+
+            if (this.count == this.getChunk().length) {
+                this.flush();
+            }
+        }
+    }
+
+    /**
+     * Appends any buffered characters to the text area as a single chunk.
+     * @return void
+     */
+    @Override
+    public void flush() {
+        String chunkString;
+
+        if (this.count == 0) {
+            return;
+        }
+
+        chunkString = new String(this.getChunk(), 0, this.count);
+        this.count = 0;
+
+        if (SwingUtilities.isEventDispatchThread()) {
+            this.getTextArea().append(chunkString);
+        } else {
+            SwingUtilities.invokeLater(() -> this.getTextArea().append(chunkString));
+        }
+    }
+
+    /**
+     * @inheritdoc
+     * @return void
+     */
+    @Override
+    public void close() {
+        this.flush();
+    }
+}
@@ -4,14 +4,16 @@
  * @author Andrew Eissen
  */
 
-//package project1;
+package project1;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Scanner;
 
 /**
  * This class is the progenitor of all <code>World</code>-based objects, from ship types to docks
- * and ports. As per the rubric, it implements the interface <code>Comparable</code>, which sees no
- * use during the first project but is included anyway.
+ * and ports. As per the rubric, it implements the interface <code>Comparable</code>, ordering
+ * things by index, which breaks the ties of the orders provided by <code>ThingOrder</code>.
  * <br />
  * <br />
  * Class implements <code>Comparable</code>
@@ -43,6 +45,26 @@ class Thing implements Comparable<Thing> {
         }
     }
 
+    /**
+     * Parameterized constructor, reading the same fields from a <code>FieldSource</code>, i.e. a
+     * reusable <code>FieldTokenizer</code> or a snapshot record, rather than a per-line
+     * <code>Scanner</code>
+     * @param tokenizer <code>FieldSource</code> positioned after the record's keyword
+     */
+    protected Thing(FieldSource tokenizer) {
+        if (tokenizer.hasNext()) {
+            this.setName(tokenizer.next());
+        }
+
+        if (tokenizer.hasNextInt()) {
+            this.setIndex(tokenizer.nextInt());
+        }
+
+        if (tokenizer.hasNextInt()) {
+            this.setParent(tokenizer.nextInt());
+        }
+    }
+
     // Setters
 
     /**
@@ -100,31 +122,76 @@ class Thing implements Comparable<Thing> {
 
     // Overridden methods
 
+    /**
+     * Writes this object's textual representation to the given <code>Appendable</code>, be it a
+     * <code>StringBuilder</code>, a <code>Writer</code> or a <code>PrintStream</code>. Subclasses
+     * override this method rather than <code>toString</code>, appending their own details before
+     * or after those of their superclass, so that a whole hierarchy may be streamed in linear time
+     * without first being assembled into a single <code>String</code>.
+     *
+     * @param output <code>Appendable</code>
+     * @return void
+     * @throws IOException If the underlying output fails
+     */
+    protected void appendTo(Appendable output) throws IOException {
+        // It didn't make sense to include parent, since things are organized by parent anyway
+        output.append(this.getName()).append(" ").append(String.valueOf(this.getIndex()));
+    }
+
+    /**
+     * Writes the fields of this object to the current record of a binary snapshot, in exactly the
+     * order and form in which they are read back by this class's <code>FieldSource</code>
+     * constructor. Subclasses adding fields override this method, writing their own after those of
+     * their superclass, in the same manner as <code>appendTo</code>.
+     *
+     * @param output <code>SnapshotWriter</code>
+     * @return void
+     * @throws IOException If the underlying output fails
+     */
+    protected void writeFields(SnapshotWriter output) throws IOException {
+        output.writeString(this.getName());
+        output.writeInt(this.getIndex());
+        output.writeInt(this.getParent());
+    }
+
     /**
      * @inheritdoc
      * @return <code>String</code>
      */
     @Override
     public String toString(){
-        // It didn't make sense to include parent, since things are organized by parent anyway
-        return this.getName() + " " + this.getIndex();
+        StringBuilder stringOutput = new StringBuilder();
+
+        try {
+            this.appendTo(stringOutput);
+        } catch (IOException ex) {
+            // Never thrown by StringBuilder
+            throw new UncheckedIOException(ex);
+        }
+        return stringOutput.toString();
     }
 
     /**
-     * @inheritdoc
+     * Orders things by index, then by name and lastly by parent, such that two things compare as
+     * equal only if all three fields match. The method previously returned <code>1</code> for such
+     * things and <code>0</code> otherwise, reporting equality rather than order, and so could not
+     * be used to sort. Note that, as <code>equals</code> is not overridden, this natural order is
+     * not consistent with equals.
+     *
      * @param thingInstance <code>Thing</code>
-     * @return <code>boolean</code>
+     * @return <code>int</code>, negative if this thing precedes <code>thingInstance</code>
      */
     @Override
     public int compareTo(Thing thingInstance) {
-        if (
-            (thingInstance.getIndex() == this.getIndex()) &&
-            (thingInstance.getName().equals(this.getName())) &&
-            (thingInstance.getParent() == this.getParent())
-        ) {
-            return 1;
-        } else {
-            return 0;
+        int result = Integer.compare(this.getIndex(), thingInstance.getIndex());
+
+        if (result == 0) {
+            result = this.getName().compareTo(thingInstance.getName());
+        }
+
+        if (result == 0) {
+            result = Integer.compare(this.getParent(), thingInstance.getParent());
         }
+        return result;
     }
-}
\ No newline at end of file
+}
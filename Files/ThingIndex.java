@@ -0,0 +1,332 @@
+/**
+ * ThingIndex.java - Class for <code>ThingIndex</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This class provides the exact-match lookups behind the "By name" and "By index" searches of
+ * <code>SeaPortProgram</code>, which previously scanned the whole of
+ * <code>World.getAllThings()</code> on every search. It is filled by the <code>World</code> as each
+ * record is added, so no separate pass over the world is needed once loading completes.
+ * <br />
+ * <br />
+ * Names are held in a <code>HashMap</code> from each name to the <code>Thing</code>s bearing it.
+ * Indices are held in a hash table keyed directly by <code>int</code>, built from parallel arrays
+ * rather than a <code>HashMap&lt;Integer, ...&gt;</code>, such that neither adding nor looking up
+ * an index boxes it. Each bucket heads a chain of entries linked through the <code>next</code>
+ * array, in the order in which they were added. As neither names nor indices are guaranteed to be
+ * unique across the file, both lookups return every matching <code>Thing</code>, in the order in
+ * which they were added, exactly as the previous linear scans did.
+ * <br />
+ * <br />
+ * <code>Thing</code>s may also be removed, as when a record is removed from a live world. The
+ * vacated entry is refilled with the last entry of the table, whose place within its own chain is
+ * unchanged, so chains keep their order and the table stays dense.
+ * <br />
+ * <br />
+ * An index restored from a <code>WorldSnapshot</code> is handed the stored indices of its
+ * <code>Thing</code>s in bulk, and indexes their names only when first asked to look up, add or
+ * remove a <code>Thing</code>, from the entries of the table in the order in which they were added.
+ * Restoring a world thus neither hashes nor visits the name of any record.
+ *
+ * @see project1.World
+ * @author Andrew Eissen
+ */
+final class ThingIndex {
+
+    // Initial capacity of the index table, which must be a power of two
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Name-related field, <code>null</code> until the names of a restored index are first needed
+    private HashMap<String, ArrayList<Thing>> thingsByName;
+
+    // Index table-related fields; buckets hold the first entry of their chain, or -1 if empty
+    private int[] buckets;
+    private int[] keys;
+    private int[] next;
+    private Thing[] things;
+    private int size;
+
+    /**
+     * Default, no-parameters constructor
+     */
+    protected ThingIndex() {
+        this.thingsByName = new HashMap<>();
+        this.allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Parameterized constructor, indexing the given <code>Thing</code>s, in order, by the given
+     * indices, which must be their own. The <code>Thing</code>s themselves are not visited, and
+     * their names are left to be indexed once first needed.
+     * @param things <code>Thing</code>s, in the order in which they were added
+     * @param indices The index of each <code>Thing</code>
+     */
+    protected ThingIndex(Thing[] things, int[] indices) {
+        this.allocate(Math.max(INITIAL_CAPACITY,
+            Integer.highestOneBit(Math.max(1, things.length - 1)) << 1));
+        System.arraycopy(indices, 0, this.keys, 0, things.length);
+        System.arraycopy(things, 0, this.things, 0, things.length);
+
+        for (this.size = 0; this.size < things.length; this.size++) {
+            this.link(this.size);
+        }
+    }
+
+    // Getter
+
+    /**
+     * Getter for <code>size</code>
+     * @return The number of <code>Thing</code>s indexed
+     */
+    protected int getSize() {
+        return this.size;
+    }
+
+    // Handlers
+
+    /**
+     * Indexes the given <code>Thing</code> by both its name and its index.
+     *
+     * @param thing <code>Thing</code>
+     * @return void
+     */
+    protected void add(Thing thing) {
+        this.getThingsByName().computeIfAbsent(thing.getName(), (String key) -> new ArrayList<>(1))
+            .add(thing);
+
+        if (this.size == this.keys.length) {
+            this.grow();
+        }
+
+        this.keys[this.size] = thing.getIndex();
+        this.things[this.size] = thing;
+        this.link(this.size);
+        this.size++;
+    }
+
+    /**
+     * Removes the given <code>Thing</code>, if indexed, from both its name and its index. Other
+     * <code>Thing</code>s sharing either are unaffected and retain their order.
+     *
+     * @param thing <code>Thing</code>
+     * @return void
+     */
+    protected void remove(Thing thing) {
+
+        // Declarations
+        ArrayList<Thing> named;
+        int bucket, previous;
+
+        // Definitions
+        named = this.getThingsByName().get(thing.getName());
+        bucket = ThingIndex.bucketOf(thing.getIndex(), this.buckets.length);
+        previous = -1;
+
+        if (named != null && named.remove(thing) && named.isEmpty()) {
+            this.getThingsByName().remove(thing.getName());
+        }
+
+        for (int entry = this.buckets[bucket]; entry != -1; entry = this.next[entry]) {
+            if (this.things[entry] == thing) {
+                if (previous == -1) {
+                    this.buckets[bucket] = this.next[entry];
+                } else {
+                    this.next[previous] = this.next[entry];
+                }
+                this.moveLastEntry(entry);
+                return;
+            }
+            previous = entry;
+        }
+    }
+
+    /**
+     * @param name <code>String</code>
+     * @return Every indexed <code>Thing</code> bearing the given name, possibly none
+     */
+    protected List<Thing> findByName(String name) {
+        ArrayList<Thing> matches = this.getThingsByName().get(name);
+
+        return (matches == null)
+            ? Collections.emptyList()
+            : Collections.unmodifiableList(matches);
+    }
+
+    /**
+     * @param index <code>int</code>
+     * @return Every indexed <code>Thing</code> bearing the given index, possibly none
+     */
+    protected List<Thing> findByIndex(int index) {
+        ArrayList<Thing> matches = null;
+
+        for (int entry = this.buckets[ThingIndex.bucketOf(index, this.buckets.length)];
+                entry != -1; entry = this.next[entry]) {
+            if (this.keys[entry] == index) {
+                if (matches == null) {
+                    matches = new ArrayList<>(1);
+                }
+                matches.add(this.things[entry]);
+            }
+        }
+        return (matches == null) ? Collections.emptyList() : matches;
+    }
+
+    /**
+     * Returns the name table, first building it from the entries of a restored index. As entries
+     * are only reordered by removals, which themselves build the table beforehand, the entries
+     * are still in the order in which they were added.
+     *
+     * @return <code>thingsByName</code>
+     */
+    private HashMap<String, ArrayList<Thing>> getThingsByName() {
+        if (this.thingsByName == null) {
+            this.thingsByName = new HashMap<>(Math.max(16, (int) (this.size / 0.75f) + 1));
+
+            for (int entry = 0; entry < this.size; entry++) {
+                this.thingsByName.computeIfAbsent(this.things[entry].getName(),
+                    (String key) -> new ArrayList<>(1)).add(this.things[entry]);
+            }
+        }
+        return this.thingsByName;
+    }
+
+    /**
+     * Allocates an empty index table of the given capacity.
+     *
+     * @param capacity <code>int</code>, a power of two
+     * @return void
+     */
+    private void allocate(int capacity) {
+        this.buckets = new int[capacity];
+        this.keys = new int[capacity];
+        this.next = new int[capacity];
+        this.things = new Thing[capacity];
+        Arrays.fill(this.buckets, -1);
+    }
+
+    /**
+     * Appends the given entry to the end of its bucket's chain, preserving the order in which
+     * entries sharing an index were added. Chains are kept short by <code>grow</code>, so walking
+     * to the end is cheap.
+     *
+     * @param entry Position of the entry within <code>keys</code> and <code>things</code>
+     * @return void
+     */
+    private void link(int entry) {
+        int bucket = ThingIndex.bucketOf(this.keys[entry], this.buckets.length);
+        int last;
+
+        this.next[entry] = -1;
+        if (this.buckets[bucket] == -1) {
+            this.buckets[bucket] = entry;
+            return;
+        }
+
+        for (last = this.buckets[bucket]; this.next[last] != -1; last = this.next[last]) {}
+        this.next[last] = entry;
+    }
+
+    /**
+     * Moves the last entry of the table into the given entry, just unlinked from its chain, and
+     * shrinks the table by one. The moved entry keeps its place within its own chain.
+     *
+     * @param vacant Position of the unlinked entry
+     * @return void
+     */
+    private void moveLastEntry(int vacant) {
+        int last = --this.size;
+        int bucket, previous;
+
+        if (vacant != last) {
+            bucket = ThingIndex.bucketOf(this.keys[last], this.buckets.length);
+
+            if (this.buckets[bucket] == last) {
+                this.buckets[bucket] = vacant;
+            } else {
+                for (previous = this.buckets[bucket]; this.next[previous] != last;
+                    previous = this.next[previous]) {}
+                this.next[previous] = vacant;
+            }
+
+            this.keys[vacant] = this.keys[last];
+            this.things[vacant] = this.things[last];
+            this.next[vacant] = this.next[last];
+        }
+        this.things[last] = null;
+    }
+
+    /**
+     * Doubles the capacity of the index table and rehashes every entry. As capacities are powers
+     * of two, the entries of each old chain are split between exactly two new chains, so walking
+     * each old chain in turn and appending its entries to the ends of those two restores their
+     * original order.
+     *
+     * @return void
+     */
+    private void grow() {
+
+        // Declarations
+        int[] oldBuckets, oldNext;
+        int capacity, bucket, low, high;
+
+        // Definitions
+        oldBuckets = this.buckets;
+        oldNext = this.next;
+        capacity = this.keys.length * 2;
+        this.keys = Arrays.copyOf(this.keys, capacity);
+        this.things = Arrays.copyOf(this.things, capacity);
+        this.next = new int[capacity];
+        this.buckets = new int[capacity];
+        Arrays.fill(this.buckets, -1);
+
+        for (int oldBucket = 0; oldBucket < oldBuckets.length; oldBucket++) {
+            low = -1;
+            high = -1;
+
+            for (int entry = oldBuckets[oldBucket]; entry != -1; entry = oldNext[entry]) {
+                bucket = ThingIndex.bucketOf(this.keys[entry], capacity);
+                this.next[entry] = -1;
+
+                if (bucket == oldBucket) {
+                    if (low == -1) {
+                        this.buckets[bucket] = entry;
+                    } else {
+                        this.next[low] = entry;
+                    }
+                    low = entry;
+                } else {
+                    if (high == -1) {
+                        this.buckets[bucket] = entry;
+                    } else {
+                        this.next[high] = entry;
+                    }
+                    high = entry;
+                }
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of the given index such that the sequential indices used by the project's
+     * data files do not cluster, then masks the result to the table's capacity.
+     *
+     * @param index <code>int</code>
+     * @param capacity Table capacity, a power of two
+     * @return The bucket to which the index belongs
+     */
+    private static int bucketOf(int index, int capacity) {
+        int hash = index * 0x9E3779B9;
+
+        return (hash ^ (hash >>> 16)) & (capacity - 1);
+    }
+}
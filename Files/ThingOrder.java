@@ -0,0 +1,103 @@
+/**
+ * ThingOrder.java - Enum of <code>ThingOrder</code> comparators
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.Comparator;
+
+/**
+ * This enum provides the orders by which the contents of the world may be sorted, i.e. by name,
+ * index, weight, length, width, draft, cargo value or passenger count. Each order is a
+ * <code>Comparator</code> over any <code>Thing</code>. Things lacking the attribute compared, e.g.
+ * persons when sorting by weight or passenger ships when sorting by cargo value, are sorted after
+ * all those possessing it, and ties, including those among things lacking the attribute, are
+ * broken by the natural order of <code>Thing.compareTo</code>. Every order is thereby total, and
+ * sorts yield the same result whatever the initial order of the things sorted.
+ * <br />
+ * <br />
+ * As each order is a constant, they may also serve as keys for the cached sorted views of a
+ * <code>TrackedList</code>.
+ *
+ * @see project1.Thing#compareTo
+ * @see project1.TrackedList
+ * @author Andrew Eissen
+ */
+enum ThingOrder implements Comparator<Thing> {
+
+    NAME("By name", Thing.class, Comparator.comparing(Thing::getName)),
+    INDEX("By index", Thing.class, Comparator.comparingInt(Thing::getIndex)),
+    WEIGHT("By weight", Ship.class,
+        Comparator.comparingDouble((Thing thing) -> ((Ship) thing).getWeight())),
+    LENGTH("By length", Ship.class,
+        Comparator.comparingDouble((Thing thing) -> ((Ship) thing).getLength())),
+    WIDTH("By width", Ship.class,
+        Comparator.comparingDouble((Thing thing) -> ((Ship) thing).getWidth())),
+    DRAFT("By draft", Ship.class,
+        Comparator.comparingDouble((Thing thing) -> ((Ship) thing).getDraft())),
+    CARGO_VALUE("By cargo value", CargoShip.class,
+        Comparator.comparingDouble((Thing thing) -> ((CargoShip) thing).getCargoValue())),
+    PASSENGERS("By passengers", PassengerShip.class,
+        Comparator.comparingInt((Thing thing) -> ((PassengerShip) thing).getNumberOfPassengers()));
+
+    // Order-related fields
+    private final String label;
+    private final Class<? extends Thing> thingClass;
+    private final Comparator<Thing> attributeOrder;
+
+    /**
+     * Parameterized constructor
+     * @param label Label shown by the GUI
+     * @param thingClass <code>Class</code> possessing the attribute compared
+     * @param attributeOrder <code>Comparator</code> of the attribute, applied only to instances of
+     *     <code>thingClass</code>
+     */
+    ThingOrder(String label, Class<? extends Thing> thingClass, Comparator<Thing> attributeOrder) {
+        this.label = label;
+        this.thingClass = thingClass;
+        this.attributeOrder = attributeOrder;
+    }
+
+    // Getter
+
+    /**
+     * Getter for <code>thingClass</code>
+     * @return <code>this.thingClass</code>
+     */
+    protected Class<? extends Thing> getThingClass() {
+        return this.thingClass;
+    }
+
+    // Overridden methods
+
+    /**
+     * @inheritdoc
+     * @param first <code>Thing</code>
+     * @param second <code>Thing</code>
+     * @return <code>int</code>
+     */
+    @Override
+    public int compare(Thing first, Thing second) {
+        boolean firstHas = this.thingClass.isInstance(first);
+        boolean secondHas = this.thingClass.isInstance(second);
+        int result;
+
+        if (firstHas != secondHas) {
+            return firstHas ? -1 : 1;
+        }
+
+        result = firstHas ? this.attributeOrder.compare(first, second) : 0;
+        return (result != 0) ? result : first.compareTo(second);
+    }
+
+    /**
+     * @inheritdoc
+     * @return <code>String</code>
+     */
+    @Override
+    public String toString() {
+        return this.label;
+    }
+}
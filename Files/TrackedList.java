@@ -0,0 +1,147 @@
+/**
+ * TrackedList.java - Class for <code>TrackedList</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This class is an <code>ArrayList</code> that knows when it has changed, such that sorted views
+ * of its contents need only be rebuilt when it has. <code>ArrayList</code> already counts its
+ * structural modifications in <code>modCount</code> for the sake of its fail-fast iterators; this
+ * class merely exposes that count, and extends it to <code>set</code>, which replaces an element
+ * without counting as a structural modification.
+ * <br />
+ * <br />
+ * Each sorted view is cached alongside the count at which it was built, keyed by its
+ * <code>Comparator</code>, and is returned as is until the count moves on. A stale view is rebuilt
+ * from an array of the list's elements, via <code>Arrays.parallelSort</code> once the list holds
+ * at least <code>PARALLEL_SORT_THRESHOLD</code> elements and via <code>Arrays.sort</code> below
+ * that, where splitting the sort would cost more than it saves. Every comparator passed should thus
+ * impose a total order, such that both sorts yield the same view.
+ * <br />
+ * <br />
+ * Like the world to which its lists belong, the class is not thread-safe. Structural changes made
+ * through a <code>subList</code> are counted, as <code>ArrayList</code> passes them on to its own
+ * <code>modCount</code>, but replacements made via <code>subList(...).set</code> bypass the
+ * overridden <code>set</code> and are not.
+ *
+ * @param <E> Element type
+ * @see project1.SeaPort
+ * @author Andrew Eissen
+ */
+final class TrackedList<E> extends ArrayList<E> {
+
+    private static final long serialVersionUID = 1L;
+
+    // Size from which stale views are rebuilt via Arrays.parallelSort
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+
+    // Cached sorted views, by comparator
+    private transient HashMap<Comparator<? super E>, SortedView<E>> sortedViews;
+
+    /**
+     * Default, no-parameters constructor, creating an empty list
+     */
+    protected TrackedList() {
+        super();
+    }
+
+    // Getters
+
+    /**
+     * @return The number of modifications made to the list so far, including replacements
+     */
+    protected int getModCount() {
+        return this.modCount;
+    }
+
+    /**
+     * Returns the list's elements sorted by the given comparator, rebuilding the cached view only
+     * if the list has changed since it was last built.
+     *
+     * @param order <code>Comparator</code> imposing a total order
+     * @return Unmodifiable, sorted <code>List</code>
+     */
+    protected List<E> getSortedView(Comparator<? super E> order) {
+        SortedView<E> view;
+
+        if (this.sortedViews == null) {
+            this.sortedViews = new HashMap<>();
+        }
+
+        view = this.sortedViews.get(order);
+        if (view == null || view.modCount != this.modCount) {
+            view = new SortedView<>(this.sortedCopy(order), this.modCount);
+            this.sortedViews.put(order, view);
+        }
+        return view.elements;
+    }
+
+    // Handlers
+
+    /**
+     * Builds a sorted copy of the list's elements.
+     *
+     * @param order <code>Comparator</code>
+     * @return Unmodifiable <code>List</code>
+     */
+    @SuppressWarnings("unchecked")
+    private List<E> sortedCopy(Comparator<? super E> order) {
+
+        // The array only ever holds elements of the list, all of which are instances of E
+        E[] elements = (E[]) this.toArray();
+
+        if (elements.length >= TrackedList.PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(elements, order);
+        } else {
+            Arrays.sort(elements, order);
+        }
+        return Collections.unmodifiableList(Arrays.asList(elements));
+    }
+
+    // Overridden methods
+
+    /**
+     * @inheritdoc
+     * @param index <code>int</code>
+     * @param element <code>E</code>
+     * @return The element previously at the index
+     */
+    @Override
+    public E set(int index, E element) {
+        E previous = super.set(index, element);
+
+        this.modCount++;
+        return previous;
+    }
+
+    /**
+     * A sorted view, and the modification count at which it was built.
+     *
+     * @param <E> Element type
+     */
+    private static final class SortedView<E> {
+
+        private final List<E> elements;
+        private final int modCount;
+
+        /**
+         * Parameterized constructor
+         * @param elements Unmodifiable, sorted <code>List</code>
+         * @param modCount Modification count of the list when sorted
+         */
+        private SortedView(List<E> elements, int modCount) {
+            this.elements = elements;
+            this.modCount = modCount;
+        }
+    }
+}
@@ -4,11 +4,12 @@
  * @author Andrew Eissen
  */
 
-//package project1;
+package project1;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * This class represents the world as it exists per the contents of the user-selected
@@ -25,17 +26,69 @@ import java.util.*;
  * an attempt to remain true to the specifics of the rubric.
  * <br />
  * <br />
+ * As records are linked and unlinked, as ships are queued, docked and undocked, and as jobs are
+ * finished, the world also keeps the running <code>Aggregates</code> of itself, of each port and of
+ * each dock, such that totals such as the value of a port's cargo or the hours of its outstanding
+ * jobs need never be computed by walking its ships.
+ * <br />
+ * <br />
  * Class extends <code>Thing</code>
  * @see project1.Thing
  * @author Andrew Eissen
  */
 final class World extends Thing {
 
+    // Keyword- and class-to-<code>RecordType</code> dispatch tables shared by all worlds
+    private static final LinkedHashMap<String, RecordType<? extends Thing>> RECORD_TYPES;
+    private static final HashMap<Class<?>, RecordType<? extends Thing>> RECORD_TYPES_BY_CLASS;
+
+    // Initial size of the reused character buffer into which a <code>Reader</code> is read
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    static {
+        RECORD_TYPES = new LinkedHashMap<>();
+        RECORD_TYPES_BY_CLASS = new HashMap<>();
+        World.registerRecordType(new RecordType<>("port", SeaPort.class, SeaPort::new,
+            World::addPort, World::removePort));
+        World.registerRecordType(new RecordType<>("dock", Dock.class, Dock::new,
+            World::addDock, World::removeDock));
+        World.registerRecordType(new RecordType<>("pship", PassengerShip.class,
+            PassengerShip::new, World::addShipToParent, World::removeShipFromParent));
+        World.registerRecordType(new RecordType<>("cship", CargoShip.class, CargoShip::new,
+            World::addShipToParent, World::removeShipFromParent));
+        World.registerRecordType(new RecordType<>("person", Person.class, Person::new,
+            World::addPerson, World::removePerson));
+        World.registerRecordType(new RecordType<>("job", Job.class, Job::new,
+            World::addJobToShip, World::removeJobFromShip));
+    }
+
     // Rubric-required fields
     private ArrayList<Thing> allThings;
     private ArrayList<SeaPort> ports;
     private PortTime time;
 
+    // Index-to-<code>Thing</code> registry used for O(1) parent resolution
+    private HashMap<Integer, Thing> thingsByIndex;
+
+    // Records awaiting the arrival of their parent, keyed by the parent's index
+    private HashMap<Integer, ArrayList<Thing>> pendingByParent;
+    private int pendingCount;
+
+    // Name, index, skill, range and dimension lookups used by searches
+    private ThingIndex searchIndex;
+    private SkillIndex skillIndex;
+    private ShipRangeIndex shipRangeIndex;
+    private ShipSpatialIndex shipSpatialIndex;
+
+    // Running totals of the whole world, the dock at which each moored ship is moored, and the
+    // ship to which each linked job was attached
+    private Aggregates aggregates;
+    private IdentityHashMap<Ship, Dock> docksByShip;
+    private IdentityHashMap<Job, Ship> shipsByJob;
+
+    // Jobs finished, which no longer count among the outstanding jobs of the aggregates
+    private Set<Job> finishedJobs;
+
     /**
      * Parameterized constructor
      * @param scannerContents Content of the <code>.txt</code> file
@@ -44,9 +97,52 @@ final class World extends Thing {
         super(scannerContents);
         this.setAllThings(new ArrayList<>());
         this.setPorts(new ArrayList<>());
+        this.setThingsByIndex(new HashMap<>());
+        this.setPendingByParent(new HashMap<>());
+        this.setSearchIndex(new ThingIndex());
+        this.setSkillIndex(new SkillIndex());
+        this.shipRangeIndex = new ShipRangeIndex();
+        this.shipSpatialIndex = new ShipSpatialIndex();
+        this.aggregates = new Aggregates();
+        this.docksByShip = new IdentityHashMap<>();
+        this.shipsByJob = new IdentityHashMap<>();
+        this.finishedJobs = Collections.newSetFromMap(new IdentityHashMap<>());
         this.process(scannerContents);
     }
 
+    /**
+     * Parameterized constructor, reading the contents of the <code>.txt</code> file through a
+     * <code>Reader</code> into a reused character buffer rather than line by line through a
+     * <code>Scanner</code>
+     * @param readerContents Content of the <code>.txt</code> file
+     * @throws IOException If the contents cannot be read
+     */
+    protected World(Reader readerContents) throws IOException {
+        this();
+        this.process(readerContents);
+    }
+
+    /**
+     * Default, no-parameters constructor, creating an empty world to be filled line by line via
+     * <code>processLine</code> by loaders that do not read through a <code>Scanner</code>.
+     * @see project1.MappedWorldLoader
+     */
+    protected World() {
+        super(new FieldTokenizer());
+        this.setAllThings(new ArrayList<>());
+        this.setPorts(new ArrayList<>());
+        this.setThingsByIndex(new HashMap<>());
+        this.setPendingByParent(new HashMap<>());
+        this.setSearchIndex(new ThingIndex());
+        this.setSkillIndex(new SkillIndex());
+        this.shipRangeIndex = new ShipRangeIndex();
+        this.shipSpatialIndex = new ShipSpatialIndex();
+        this.aggregates = new Aggregates();
+        this.docksByShip = new IdentityHashMap<>();
+        this.shipsByJob = new IdentityHashMap<>();
+        this.finishedJobs = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
     // Setters
 
     /**
@@ -76,6 +172,43 @@ final class World extends Thing {
         this.time = time;
     }
 
+    /**
+     * Setter for <code>thingsByIndex</code>, the registry mapping each index to its
+     * <code>Thing</code>.
+     * @param thingsByIndex <code>HashMap</code>
+     * @return void
+     */
+    private void setThingsByIndex(HashMap<Integer, Thing> thingsByIndex) {
+        this.thingsByIndex = thingsByIndex;
+    }
+
+    /**
+     * Setter for <code>pendingByParent</code>, the table of records awaiting their parents.
+     * @param pendingByParent <code>HashMap</code>
+     * @return void
+     */
+    private void setPendingByParent(HashMap<Integer, ArrayList<Thing>> pendingByParent) {
+        this.pendingByParent = pendingByParent;
+    }
+
+    /**
+     * Setter for <code>searchIndex</code>
+     * @param searchIndex <code>ThingIndex</code>
+     * @return void
+     */
+    private void setSearchIndex(ThingIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Setter for <code>skillIndex</code>
+     * @param skillIndex <code>SkillIndex</code>
+     * @return void
+     */
+    private void setSkillIndex(SkillIndex skillIndex) {
+        this.skillIndex = skillIndex;
+    }
+
     // Getters
 
     /**
@@ -103,8 +236,112 @@ final class World extends Thing {
         return this.time;
     }
 
+    /**
+     * Getter for <code>thingsByIndex</code>
+     * @return <code>this.thingsByIndex</code>
+     */
+    protected HashMap<Integer, Thing> getThingsByIndex() {
+        return this.thingsByIndex;
+    }
+
+    /**
+     * Getter for <code>pendingByParent</code>
+     * @return <code>this.pendingByParent</code>
+     */
+    protected HashMap<Integer, ArrayList<Thing>> getPendingByParent() {
+        return this.pendingByParent;
+    }
+
+    /**
+     * Getter for <code>searchIndex</code>, holding every <code>Thing</code> of
+     * <code>allThings</code> by name and by index.
+     * @see project1.SeaPortProgram
+     * @return <code>this.searchIndex</code>
+     */
+    protected ThingIndex getSearchIndex() {
+        return this.searchIndex;
+    }
+
+    /**
+     * Getter for <code>skillIndex</code>, relating skills to the linked <code>Person</code>s and
+     * <code>Job</code>s of each port.
+     * @see project1.SeaPortProgram
+     * @return <code>this.skillIndex</code>
+     */
+    protected SkillIndex getSkillIndex() {
+        return this.skillIndex;
+    }
+
+    /**
+     * Getter for <code>shipRangeIndex</code>, answering range and top-k queries upon the numeric
+     * attributes of the linked <code>Ship</code>s.
+     * @see project1.WorldQuery
+     * @return <code>this.shipRangeIndex</code>
+     */
+    protected ShipRangeIndex getShipRangeIndex() {
+        return this.shipRangeIndex;
+    }
+
+    /**
+     * Getter for <code>shipSpatialIndex</code>, answering nearest-neighbour and box queries upon
+     * the dimensions of the linked <code>Ship</code>s.
+     * @see project1.WorldQuery
+     * @return <code>this.shipSpatialIndex</code>
+     */
+    protected ShipSpatialIndex getShipSpatialIndex() {
+        return this.shipSpatialIndex;
+    }
+
+    /**
+     * Getter for <code>aggregates</code>, the running totals of every port of the world. Those of
+     * each port and dock are held by the port or dock itself.
+     * @return <code>this.aggregates</code>
+     */
+    protected Aggregates getAggregates() {
+        return this.aggregates;
+    }
+
+    /**
+     * Getter for <code>pendingCount</code>, the number of records whose parents have not yet
+     * appeared. Nonzero once loading is complete only if the file references missing parents.
+     * @return <code>this.pendingCount</code>
+     */
+    protected int getPendingCount() {
+        return this.pendingCount;
+    }
+
+    /**
+     * Getter for the <code>RecordType</code> registered under the given keyword, or
+     * <code>null</code> if no such record type exists.
+     * @param keyword <code>String</code>
+     * @return <code>RecordType</code>
+     */
+    protected static RecordType<? extends Thing> getRecordType(String keyword) {
+        return RECORD_TYPES.get(keyword);
+    }
+
+    /**
+     * Getter for every registered <code>RecordType</code>, in order of registration
+     * @return <code>Collection</code>
+     */
+    protected static Collection<RecordType<? extends Thing>> getRecordTypes() {
+        return Collections.unmodifiableCollection(RECORD_TYPES.values());
+    }
+
     // Handlers
 
+    /**
+     * Registers a new kind of record, making it available to every subsequently processed file.
+     * Registering a keyword that already exists replaces the previous entry.
+     *
+     * @param recordType <code>RecordType</code>
+     * @return void
+     */
+    protected static void registerRecordType(RecordType<? extends Thing> recordType) {
+        RECORD_TYPES.put(recordType.getKeyword(), recordType);
+        RECORD_TYPES_BY_CLASS.put(recordType.getThingClass(), recordType);
+    }
+
     /**
      * This is the main method of the <code>World</code> class, invoked after the definitions of the
      * <code>ArrayList</code>s <code>allThings</code> and <code>ports</code> in the body of the main
@@ -114,10 +351,14 @@ final class World extends Thing {
      * As per the rubric, it breaks down the contents of the user-inputted <code>.txt</code> file
      * into individual lines representing specific <code>Thing</code>s in the world, building
      * appropriate objects of the given type and moving those into the proper locations as per the
-     * organizational structure denoted on the first page of the Project 1 rubric. Blank lines are
-     * skipped and beginning/ending whitespace is removed prior to evaluation. Each new object is
-     * added to the global <code>allThings</code> listing and passed to an invoked utility handler
-     * that assigns the object to the proper location.
+     * organizational structure denoted on the first page of the Project 1 rubric. Rather than
+     * building a new <code>Scanner</code> for every line, a single <code>FieldTokenizer</code> is
+     * reused throughout. Blank and comment lines are skipped and beginning/ending whitespace is
+     * ignored prior to evaluation.
+     * <br />
+     * <br />
+     * Note that <code>Scanner.nextLine</code> still allocates a new <code>String</code> for every
+     * line, blank and comment lines included; the <code>Reader</code>-based overload does not.
      *
      * @param scannerContents Contents of the user-inputted <code>.txt</code> file
      * @return void
@@ -125,203 +366,724 @@ final class World extends Thing {
     private void process(Scanner scannerContents) {
 
         // Assorted method fields
-        String lineString;
-        Scanner lineContents;
+        FieldTokenizer lineContents = new FieldTokenizer();
 
         while (scannerContents.hasNextLine()) {
-            lineString = scannerContents.nextLine().trim(); // Remove spaces
+            lineContents.reset(scannerContents.nextLine());
 
-            // Avoid evaluating any blank lines if exist
-            if (lineString.length() == 0) {
-                continue;
+            // Avoid evaluating any blank or comment lines if exist
+            if (!lineContents.isBlankOrComment()) {
+                this.processLine(lineContents);
             }
+        }
+    }
 
-            // Scanner for each line's contents
-            lineContents = new Scanner(lineString);
-
-            if (lineContents.hasNext()) {
-
-                /**
-                 * Builds <code>Thing</code> objects & stuff, passing them to the appropriate adder
-                 * method. For ease of sorting later on, all <tt>Thing</tt>s are stuffed into an
-                 * <code>ArrayList</code>, namely <code>allThings</code>. The program iterates over
-                 * the structure in search of the proper input. It would be easier to use ye olde
-                 * <code>HashMap</code>s but this is simpler and more in line with the ethos of the
-                 * rubric.
-                 */
-                switch(lineContents.next().trim()) {
-                    case "port":
-                        SeaPort newSeaPort = new SeaPort(lineContents);
-                        this.getAllThings().add(newSeaPort);
-                        this.getPorts().add(newSeaPort);
-                        break;
-                    case "dock":
-                        Dock newDock = new Dock(lineContents);
-                        this.getAllThings().add(newDock);
-                        this.addThingToList(newDock, "getDocks");
-                        break;
-                    case "pship":
-                        PassengerShip newPassengerShip = new PassengerShip(lineContents);
-                        this.getAllThings().add(newPassengerShip);
-                        this.addShipToParent(newPassengerShip);
-                        break;
-                    case "cship":
-                        CargoShip newCargoShip = new CargoShip(lineContents);
-                        this.getAllThings().add(newCargoShip);
-                        this.addShipToParent(newCargoShip);
-                        break;
-                    case "person":
-                        Person newPerson = new Person(lineContents);
-                        this.getAllThings().add(newPerson);
-                        this.addThingToList(newPerson, "getPersons");
-                        break;
-                    case "job":
-                        Job newJob = new Job(lineContents);
-                        this.getAllThings().add(newJob);
-                        this.addJobToShip(newJob);
-                        break;
-                    default: // Added because required by Google styleguide
-                        break;
+    /**
+     * The <code>Reader</code>-based counterpart of the above method. The contents are read in
+     * large chunks into a single <code>char</code> array, within which lines are found by their
+     * terminating <code>\n</code> and copied directly into the reused <code>FieldTokenizer</code>,
+     * such that no <code>String</code> is built for any line. A trailing <code>\r</code> is left
+     * for the tokenizer to ignore as whitespace, as in <code>MappedWorldLoader</code>.
+     * <br />
+     * <br />
+     * A line left unfinished at the end of a chunk is moved to the front of the array before the
+     * next chunk is read in behind it, the array being doubled in size only if a single line
+     * should fill it entirely.
+     *
+     * @param readerContents Contents of the user-inputted <code>.txt</code> file
+     * @return void
+     * @throws IOException If the contents cannot be read
+     */
+    private void process(Reader readerContents) throws IOException {
+
+        // Assorted method fields
+        FieldTokenizer lineContents = new FieldTokenizer();
+        char[] buffer = new char[World.READ_BUFFER_SIZE];
+        int lineStart = 0, lineEnd = 0, limit = 0, read;
+
+        while ((read = readerContents.read(buffer, limit, buffer.length - limit)) != -1) {
+            limit += read;
+
+            for (; lineEnd < limit; lineEnd++) {
+                if (buffer[lineEnd] == '\n') {
+                    this.processLine(lineContents, buffer, lineStart, lineEnd);
+                    lineStart = lineEnd + 1;
                 }
             }
+
+            // Carry the unfinished line over to the front, or make room for more of it
+            if (lineStart > 0) {
+                System.arraycopy(buffer, lineStart, buffer, 0, limit - lineStart);
+                limit -= lineStart;
+                lineEnd -= lineStart;
+                lineStart = 0;
+            } else if (limit == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+
+        // The last line need not be terminated
+        if (lineStart < limit) {
+            this.processLine(lineContents, buffer, lineStart, limit);
         }
     }
 
     /**
-     * Generic method based on the example provided in the project design rubric. This method
-     * accepts an <code>ArrayList</code> of <code>Thing</code> type objects and sorts through them
-     * in search of the object with an index matching the input index. The use of this method was
-     * initially conceived of as a means of reducing code repetition as it existed in the program
-     * prior to the method's use.
+     * Loads the given range of a <code>char</code> array into the <code>FieldTokenizer</code> and
+     * handles it unless it is blank or a comment.
      *
-     * @param <T> extends <code>Thing</code>
-     * @param thingsList <code>ArrayList</code>
-     * @param index <code>int</code>
-     * @return <code>thing</code> <code>T</code>
+     * @param lineContents Reused <code>FieldTokenizer</code>
+     * @param chars <code>char[]</code>
+     * @param start Index of the line's first character
+     * @param end Index one past the line's last character
+     * @return void
+     */
+    private void processLine(FieldTokenizer lineContents, char[] chars, int start, int end) {
+        lineContents.reset(chars, start, end - start);
+
+        // Avoid evaluating any blank or comment lines if exist
+        if (!lineContents.isBlankOrComment()) {
+            this.processLine(lineContents);
+        }
+    }
+
+    /**
+     * Handles a single non-blank line loaded into the given <code>FieldTokenizer</code>. Builds
+     * <code>Thing</code> objects & stuff, passing them to the appropriate adder method as bound in
+     * the <code>RECORD_TYPES</code> dispatch table. The keyword is matched in place against each
+     * registered record type, so lines whose keyword matches none of them are skipped without
+     * allocating.
+     *
+     * @param lineContents <code>FieldTokenizer</code> holding the line
+     * @return void
      */
-    private <T extends Thing> T getImmediateParentByIndex(ArrayList<T> thingsList, int index) {
-        for (T thing : thingsList) {
-            if (thing.getIndex() == index) {
-                return thing;
+    protected void processLine(FieldTokenizer lineContents) {
+        RecordType<? extends Thing> recordType = World.matchRecordType(lineContents);
+
+        if (recordType != null) {
+            this.processRecord(recordType, lineContents);
+        }
+    }
+
+    /**
+     * Matches the next field of the given <code>FieldTokenizer</code> in place against the keyword
+     * of each registered record type, consuming it on success. Used both by
+     * <code>processLine</code> and by loaders that parse records apart from linking them.
+     *
+     * @param lineContents <code>FieldTokenizer</code> holding the line
+     * @return The matching <code>RecordType</code>, or <code>null</code> if none match
+     */
+    protected static RecordType<? extends Thing> matchRecordType(FieldTokenizer lineContents) {
+        for (RecordType<? extends Thing> recordType : RECORD_TYPES.values()) {
+            if (lineContents.nextEquals(recordType.getKeyword())) {
+                lineContents.skip();
+                return recordType;
             }
         }
         return null;
     }
 
     /**
-     * Another generic method used to get assorted <code>Thing</code> subclass objects from their
-     * appropriate <code>SeaPort</code> <code>ArrayList</code>s. Accepts an index and a
-     * <code>String</code> representation of a method and relies upon the lower-level method
-     * <code>getImmediateParentByIndex</code> within the body of the <code>for in</code> loop.
+     * Builds a single record via its <code>RecordType</code>'s factory and passes it on to
+     * <code>addRecord</code>.
+     *
+     * @param <T> extends <code>Thing</code>
+     * @param recordType <code>RecordType</code>
+     * @param lineContents The record's contents following the keyword
+     * @return void
+     */
+    private <T extends Thing> void processRecord(RecordType<T> recordType,
+            FieldSource lineContents) {
+        this.addRecord(recordType, recordType.build(lineContents));
+    }
+
+    /**
+     * Adds a previously built object to the global <code>allThings</code> listing and the
+     * <code>searchIndex</code> and passes it on to <code>linkThing</code>. Loaders that parse
+     * records in parallel call this method in file order once parsing is complete, producing a
+     * world identical to a sequential load.
+     *
+     * @param <T> extends <code>Thing</code>
+     * @param recordType <code>RecordType</code>
+     * @param newThing <code>T</code>
+     * @return void
+     */
+    protected <T extends Thing> void addRecord(RecordType<T> recordType, T newThing) {
+        this.getAllThings().add(newThing);
+        this.getSearchIndex().add(newThing);
+        this.linkThing(recordType, newThing);
+    }
+
+    /**
+     * Passes an object to its record type's linker, which assigns the object to the proper
+     * location. Records may arrive in any order, so if the object's parent has not yet appeared,
+     * the object is placed in <code>pendingByParent</code> under the parent's index instead.
+     * Otherwise, the object is added to the <code>thingsByIndex</code> registry and any records
+     * awaiting it are linked in turn. As only linked objects are registered, a registered parent
+     * is always fully attached to its own ancestors.
+     * <br />
+     * <br />
+     * <code>WorldSnapshot</code> links those restored records not placed in the hierarchy via
+     * this method directly, after restoring the others via <code>restorePort</code> and its kin,
+     * and only then supplies <code>allThings</code> via <code>restoreAllThings</code>.
+     *
+     * @param recordType <code>RecordType</code> of the object
+     * @param newThing <code>Thing</code>
+     * @return void
+     */
+    protected void linkThing(RecordType<? extends Thing> recordType, Thing newThing) {
+        if (recordType.link(this, newThing)) {
+            this.getThingsByIndex().put(newThing.getIndex(), newThing);
+            this.resolvePending(newThing.getIndex());
+        } else {
+            this.getPendingByParent()
+                .computeIfAbsent(newThing.getParent(), (Integer index) -> new ArrayList<>())
+                .add(newThing);
+            this.pendingCount++;
+        }
+    }
+
+    /**
+     * Replaces <code>allThings</code> with the given records, each of which must already have been
+     * restored or passed to <code>linkThing</code>, and rebuilds <code>searchIndex</code> in file
+     * order from the stored indices of the records, such that the records themselves need not be
+     * visited.
+     *
+     * @param records Every record of the world, in order of restoration
+     * @param order Position within <code>records</code> of each record, in file order
+     * @param indices Index of each record, in file order
+     * @return void
+     */
+    protected void restoreAllThings(Thing[] records, int[] order, int[] indices) {
+        Thing[] ordered = new Thing[order.length];
+
+        for (int i = 0; i < order.length; i++) {
+            ordered[i] = records[order[i]];
+        }
+
+        this.setAllThings(new ArrayList<>(Arrays.asList(ordered)));
+        this.setSearchIndex(new ThingIndex(ordered, indices));
+    }
+
+    /**
+     * Sizes the <code>thingsByIndex</code> registry of an empty world for the given number of
+     * records, such that it need never grow while they are restored.
+     *
+     * @param records <code>int</code>
+     * @return void
+     */
+    protected void ensureCapacity(int records) {
+        if (this.getThingsByIndex().isEmpty()) {
+            this.setThingsByIndex(new HashMap<>(Math.max(16, (int) (records / 0.75f) + 1)));
+        }
+    }
+
+    /**
+     * Restores a port, whose docks, ships with their jobs, and persons are then restored in turn
+     * via the methods below. Unlike <code>linkThing</code>, these methods look up no parent, as
+     * <code>WorldSnapshot</code> supplies the place of each record directly, and resolve no
+     * pending records, as no record placed in the hierarchy was pending when the snapshot was
+     * written. Each record is still registered in <code>thingsByIndex</code> and every other index,
+     * and counted in the <code>Aggregates</code>, exactly as when linked.
+     *
+     * @param port <code>SeaPort</code>
+     * @param docks Number of docks of the port
+     * @param ships Number of ships of the port
+     * @param persons Number of persons of the port
+     * @return void
+     */
+    protected void restorePort(SeaPort port, int docks, int ships, int persons) {
+        this.getPorts().add(port);
+        this.getThingsByIndex().put(port.getIndex(), port);
+        port.getDocks().ensureCapacity(docks);
+        port.getShips().ensureCapacity(ships);
+        port.getPersons().ensureCapacity(persons);
+    }
+
+    /**
+     * @param port The dock's <code>SeaPort</code>, already restored
+     * @param dock <code>Dock</code>
+     * @return void
+     */
+    protected void restoreDock(SeaPort port, Dock dock) {
+        port.getDocks().add(dock);
+        this.getThingsByIndex().put(dock.getIndex(), dock);
+    }
+
+    /**
+     * @param port The ship's <code>SeaPort</code>, already restored
+     * @param ship <code>Ship</code>
+     * @param dock The <code>Dock</code> at which the ship is moored, or <code>null</code>
+     * @param queued <code>true</code> if the ship is in its port's <code>que</code>
+     * @param jobs Number of jobs of the ship
+     * @return void
+     */
+    protected void restoreShip(SeaPort port, Ship ship, Dock dock, boolean queued, int jobs) {
+        ship.getJobs().ensureCapacity(jobs);
+        this.attachShip(port, ship, dock, queued);
+        this.getThingsByIndex().put(ship.getIndex(), ship);
+    }
+
+    /**
+     * @param port The <code>SeaPort</code> of the job's ship, already restored
+     * @param ship The job's <code>Ship</code>, already restored
+     * @param dock The <code>Dock</code> at which the ship is moored, or <code>null</code>
+     * @param job <code>Job</code>
+     * @return void
+     */
+    protected void restoreJob(SeaPort port, Ship ship, Dock dock, Job job) {
+        this.attachJob(port, ship, dock, job);
+        this.getThingsByIndex().put(job.getIndex(), job);
+    }
+
+    /**
+     * @param port The person's <code>SeaPort</code>, already restored
+     * @param person <code>Person</code>
+     * @return void
+     */
+    protected void restorePerson(SeaPort port, Person person) {
+        port.getPersons().add(person);
+        this.attachPerson(port, person);
+        this.getThingsByIndex().put(person.getIndex(), person);
+    }
+
+    /**
+     * Removes a single record from the world entirely, i.e. from <code>allThings</code>, the
+     * <code>searchIndex</code> and, if linked, the hierarchy and every other index. As is the case
+     * when a file references a missing parent, the record's children are left pending upon its
+     * index, and are relinked should a record bearing that index be added later.
+     *
+     * @param oldThing A record of this world
+     * @return void
+     */
+    protected void removeRecord(Thing oldThing) {
+        this.getAllThings().remove(oldThing);
+        this.getSearchIndex().remove(oldThing);
+        this.unlinkRecord(oldThing, new LinkedHashSet<>());
+        this.finishedJobs.remove(oldThing);
+    }
+
+    /**
+     * Applies a set of changes to the file from which the world was loaded, such as those found by
+     * <code>WorldReloader</code>. Removed records are removed as by <code>removeRecord</code> and
+     * added records are added as by <code>addRecord</code>, a changed record being both removed in
+     * its old form and added in its new one. As removals leave children pending and additions
+     * resolve them, a changed ship or dock regains its jobs and ships, or a ship whose parent has
+     * changed moves to its new dock or port, without those children themselves being touched.
+     * <br />
+     * <br />
+     * Rather than removing each record from <code>allThings</code> in turn, which would cost a scan
+     * per record, the caller supplies the new file order in full.
+     *
+     * @param removed Records of this world no longer in the file, or since changed
+     * @param added New records, not yet linked
+     * @param allThings Every record of the world once the changes are applied, in file order
+     * @return Every <code>SeaPort</code> whose contents may have changed
+     */
+    protected Set<SeaPort> applyChanges(List<Thing> removed, List<Thing> added,
+            ArrayList<Thing> allThings) {
+        LinkedHashSet<SeaPort> affectedPorts = new LinkedHashSet<>();
+        SeaPort affectedPort;
+
+        for (Thing oldThing : removed) {
+            this.getSearchIndex().remove(oldThing);
+            this.unlinkRecord(oldThing, affectedPorts);
+            this.finishedJobs.remove(oldThing);
+        }
+
+        this.setAllThings(allThings);
+        for (Thing newThing : added) {
+            this.getSearchIndex().add(newThing);
+            this.linkThing(RECORD_TYPES_BY_CLASS.get(newThing.getClass()), newThing);
+        }
+
+        // Only once all are linked, as a record may have been attached by a later one
+        for (Thing newThing : added) {
+            affectedPort = this.getPortOf(newThing);
+
+            if (affectedPort != null) {
+                affectedPorts.add(affectedPort);
+            }
+        }
+        return affectedPorts;
+    }
+
+    /**
+     * Removes a record from the hierarchy and every index but <code>searchIndex</code>. A pending
+     * record is merely removed from <code>pendingByParent</code>, while a linked one is detached
+     * via <code>detachThing</code>, after its port is noted.
+     *
+     * @param oldThing A record of this world
+     * @param affectedPorts <code>Set</code> receiving the record's port, if any
+     * @return void
+     */
+    private void unlinkRecord(Thing oldThing, Set<SeaPort> affectedPorts) {
+        ArrayList<Thing> siblings = this.getPendingByParent().get(oldThing.getParent());
+        SeaPort affectedPort;
+
+        if (siblings != null && siblings.remove(oldThing)) {
+            this.pendingCount--;
+
+            if (siblings.isEmpty()) {
+                this.getPendingByParent().remove(oldThing.getParent());
+            }
+            return;
+        }
+
+        affectedPort = this.getPortOf(oldThing);
+        if (affectedPort != null) {
+            affectedPorts.add(affectedPort);
+        }
+        this.detachThing(oldThing);
+    }
+
+    /**
+     * Detaches a linked record, which remains in <code>allThings</code>, and leaves it pending
+     * upon its parent's index. Used by unlinkers to detach the children of the record being
+     * unlinked, such that the children are relinked once their parent reappears.
+     *
+     * @param child A linked record
+     * @return void
+     */
+    protected void pendThing(Thing child) {
+        this.detachThing(child);
+        this.getPendingByParent()
+            .computeIfAbsent(child.getParent(), (Integer index) -> new ArrayList<>())
+            .add(child);
+        this.pendingCount++;
+    }
+
+    /**
+     * Passes a linked record to its record type's unlinker and then removes it from the
+     * <code>thingsByIndex</code> registry, in that order, such that the record's port may still be
+     * found while it and its children are detached.
+     *
+     * @param oldThing A linked record
+     * @return void
+     */
+    private void detachThing(Thing oldThing) {
+        RECORD_TYPES_BY_CLASS.get(oldThing.getClass()).unlink(this, oldThing);
+
+        if (this.getThingsByIndex().get(oldThing.getIndex()) == oldThing) {
+            this.getThingsByIndex().remove(oldThing.getIndex());
+        }
+    }
+
+    /**
+     * Relinks every record awaiting the parent with the given index, which has just been linked or
+     * otherwise changed such that its children may now be attached. Records that still cannot be
+     * attached are simply placed back in <code>pendingByParent</code>.
+     *
+     * @param index Index of the parent
+     * @return void
+     */
+    private void resolvePending(int index) {
+        ArrayList<Thing> pendingThings = this.getPendingByParent().remove(index);
+
+        if (pendingThings == null) {
+            return;
+        }
+
+        this.pendingCount -= pendingThings.size();
+        for (Thing pendingThing : pendingThings) {
+            this.linkThing(RECORD_TYPES_BY_CLASS.get(pendingThing.getClass()), pendingThing);
+        }
+    }
+
+    /**
+     * Records that the given job has finished, or has been found impossible to staff, as by a
+     * <code>JobEngine</code>, subtracting it from the outstanding jobs of its ship's port, of the
+     * dock at which its ship is moored, if any, and of the world. The job remains among its ship's
+     * jobs and its record is unchanged, but it is no longer counted should its ship moor elsewhere
+     * or it be unlinked and linked again. Only removing the record from the world forgets it.
+     * Must be invoked on the thread owning the world.
+     *
+     * @param ship The job's <code>Ship</code>
+     * @param job <code>Job</code>
+     * @return <code>true</code> if the job was outstanding, i.e. is still among the ship's jobs
+     *     and had not already finished
+     */
+    protected boolean finishJob(Ship ship, Job job) {
+        if (!ship.getJobs().contains(job) || !this.finishedJobs.add(job)) {
+            return false;
+        }
+
+        this.adjustJobAggregates(ship, job, -1);
+        return true;
+    }
+
+    /**
+     * @param job <code>Job</code>
+     * @return <code>true</code> unless the job has been finished via <code>finishJob</code>
+     */
+    protected boolean isOutstanding(Job job) {
+        return !this.finishedJobs.contains(job);
+    }
+
+    /**
+     * Moves the given queued ship onto the given free <code>Dock</code> of its port, as when the
+     * dock is allocated to it by a <code>DockAllocator</code>. The ship leaves its port's
+     * <code>que</code>, while its record is unchanged.
+     *
+     * @param ship A <code>Ship</code> in its port's <code>que</code>
+     * @param dock A free <code>Dock</code> of the same port
+     * @return <code>true</code> if the ship was moved
+     */
+    protected boolean moveShipToDock(Ship ship, Dock dock) {
+        SeaPort port = this.getPortOf(ship);
+
+        if (dock.getShip() != null || port == null || port.getIndex() != dock.getParent()
+                || !port.getQue().remove(ship)) {
+            return false;
+        }
+
+        port.getAggregates().adjustQueue(-1);
+        this.getAggregates().adjustQueue(-1);
+        this.moorShip(dock, ship);
+        return true;
+    }
+
+    /**
+     * Has the given ship leave the <code>Dock</code> at which it is moored, as once its jobs are
+     * done, freeing the dock for another ship. The ship remains among its port's ships, and its
+     * record is unchanged.
+     *
+     * @param ship <code>Ship</code>
+     * @return The <code>Dock</code> the ship has left, or <code>null</code> if it was not moored
+     */
+    protected Dock undockShip(Ship ship) {
+        Dock dock = this.docksByShip.get(ship);
+
+        if (dock != null) {
+            this.moorShip(dock, null);
+        }
+        return dock;
+    }
+
+    /**
+     * Moors the given ship at the given dock in place of any ship already moored there, moving
+     * the contributions of both ships and their outstanding jobs to the dock's
+     * <code>Aggregates</code> accordingly. Every change to the ship moored at a dock is made via
+     * this method, such that <code>docksByShip</code> always knows where each ship is moored.
+     *
+     * @param dock <code>Dock</code>
+     * @param ship <code>Ship</code>, or <code>null</code> to leave the dock free
+     * @return void
+     */
+    private void moorShip(Dock dock, Ship ship) {
+        Ship oldShip = dock.getShip();
+
+        if (oldShip != null) {
+            dock.getAggregates().adjustShipAndJobs(oldShip, this::isOutstanding, -1);
+            this.docksByShip.remove(oldShip);
+        }
+
+        dock.setShip(ship);
+
+        if (ship != null) {
+            dock.getAggregates().adjustShipAndJobs(ship, this::isOutstanding, 1);
+            this.docksByShip.put(ship, dock);
+        }
+    }
+
+    /**
+     * Adds or subtracts a linked job's contribution to the totals of its ship's port, of the dock
+     * at which its ship is moored, if any, and of the world.
+     *
+     * @param ship The job's <code>Ship</code>
+     * @param job <code>Job</code>
+     * @param sign <code>1</code> to add, or <code>-1</code> to subtract
+     * @return void
+     */
+    private void adjustJobAggregates(Ship ship, Job job, int sign) {
+        this.adjustJobAggregates(this.getPortOf(ship), this.docksByShip.get(ship), job, sign);
+    }
+
+    /**
+     * Adds or subtracts a job's contribution to the totals of the given port and dock, and of the
+     * world, where the ship's port and dock are already known.
+     *
+     * @param port The <code>SeaPort</code> of the job's ship
+     * @param dock The <code>Dock</code> at which the job's ship is moored, or <code>null</code>
+     * @param job <code>Job</code>
+     * @param sign <code>1</code> to add, or <code>-1</code> to subtract
+     * @return void
+     */
+    private void adjustJobAggregates(SeaPort port, Dock dock, Job job, int sign) {
+        port.getAggregates().adjustJob(job, sign);
+        this.getAggregates().adjustJob(job, sign);
+
+        if (dock != null) {
+            dock.getAggregates().adjustJob(job, sign);
+        }
+    }
+
+    /**
+     * Finds the <code>SeaPort</code> to which the given linked <code>Thing</code> ultimately
+     * belongs by following its chain of parents through the <code>thingsByIndex</code> registry,
+     * i.e. from a job to its ship, the ship's dock and the dock's port.
+     *
+     * @param thing A linked <code>Thing</code>
+     * @return <code>SeaPort</code>, or <code>null</code> if the chain is broken
+     */
+    protected SeaPort getPortOf(Thing thing) {
+        Thing current = thing;
+
+        while (current != null && !(current instanceof SeaPort)) {
+            current = this.getThingsByIndex().get(current.getParent());
+        }
+        return (SeaPort) current;
+    }
+
+    /**
+     * Generic lookup method that replaces the linear scans of the original rubric-inspired
+     * implementation. Rather than iterating over <code>ports</code> and every port's ships or docks
+     * in search of a matching index, the method consults the <code>thingsByIndex</code> registry
+     * filled as records are linked, making each parent resolution an O(1) operation. If the
+     * registered object is not an instance of the desired class, <code>null</code> is returned, as
+     * was the case when the old scans failed to find a match.
      *
-     * @see java.lang.reflect
      * @param <T> extends <code>Thing</code>
      * @param index <code>int</code>
-     * @param methodName <code>String</code>
+     * @param thingClass <code>Class</code> of the desired object
      * @return newThing <code>T</code>
      */
-    @SuppressWarnings("unchecked")
-    private <T extends Thing> T getThingByIndex(int index, String methodName) {
-
-        // Declarations
-        Method getList;
-        T newThing;
-        ArrayList<T> thingsList;
-
-        try {
-            // Either SeaPort.class.getShips or SeaPort.class.getDocks
-            getList = SeaPort.class.getDeclaredMethod(methodName);
-            for (SeaPort port : this.getPorts()) {
-
-                /**
-                 * Though it throws an unchecked cast error, my scouring of StackOverflow produced
-                 * no better ideas for how to convert <code>Object</code> to <code>ArrayList</code>,
-                 * hence the rationale for adding a <code>SuppressWarnings</code> tag to this
-                 * method and the related one following it.
-                 * @see /questions/11611120/return-arraylist-object-dynamically-in-java-reflection
-                 */
-                thingsList = (ArrayList<T>) getList.invoke(port);
-                newThing = this.getImmediateParentByIndex(thingsList, index);
-
-                if (newThing != null) {
-                    return newThing;
-                }
-            }
-        } catch (
-            NoSuchMethodException |
-            SecurityException |
-            IllegalAccessException |
-            IllegalArgumentException |
-            InvocationTargetException ex
-        ) {
-            System.out.println("Error: " + ex);
+    private <T extends Thing> T getThingByIndex(int index, Class<T> thingClass) {
+        Thing newThing = this.getThingsByIndex().get(index);
+
+        if (thingClass.isInstance(newThing)) {
+            return thingClass.cast(newThing);
         }
         return null;
     }
 
     /**
      * Generic addition method that replaces a fair bit of copy/pasta methods that were basically
-     * identical. Accepts a new <code>Thing</code> subclass object and a <code>String</code>
-     * representation of a declared method as parameters, allowing for the selection of the proper
-     * <code>SeaPort</code> <code>ArrayList</code> getter method depending on input.
+     * identical. Accepts a new <code>Thing</code> subclass object and a typed reference to the
+     * <code>SeaPort</code> <code>ArrayList</code> getter into which it should be placed, i.e.
+     * <code>SeaPort::getDocks</code> or <code>SeaPort::getPersons</code>. Earlier versions looked
+     * the getter up by name via reflection for every record.
      *
-     * @see java.lang.reflect
      * @param <T> extends <code>Thing</code>
      * @param newThing <code>T</code>
-     * @param methodName <code>String</code>
+     * @param getList <code>Function</code> returning the port's <code>ArrayList</code>
+     * @return <code>true</code> if the parent port exists
      */
-    @SuppressWarnings("unchecked")
-    private <T extends Thing> void addThingToList(T newThing, String methodName) {
+    private <T extends Thing> boolean addThingToList(T newThing,
+            Function<SeaPort, ArrayList<T>> getList) {
+        SeaPort newPort = this.getThingByIndex(newThing.getParent(), SeaPort.class);
 
-        // Declarations
-        SeaPort newPort;
-        ArrayList<T> thingsList;
-        Method getList;
+        if (newPort == null) {
+            return false;
+        }
 
-        // Definition
-        newPort = this.getImmediateParentByIndex(this.getPorts(), newThing.getParent());
+        getList.apply(newPort).add(newThing);
+        return true;
+    }
 
-        try {
-            // Either SeaPort.class.getPersons() or SeaPort.class.getDocks();
-            getList = SeaPort.class.getDeclaredMethod(methodName);
+    /**
+     * Linker for <code>port</code> records, which have no parent and are simply added to the
+     * <code>ports</code> listing.
+     *
+     * @param newSeaPort <code>SeaPort</code>
+     * @return <code>true</code>
+     */
+    private boolean addPort(SeaPort newSeaPort) {
+        return this.getPorts().add(newSeaPort);
+    }
 
-            // See casting comment in above method
-            thingsList = (ArrayList<T>) getList.invoke(newPort); // newPort.getList()
+    /**
+     * Linker for <code>dock</code> records
+     *
+     * @param newDock <code>Dock</code>
+     * @return <code>true</code> if the parent port exists
+     */
+    private boolean addDock(Dock newDock) {
+        return this.addThingToList(newDock, SeaPort::getDocks);
+    }
 
-            if (newPort != null) {
-                thingsList.add(newThing);
-            }
-        } catch (
-            NoSuchMethodException |
-            SecurityException |
-            IllegalAccessException |
-            IllegalArgumentException |
-            InvocationTargetException ex
-        ) {
-            System.out.println("Error: " + ex);
+    /**
+     * Linker for <code>person</code> records, which are also indexed by skill at their port and
+     * added to the port's available skills
+     *
+     * @param newPerson <code>Person</code>
+     * @return <code>true</code> if the parent port exists
+     */
+    private boolean addPerson(Person newPerson) {
+        SeaPort newPort;
+
+        if (!this.addThingToList(newPerson, SeaPort::getPersons)) {
+            return false;
         }
+
+        newPort = this.getPortOf(newPerson);
+        this.attachPerson(newPort, newPerson);
+        return true;
+    }
+
+    /**
+     * Adds a person, already among its port's persons, to the port's available skills, the skill
+     * index and the aggregates of the port and the world.
+     *
+     * @param port The person's <code>SeaPort</code>
+     * @param person <code>Person</code>
+     * @return void
+     */
+    private void attachPerson(SeaPort port, Person person) {
+        port.addAvailableSkill(person.getSkillId());
+        port.getAggregates().adjustPersons(1);
+        this.getAggregates().adjustPersons(1);
+        this.getSkillIndex().addPerson(port, person);
     }
 
     /**
      * This method was a tricky one, and is similar in scope to the method below. In some cases, the
      * value of <code>getParent</code> for the new <code>Job</code> instance will not match that of
-     * an extant ship in any <code>SeaPort</code>'s <code>getShips()</code> <code>ArrayList</code>,
-     * so the method must check each port's docks for moored ships, find the ship, and add the
-     * new job to that ship.
+     * an extant ship, but rather that of a <code>Dock</code>, so the method must check whether the
+     * registered parent is a dock, find its moored ship, and add the new job to that ship. If
+     * neither the ship nor a dock with a moored ship has yet appeared, the job is left pending.
+     * Once attached, the job is indexed under each of its requirements at its ship's port.
      *
      * @param newJob <code>Job</code>
-     * @return void
+     * @return <code>true</code> if the job's ship was found
      */
-    private void addJobToShip(Job newJob) {
+    private boolean addJobToShip(Job newJob) {
         Dock newDock;
-        Ship newShip = this.getThingByIndex(newJob.getParent(), "getShips");
+        Ship newShip = this.getThingByIndex(newJob.getParent(), Ship.class);
 
-        if (newShip != null) {
-            newShip.getJobs().add(newJob);
-        } else {
-            newDock = this.getThingByIndex(newJob.getParent(), "getDocks");
-            newDock.getShip().getJobs().add(newJob);
+        if (newShip == null) {
+            newDock = this.getThingByIndex(newJob.getParent(), Dock.class);
+
+            if (newDock == null || newDock.getShip() == null) {
+                return false;
+            }
+            newShip = newDock.getShip();
         }
+
+        this.attachJob(this.getPortOf(newShip), newShip, this.docksByShip.get(newShip), newJob);
+        return true;
+    }
+
+    /**
+     * Adds a job to its ship's jobs, to the aggregates of the ship's port and dock and of the
+     * world unless already finished, and to the skill index under each of its requirements. The
+     * ship is recorded in <code>shipsByJob</code>, as that of a job named after a dock need not
+     * remain moored there.
+     *
+     * @param port The <code>SeaPort</code> of the job's ship
+     * @param ship The job's <code>Ship</code>
+     * @param dock The <code>Dock</code> at which the ship is moored, or <code>null</code>
+     * @param job <code>Job</code>
+     * @return void
+     */
+    private void attachJob(SeaPort port, Ship ship, Dock dock, Job job) {
+        ship.getJobs().add(job);
+        this.shipsByJob.put(job, ship);
+
+        if (this.isOutstanding(job)) {
+            this.adjustJobAggregates(port, dock, job, 1);
+        }
+        this.getSkillIndex().addJob(port, job);
     }
 
     /**
@@ -331,39 +1093,191 @@ final class World extends Thing {
      * <code>null</code>), then we add it to the all ships <code>ArrayList</code> <code>ships</code>
      * and add it to the queue (<code>getQue()</code>). If the ship is moored, we add it to the all
      * ships listing and set the value of the specific <code>Dock</code>'s <code>getShip()</code> as
-     * the ship.
+     * the ship. Jobs pending on the dock itself are then resolved, as they may now be attached to
+     * the moored ship. If neither a dock nor a port with the ship's parent index has yet appeared,
+     * the ship is left pending.
      *
      * @param newship <code>Ship</code>
-     * return void
+     * @return <code>true</code> if the ship's dock or port was found
      */
-    private void addShipToParent(Ship newShip) {
+    private boolean addShipToParent(Ship newShip) {
         SeaPort myPort;
-        Dock myDock = this.getThingByIndex(newShip.getParent(), "getDocks");
+        Dock myDock = this.getThingByIndex(newShip.getParent(), Dock.class);
 
         if (myDock == null) {
-            myPort = this.getImmediateParentByIndex(this.getPorts(), newShip.getParent());
-            myPort.getShips().add(newShip);
-            myPort.getQue().add(newShip);
+            myPort = this.getThingByIndex(newShip.getParent(), SeaPort.class);
+
+            if (myPort == null) {
+                return false;
+            }
         } else {
-            myPort = this.getImmediateParentByIndex(this.getPorts(), myDock.getParent());
-            myDock.setShip(newShip);
-            myPort.getShips().add(newShip);
+            myPort = this.getThingByIndex(myDock.getParent(), SeaPort.class);
         }
+
+        this.attachShip(myPort, newShip, myDock, myDock == null);
+
+        if (myDock != null) {
+            this.resolvePending(myDock.getIndex());
+        }
+        return true;
+    }
+
+    /**
+     * Adds a ship to its port's ships, and to its port's <code>que</code> or moors it at the given
+     * dock, as applicable, then adds it to the aggregates of the port and the world and to the
+     * range and spatial indexes.
+     *
+     * @param port The ship's <code>SeaPort</code>
+     * @param ship <code>Ship</code>
+     * @param dock The <code>Dock</code> at which to moor the ship, or <code>null</code>
+     * @param queued <code>true</code> to add the ship to its port's <code>que</code>
+     * @return void
+     */
+    private void attachShip(SeaPort port, Ship ship, Dock dock, boolean queued) {
+        port.getShips().add(ship);
+
+        if (queued) {
+            port.getQue().add(ship);
+            port.getAggregates().adjustQueue(1);
+            this.getAggregates().adjustQueue(1);
+        }
+
+        if (dock != null) {
+            this.moorShip(dock, ship);
+        }
+
+        port.getAggregates().adjustShip(ship, 1);
+        this.getAggregates().adjustShip(ship, 1);
+        this.getShipRangeIndex().add(ship);
+        this.getShipSpatialIndex().add(ship);
+    }
+
+    /**
+     * Unlinker for <code>port</code> records, leaving each of the port's docks, ships and persons
+     * pending. Docks are detached first, taking their moored ships with them.
+     *
+     * @param oldPort <code>SeaPort</code>
+     * @return void
+     */
+    private void removePort(SeaPort oldPort) {
+        this.getPorts().remove(oldPort);
+
+        for (Dock dock : new ArrayList<>(oldPort.getDocks())) {
+            this.pendThing(dock);
+        }
+
+        for (Ship ship : new ArrayList<>(oldPort.getShips())) {
+            this.pendThing(ship);
+        }
+
+        for (Person person : new ArrayList<>(oldPort.getPersons())) {
+            this.pendThing(person);
+        }
+    }
+
+    /**
+     * Unlinker for <code>dock</code> records. Every ship moored at the dock is left pending, not
+     * only that currently held by <code>getShip()</code>, as a later ship naming the same dock
+     * replaces an earlier one there without removing it from its port.
+     *
+     * @param oldDock <code>Dock</code>
+     * @return void
+     */
+    private void removeDock(Dock oldDock) {
+        SeaPort myPort = this.getThingByIndex(oldDock.getParent(), SeaPort.class);
+
+        for (Ship ship : new ArrayList<>(myPort.getShips())) {
+            if (ship.getParent() == oldDock.getIndex()) {
+                this.pendThing(ship);
+            }
+        }
+        myPort.getDocks().remove(oldDock);
+    }
+
+    /**
+     * Unlinker for <code>person</code> records, which are also removed from the skill index and the
+     * port's available skills
+     *
+     * @param oldPerson <code>Person</code>
+     * @return void
+     */
+    private void removePerson(Person oldPerson) {
+        SeaPort myPort = this.getThingByIndex(oldPerson.getParent(), SeaPort.class);
+
+        myPort.getPersons().remove(oldPerson);
+        myPort.removeAvailableSkill(oldPerson.getSkillId());
+        myPort.getAggregates().adjustPersons(-1);
+        this.getAggregates().adjustPersons(-1);
+        this.getSkillIndex().removePerson(myPort, oldPerson);
+    }
+
+    /**
+     * Unlinker for <code>job</code> records, the inverse of <code>addJobToShip</code>. A job named
+     * after a dock belongs to whichever ship was moored there when the job was linked, which may
+     * since have been undocked or moved elsewhere by <code>moveShipToDock</code>, so the ship is
+     * taken from <code>shipsByJob</code> rather than looked up by the job's parent.
+     *
+     * @param oldJob <code>Job</code>
+     * @return void
+     */
+    private void removeJobFromShip(Job oldJob) {
+        Ship myShip = this.shipsByJob.remove(oldJob);
+
+        if (myShip == null) {
+            return;
+        }
+
+        this.getSkillIndex().removeJob(this.getPortOf(myShip), oldJob);
+        if (this.isOutstanding(oldJob)) {
+            this.adjustJobAggregates(myShip, oldJob, -1);
+        }
+        myShip.getJobs().remove(oldJob);
+    }
+
+    /**
+     * Unlinker for ship records, the inverse of <code>addShipToParent</code>. The ship's jobs are
+     * left pending, after which the ship is removed from its port's listings and from whichever of
+     * the port's docks it is moored at, which, once moved by <code>moveShipToDock</code>, need not
+     * be that of its record. Its contribution to the aggregates of the port and the world is
+     * subtracted in turn, as is that of its jobs when they are left pending.
+     *
+     * @param oldShip <code>Ship</code>
+     * @return void
+     */
+    private void removeShipFromParent(Ship oldShip) {
+        SeaPort myPort = this.getPortOf(oldShip);
+
+        for (Job job : new ArrayList<>(oldShip.getJobs())) {
+            this.pendThing(job);
+        }
+
+        myPort.getShips().remove(oldShip);
+        if (myPort.getQue().remove(oldShip)) {
+            myPort.getAggregates().adjustQueue(-1);
+            this.getAggregates().adjustQueue(-1);
+        }
+
+        this.undockShip(oldShip);
+        myPort.getAggregates().adjustShip(oldShip, -1);
+        this.getAggregates().adjustShip(oldShip, -1);
+        this.getShipRangeIndex().remove(oldShip);
+        this.getShipSpatialIndex().remove(oldShip);
     }
 
     // Overridden methods
 
     /**
      * @inheritdoc
-     * @return <code>stringOutput</code>
+     * @param output <code>Appendable</code>
+     * @return void
      */
     @Override
-    public String toString() {
-        String stringOutput = ">>>>> The world:\n";
+    protected void appendTo(Appendable output) throws IOException {
+        output.append(">>>>> The world:\n");
 
         for (SeaPort seaPort : this.getPorts()) {
-            stringOutput += seaPort.toString() + "\n";
+            seaPort.appendTo(output);
+            output.append("\n");
         }
-        return stringOutput;
     }
 }
\ No newline at end of file
@@ -0,0 +1,304 @@
+/**
+ * WorldLoadWorker.java - Class for <code>WorldLoadWorker</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import javax.swing.JProgressBar;
+import javax.swing.SwingWorker;
+
+/**
+ * This class moves the loading of a <code>World</code> off of the event dispatch thread, such that
+ * the GUI remains responsive while a large file is read. The load itself is performed by a
+ * <code>MappedWorldLoader</code>, in parallel if more than one processor is available, whose
+ * progress reports are forwarded to a <code>JProgressBar</code> as a percentage of bytes read and
+ * a running count of records.
+ * <br />
+ * <br />
+ * Should a current <code>WorldSnapshot</code> of the file exist, the world is restored from it
+ * instead of being parsed. Otherwise, once the text has been parsed, a snapshot is written for
+ * subsequent loads. Snapshots being a mere cache, a snapshot that cannot be read or written does
+ * not fail the load, but is reported on the progress bar alongside the number of records loaded,
+ * i.e. if it is corrupt, truncated or of another version. Nor is a snapshot written should the
+ * file have changed while it was parsed, as the world would no longer match the file.
+ * <br />
+ * <br />
+ * The partially built <code>World</code> is never exposed to the GUI. Only once the load has
+ * completed is the finished instance handed, on the event dispatch thread, to the
+ * <code>onLoaded</code> callback, which publishes it in a single step. A cancelled or failed load
+ * instead leaves any previously loaded world untouched, with failures, but not cancellations,
+ * reported to <code>onFailed</code>. Listeners awaiting the end of the load in any case may observe
+ * the worker's <code>state</code> property.
+ * <br />
+ * <br />
+ * Class extends <code>SwingWorker</code>
+ * @see javax.swing.SwingWorker
+ * @author Andrew Eissen
+ */
+final class WorldLoadWorker extends SwingWorker<World, String> {
+
+    // Loading-related fields
+    private MappedWorldLoader loader;
+    private JProgressBar progressBar;
+
+    // Callback-related fields
+    private Consumer<World> onLoaded;
+    private Consumer<String> onFailed;
+
+    // Why the snapshot could not be read or written, if it could not
+    private String snapshotProblem;
+
+    /**
+     * Parameterized constructor
+     * @param file The <code>File</code> to load
+     * @param progressBar <code>JProgressBar</code> displaying the load's progress
+     * @param onLoaded <code>Consumer</code> receiving the finished, non-empty <code>World</code>
+     * @param onFailed <code>Consumer</code> receiving an error message should the load not succeed
+     */
+    protected WorldLoadWorker(File file, JProgressBar progressBar, Consumer<World> onLoaded,
+            Consumer<String> onFailed) {
+        this.setLoader(new MappedWorldLoader(file));
+        this.setProgressBar(progressBar);
+        this.setOnLoaded(onLoaded);
+        this.setOnFailed(onFailed);
+    }
+
+    // Setters
+
+    /**
+     * Setter for <code>loader</code>
+     * @param loader <code>MappedWorldLoader</code>
+     * @return void
+     */
+    private void setLoader(MappedWorldLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Setter for <code>progressBar</code>
+     * @param progressBar <code>JProgressBar</code>
+     * @return void
+     */
+    private void setProgressBar(JProgressBar progressBar) {
+        this.progressBar = progressBar;
+    }
+
+    /**
+     * Setter for <code>onLoaded</code>
+     * @param onLoaded <code>Consumer</code>
+     * @return void
+     */
+    private void setOnLoaded(Consumer<World> onLoaded) {
+        this.onLoaded = onLoaded;
+    }
+
+    /**
+     * Setter for <code>onFailed</code>
+     * @param onFailed <code>Consumer</code>
+     * @return void
+     */
+    private void setOnFailed(Consumer<String> onFailed) {
+        this.onFailed = onFailed;
+    }
+
+    /**
+     * Setter for <code>snapshotProblem</code>
+     * @param snapshotProblem <code>String</code>
+     * @return void
+     */
+    private void setSnapshotProblem(String snapshotProblem) {
+        this.snapshotProblem = snapshotProblem;
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>loader</code>
+     * @return <code>this.loader</code>
+     */
+    protected MappedWorldLoader getLoader() {
+        return this.loader;
+    }
+
+    /**
+     * Getter for <code>progressBar</code>
+     * @return <code>this.progressBar</code>
+     */
+    protected JProgressBar getProgressBar() {
+        return this.progressBar;
+    }
+
+    /**
+     * Getter for <code>onLoaded</code>
+     * @return <code>this.onLoaded</code>
+     */
+    protected Consumer<World> getOnLoaded() {
+        return this.onLoaded;
+    }
+
+    /**
+     * Getter for <code>onFailed</code>
+     * @return <code>this.onFailed</code>
+     */
+    protected Consumer<String> getOnFailed() {
+        return this.onFailed;
+    }
+
+    /**
+     * Getter for <code>snapshotProblem</code>
+     * @return <code>this.snapshotProblem</code>, or <code>null</code> if there was none
+     */
+    protected String getSnapshotProblem() {
+        return this.snapshotProblem;
+    }
+
+    // Handlers
+
+    /**
+     * Abandons the load. As <code>SwingWorker.cancel</code> is <code>final</code>, this method
+     * first flags the <code>MappedWorldLoader</code> so that the background thread stops at its
+     * next cancellation check rather than relying upon interruption, which memory-mapped reads do
+     * not observe.
+     *
+     * @return void
+     */
+    protected void cancelLoad() {
+        this.getLoader().cancel();
+        this.cancel(false);
+    }
+
+    /**
+     * Notes the cancellation of the load on the progress bar. No callback is invoked, as the
+     * previously loaded world, if any, remains in place.
+     *
+     * @return void
+     */
+    private void displayCancelled() {
+        this.getProgressBar().setValue(0);
+        this.getProgressBar().setString("Load cancelled");
+    }
+
+    // Overridden methods
+
+    /**
+     * Loads the world on a background thread, from its snapshot if possible, forwarding progress
+     * reports via <code>setProgress</code> and <code>publish</code>.
+     *
+     * @return The finished <code>World</code>
+     * @throws Exception If the file cannot be read or the load is cancelled
+     */
+    @Override
+    protected World doInBackground() throws Exception {
+        File file = this.getLoader().getFile();
+        World world;
+        long length, lastModified;
+
+        try {
+            world = WorldSnapshot.read(file);
+        } catch (IOException ex) {
+            world = null;
+            this.setSnapshotProblem("snapshot ignored: " + ex.getMessage());
+            this.publish(this.getSnapshotProblem());
+        }
+
+        if (world != null) {
+            this.setProgress(100);
+            return world;
+        }
+
+        // Stamped on the snapshot, as read before the file is parsed
+        length = file.length();
+        lastModified = file.lastModified();
+
+        this.getLoader().setProgressListener((long bytesRead, long totalBytes, int records) -> {
+            this.setProgress((totalBytes == 0)
+                ? 100
+                : (int) Math.min(100L, bytesRead * 100L / totalBytes));
+            this.publish(String.format("%,d records", records));
+        });
+
+        world = (Runtime.getRuntime().availableProcessors() > 1)
+            ? this.getLoader().loadParallel()
+            : this.getLoader().load();
+
+        if (file.length() != length || file.lastModified() != lastModified) {
+            this.setSnapshotProblem("snapshot not written: file changed during load");
+        } else if (!world.getAllThings().isEmpty()) {
+            this.publish("writing snapshot");
+            try {
+                WorldSnapshot.write(world, file, length, lastModified);
+            } catch (IOException ex) {
+                // Leave the next load to parse the text again
+                this.setSnapshotProblem("snapshot not written: " + ex.getMessage());
+            }
+        }
+        return world;
+    }
+
+    /**
+     * Displays the most recent progress report, discarding any older ones coalesced with it.
+     *
+     * @param chunks Progress reports published since the last invocation
+     * @return void
+     */
+    @Override
+    protected void process(List<String> chunks) {
+        this.getProgressBar().setValue(this.getProgress());
+        this.getProgressBar().setString(this.getProgress() + "% (" + chunks.get(chunks.size() - 1)
+            + ")");
+    }
+
+    /**
+     * Publishes the finished <code>World</code>, or reports why there is none, on the event
+     * dispatch thread.
+     *
+     * @return void
+     */
+    @Override
+    protected void done() {
+        World world;
+
+        try {
+            world = this.get();
+        } catch (CancellationException ex) {
+            this.displayCancelled();
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            this.displayCancelled();
+            return;
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof CancellationException) {
+                this.displayCancelled();
+            } else if (ex.getCause() instanceof NoSuchFileException) {
+                this.getOnFailed().accept("Error: No such file found. Please try again.");
+            } else {
+                this.getOnFailed().accept("Error: File could not be read. Please try again.");
+            }
+            return;
+        }
+
+        this.getProgressBar().setValue(100);
+        this.getProgressBar().setString(String.format("Loaded %,d records",
+            world.getAllThings().size()) + ((this.getSnapshotProblem() == null)
+                ? ""
+                : " (" + this.getSnapshotProblem() + ")"));
+
+        // Forbid users from using a text file that is not in the proper format
+        if (world.getAllThings().isEmpty()) {
+            this.getOnFailed().accept("Error: File data may be empty or corrupted. Please try "
+                + "again.");
+        } else {
+            this.getOnLoaded().accept(world);
+        }
+    }
+}
@@ -0,0 +1,802 @@
+/**
+ * WorldQuery.java - Class for <code>WorldQuery</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class represents a compiled query over the contents of a <code>World</code>, written in a
+ * small language extending the exact name, index and skill searches of
+ * <code>SeaPortProgram</code>. A query names the kind of <code>Thing</code> sought, optionally
+ * followed by conditions upon its attributes, the port at which it must be found, a number of
+ * greatest or least matches to which to limit the result, and the attributes to display, e.g.
+ * <pre>
+ *     cargo ships where value &gt; 200 and draft &lt; 30 at Lanshan
+ *     jobs where duration &gt; 100 and requires engineer select name, duration
+ *     persons where skill = cleaner at "Port Royal"
+ *     ships where draft &gt;= 30 and draft &lt;= 40 top 10 by weight select name, weight
+ *     cargo ships nearest 5 to Fantasy select name, length, width, draft, weight
+ * </pre>
+ * The kinds are <code>things</code>, <code>ports</code>, <code>docks</code>, <code>ships</code>,
+ * <code>cargo ships</code>, <code>passenger ships</code>, <code>persons</code> and
+ * <code>jobs</code>, and the attributes those registered as <code>QueryAttribute</code>s. The
+ * special condition <code>requires</code> matches jobs requiring the given skill. Keywords and
+ * attribute names are read regardless of case, whereas values are compared exactly, save by the
+ * <code>~</code> operator.
+ * <br />
+ * <br />
+ * A query is compiled once, at which point each condition becomes a typed <code>Predicate</code>
+ * and every attribute is checked against the kind sought, such that a query naming, say, the
+ * cargo value of a person is refused rather than matching nothing. Compilation also chooses the
+ * narrowest available source of candidates, in order of preference: the world's
+ * <code>ThingIndex</code> for a condition <code>name = ...</code> or <code>index = ...</code>, its
+ * <code>SkillIndex</code> for persons of a given skill or jobs requiring one, its
+ * <code>ShipSpatialIndex</code> for ships bounded in more than one of their dimensions, its
+ * <code>ShipRangeIndex</code> for ships bounded or ranked by an indexed attribute, the lists of the
+ * named port, and only failing all of these a parallel scan of every <code>Thing</code> of the
+ * world. Every condition is then tested against each candidate, including that answered by the
+ * source, so all sources yield the same matches.
+ * <br />
+ * <br />
+ * Where the range index is used, the range of each bounded attribute is found on execution, and the
+ * ships of the narrowest range are taken as candidates, in order of that attribute. A query ranked
+ * by an indexed attribute, i.e. <code>top 10 by weight</code>, instead walks that attribute's range
+ * from the appropriate end until enough matches have been found, so the ten heaviest ships cost
+ * little more than ten ships to find. Ranked queries answered by any other source sort their
+ * matches instead, ties being broken by the natural order of <code>Thing</code> either way.
+ * <br />
+ * <br />
+ * A query for the ships nearest a given ship, i.e. <code>nearest 5 to Fantasy</code>, is always
+ * answered by the spatial index, whose search tests every condition as it goes and yields the
+ * matches nearest first. Nearness is measured over the length, width, draft and weight of ships,
+ * each scaled by the span of its values across the world.
+ * <br />
+ * <br />
+ * Queries only read the world, save for the columns and trees its range and spatial indices cache,
+ * and so may be executed on the thread owning the world whenever it is not being modified, i.e. on
+ * the event dispatch thread, parallel scans included.
+ *
+ * @see project1.QueryAttribute
+ * @author Andrew Eissen
+ */
+final class WorldQuery {
+
+    // Splits a query into quoted values, operators, commas and words
+    private static final Pattern TOKEN =
+        Pattern.compile("\"([^\"]*)\"|<=|>=|!=|[=<>~,]|[^\\s=<>!~,\"]+");
+
+    // Compiled query
+    private Kind kind;
+    private ArrayList<Predicate<Thing>> conditions;
+    private String portName;
+    private ArrayList<QueryAttribute<? extends Thing>> projection;
+
+    // Range of each indexed attribute bounded by the conditions, in order of appearance
+    private LinkedHashMap<QueryAttribute<? extends Thing>, ShipRangeIndex.Range> ranges;
+
+    // Attribute by which matches are ranked, if any, and how many of the greatest or least to keep
+    private QueryAttribute<? extends Thing> rankAttribute;
+    private int rankCount;
+    private boolean rankDescending;
+
+    // Ship whose nearest neighbours are sought, by name or index, if any; rankCount are kept
+    private String nearShipName;
+
+    // Candidate source, and the key looked up within it where an index is used
+    private Source source;
+    private String sourceKey;
+
+    /**
+     * Parameterized constructor, compiling the given query
+     * @param text The query
+     * @throws IllegalArgumentException If the query is malformed, with a message saying why
+     */
+    protected WorldQuery(String text) {
+        this.conditions = new ArrayList<>();
+        this.projection = new ArrayList<>();
+        this.ranges = new LinkedHashMap<>();
+        this.source = Source.PARALLEL_SCAN;
+        new Parser(text).parseQuery();
+
+        if (this.nearShipName != null) {
+            this.source = Source.SPATIAL_INDEX;
+        } else if (this.source == Source.RANGE_INDEX && this.rankAttribute == null
+                && this.countBoundedDimensions() > 1) {
+            this.source = Source.SPATIAL_INDEX;
+        } else if (this.source == Source.PARALLEL_SCAN && this.portName != null
+                && this.kind.portContents != null) {
+            this.source = Source.PORT_LISTS;
+        }
+    }
+
+    // Getters
+
+    /**
+     * @return The <code>Class</code> of the things sought
+     */
+    protected Class<? extends Thing> getKind() {
+        return this.kind.thingClass;
+    }
+
+    /**
+     * @return A description of the source of candidates, i.e. <code>"name index"</code>
+     */
+    protected String getPlan() {
+        return this.source.toString();
+    }
+
+    // Handlers
+
+    /**
+     * Finds every <code>Thing</code> of the given world matching the query.
+     *
+     * @param world <code>World</code>
+     * @return The matches
+     */
+    protected List<Thing> execute(World world) {
+
+        // Declarations
+        ArrayList<SeaPort> ports;
+        Stream<? extends Thing> candidates;
+        Stream<? extends Thing> results;
+        Predicate<Thing> matches;
+
+        // Definitions
+        ports = null;
+        matches = this.kind.thingClass::isInstance;
+
+        if (this.portName != null) {
+            ports = new ArrayList<>();
+            for (Thing thing : world.getSearchIndex().findByName(this.portName)) {
+                if (thing instanceof SeaPort) {
+                    ports.add((SeaPort) thing);
+                }
+            }
+        }
+
+        for (Predicate<Thing> condition : this.conditions) {
+            matches = matches.and(condition);
+        }
+
+        // Sources other than the ports' own lists may include things of other ports
+        if (ports != null && this.source != Source.PORT_LISTS
+                && this.source != Source.SKILL_INDEX) {
+            List<SeaPort> named = ports;
+            matches = matches.and((Thing thing) -> named.contains(world.getPortOf(thing)));
+        }
+
+        switch (this.source) {
+            case NAME_INDEX:
+                candidates = world.getSearchIndex().findByName(this.sourceKey).stream();
+                break;
+            case INDEX_TABLE:
+                candidates = world.getSearchIndex()
+                    .findByIndex(Integer.parseInt(this.sourceKey)).stream();
+                break;
+            case SKILL_INDEX:
+                candidates = this.findBySkill(world.getSkillIndex(), ports);
+                break;
+            case SPATIAL_INDEX:
+                candidates = this.findBySpatial(world, matches);
+                break;
+            case RANGE_INDEX:
+                candidates = this.findByRange(world.getShipRangeIndex());
+                break;
+            case PORT_LISTS:
+                candidates = ports.stream()
+                    .flatMap((SeaPort port) -> this.kind.portContents.apply(port).stream());
+                break;
+            default:
+                candidates = world.getAllThings().parallelStream();
+                break;
+        }
+
+        results = candidates.filter(matches);
+
+        if (this.rankAttribute != null) {
+            if (!this.isRankedByIndex()) {
+                results = results.sorted(this.getRankOrder());
+            }
+            results = results.limit(this.rankCount);
+        }
+        return results.collect(Collectors.toList());
+    }
+
+    /**
+     * Formats the given matches for display, one per line, as the attributes named by the query's
+     * <code>select</code> clause or else by name, index and class.
+     *
+     * @param matches The result of <code>execute</code>
+     * @param limit The greatest number of matches to format
+     * @return <code>String</code>, empty if there are no matches
+     */
+    protected String format(List<Thing> matches, int limit) {
+        StringBuilder output = new StringBuilder();
+
+        for (Thing thing : matches.subList(0, Math.min(limit, matches.size()))) {
+            if (this.projection.isEmpty()) {
+                output.append(thing.getName()).append(" ").append(thing.getIndex())
+                    .append(" (").append(thing.getClass().getSimpleName()).append(")");
+            } else {
+                for (int i = 0; i < this.projection.size(); i++) {
+                    output.append((i == 0) ? "" : ", ")
+                        .append(this.projection.get(i).format(thing));
+                }
+            }
+            output.append("\n");
+        }
+
+        if (matches.size() > limit) {
+            output.append("... and ").append(matches.size() - limit).append(" more\n");
+        }
+        return output.toString();
+    }
+
+    /**
+     * Reads the candidates of a <code>SKILL_INDEX</code> query from the world's
+     * <code>SkillIndex</code>, either across the world or at each of the named ports in turn.
+     *
+     * @param index <code>SkillIndex</code>
+     * @param ports The named ports, or <code>null</code> if none were named
+     * @return <code>Stream</code> of candidates
+     */
+    private Stream<? extends Thing> findBySkill(SkillIndex index, List<SeaPort> ports) {
+        if (ports == null) {
+            return (this.kind == Kind.PERSON)
+                ? index.findPersons(this.sourceKey).stream()
+                : index.findJobs(this.sourceKey).stream();
+        }
+
+        return ports.stream().flatMap((SeaPort port) -> (this.kind == Kind.PERSON)
+            ? index.findPersons(port, this.sourceKey).stream()
+            : index.findJobs(port, this.sourceKey).stream());
+    }
+
+    /**
+     * Reads the candidates of a <code>SPATIAL_INDEX</code> query from the world's
+     * <code>ShipSpatialIndex</code>, either the ships nearest that named by a
+     * <code>nearest</code> clause, which must already satisfy every condition, or else those within
+     * the box bounded by the query's conditions upon ships' dimensions.
+     *
+     * @param world <code>World</code>
+     * @param matches <code>Predicate</code> that each match must satisfy
+     * @return <code>Stream</code> of candidates
+     * @throws IllegalArgumentException If no ship bears the name or index of the target
+     */
+    private Stream<? extends Thing> findBySpatial(World world, Predicate<Thing> matches) {
+
+        // Declarations
+        double[] low, high;
+        int d;
+
+        if (this.nearShipName != null) {
+            return world.getShipSpatialIndex().findNearest(this.findNearShip(world),
+                this.rankCount, matches).stream();
+        }
+
+        // Definitions
+        low = new double[ShipSpatialIndex.DIMENSIONS.size()];
+        high = new double[ShipSpatialIndex.DIMENSIONS.size()];
+        Arrays.fill(low, Double.NEGATIVE_INFINITY);
+        Arrays.fill(high, Double.POSITIVE_INFINITY);
+
+        for (QueryAttribute<? extends Thing> attribute : this.ranges.keySet()) {
+            d = ShipSpatialIndex.dimensionOf(attribute);
+
+            if (d >= 0) {
+                low[d] = this.ranges.get(attribute).getLow();
+                high[d] = this.ranges.get(attribute).getHigh();
+            }
+        }
+        return world.getShipSpatialIndex().findWithin(low, high).stream();
+    }
+
+    /**
+     * Finds the ship named by the query's <code>nearest</code> clause, by name or else by index.
+     *
+     * @param world <code>World</code>
+     * @return <code>Ship</code>
+     * @throws IllegalArgumentException If no ship bears the name or index
+     */
+    private Ship findNearShip(World world) {
+        ArrayList<Thing> named = new ArrayList<>(world.getSearchIndex()
+            .findByName(this.nearShipName));
+
+        if (WorldQuery.isCanonicalInt(this.nearShipName)) {
+            named.addAll(world.getSearchIndex().findByIndex(Integer.parseInt(this.nearShipName)));
+        }
+
+        for (Thing thing : named) {
+            if (thing instanceof Ship) {
+                return (Ship) thing;
+            }
+        }
+        throw new IllegalArgumentException("No ship is named or numbered " + this.nearShipName);
+    }
+
+    /**
+     * @return The number of ships' dimensions bounded by the query's conditions
+     */
+    private int countBoundedDimensions() {
+        int count = 0;
+
+        for (QueryAttribute<? extends Thing> attribute : this.ranges.keySet()) {
+            if (ShipSpatialIndex.dimensionOf(attribute) >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads the candidates of a <code>RANGE_INDEX</code> query from the world's
+     * <code>ShipRangeIndex</code>. A query ranked by an indexed attribute walks that attribute's
+     * range in the order ranked, whereas any other takes the narrowest of the ranges bounded by its
+     * conditions.
+     *
+     * @param index <code>ShipRangeIndex</code>
+     * @return <code>Stream</code> of candidates
+     */
+    private Stream<? extends Thing> findByRange(ShipRangeIndex index) {
+        List<Ship> narrowest = null;
+        List<Ship> ships;
+
+        if (this.isRankedByIndex()) {
+            ships = index.findInRange(this.rankAttribute,
+                this.ranges.getOrDefault(this.rankAttribute, ShipRangeIndex.Range.ALL));
+            return (this.rankDescending) ? ships.reversed().stream() : ships.stream();
+        }
+
+        for (QueryAttribute<? extends Thing> attribute : this.ranges.keySet()) {
+            ships = index.findInRange(attribute, this.ranges.get(attribute));
+
+            if (narrowest == null || ships.size() < narrowest.size()) {
+                narrowest = ships;
+            }
+        }
+        return narrowest.stream();
+    }
+
+    /**
+     * @return <code>true</code> if the candidates are read from the range index in ranked order
+     */
+    private boolean isRankedByIndex() {
+        return this.source == Source.RANGE_INDEX && this.rankAttribute != null
+            && ShipRangeIndex.isIndexed(this.rankAttribute);
+    }
+
+    /**
+     * Returns the order in which ranked matches are kept, that in which the range index would yield
+     * them, such that every source ranks matches alike.
+     *
+     * @return <code>Comparator</code>
+     */
+    private Comparator<Thing> getRankOrder() {
+        QueryAttribute<? extends Thing> attribute = this.rankAttribute;
+        Comparator<Thing> order = Comparator.comparingDouble((Thing thing) ->
+            attribute.valueOf(thing)).thenComparing(Comparator.naturalOrder());
+
+        return (this.rankDescending) ? order.reversed() : order;
+    }
+
+    /**
+     * Reads the query, token by token, into the fields of the enclosing <code>WorldQuery</code>.
+     * <pre>
+     *     query       := kind { where-part | at-part | rank-part | select-part }
+     *     where-part  := "where" condition { "and" condition }
+     *     condition   := attribute operator value | "requires" skill
+     *     at-part     := "at" port-name
+     *     rank-part   := ( "top" | "bottom" ) count "by" attribute | "nearest" count "to" ship
+     *     select-part := "select" attribute { "," attribute }
+     * </pre>
+     */
+    private final class Parser {
+
+        private final ArrayList<String> tokens;
+        private final ArrayList<Boolean> quoted;
+        private int position;
+
+        /**
+         * Parameterized constructor, splitting the query into tokens
+         * @param text The query
+         */
+        private Parser(String text) {
+            Matcher matcher = TOKEN.matcher(text);
+
+            this.tokens = new ArrayList<>();
+            this.quoted = new ArrayList<>();
+
+            while (matcher.find()) {
+                this.tokens.add((matcher.group(1) != null) ? matcher.group(1) : matcher.group());
+                this.quoted.add(matcher.group(1) != null);
+            }
+        }
+
+        /**
+         * @return void
+         */
+        private void parseQuery() {
+            String keyword;
+
+            this.parseKind();
+
+            while (this.hasNext()) {
+                keyword = this.nextKeyword();
+
+                if (keyword.equals("where") && WorldQuery.this.conditions.isEmpty()) {
+                    do {
+                        this.parseCondition();
+                    } while (this.hasNext() && this.peekKeyword().equals("and") && this.skip());
+                } else if (keyword.equals("at") && WorldQuery.this.portName == null) {
+                    WorldQuery.this.portName = this.next("a port name");
+                } else if ((keyword.equals("top") || keyword.equals("bottom"))
+                        && WorldQuery.this.rankCount == 0) {
+                    this.parseRank(keyword.equals("top"));
+                } else if (keyword.equals("nearest") && WorldQuery.this.rankCount == 0) {
+                    this.parseNearest();
+                } else if (keyword.matches("top|bottom|nearest")) {
+                    throw new IllegalArgumentException("Only one of top, bottom and nearest may "
+                        + "limit the matches");
+                } else if (keyword.equals("select") && WorldQuery.this.projection.isEmpty()) {
+                    do {
+                        WorldQuery.this.projection.add(this.parseAttribute());
+                    } while (this.hasNext() && this.peek().equals(",") && this.skip());
+                } else {
+                    throw new IllegalArgumentException("Unexpected '" + keyword
+                        + "'; expected where, at, top, bottom, nearest or select");
+                }
+            }
+        }
+
+        /**
+         * Reads the kind of thing sought, accepting singular and plural forms, and the kinds of
+         * ship written either as one word or as two.
+         *
+         * @return void
+         */
+        private void parseKind() {
+            String keyword = this.nextKeyword();
+
+            if ((keyword.equals("cargo") || keyword.equals("passenger")) && this.hasNext()
+                    && this.peekKeyword().startsWith("ship")) {
+                keyword += this.nextKeyword();
+            }
+
+            for (Kind kind : Kind.values()) {
+                if (keyword.equals(kind.keyword) || keyword.equals(kind.keyword + "s")) {
+                    WorldQuery.this.kind = kind;
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("Unknown kind '" + keyword + "'; expected things, "
+                + "ports, docks, ships, cargo ships, passenger ships, persons or jobs");
+        }
+
+        /**
+         * Reads a single condition, compiling it and noting whether an index can answer it.
+         *
+         * @return void
+         */
+        private void parseCondition() {
+
+            // Declarations
+            QueryAttribute<? extends Thing> attribute;
+            String operator, operand;
+            int skill;
+
+            if (this.peekKeyword().equals("requires")) {
+                this.skip();
+                operand = this.next("a skill");
+
+                if (WorldQuery.this.kind != Kind.JOB) {
+                    throw new IllegalArgumentException("Only jobs have requirements");
+                }
+
+                skill = SkillTable.idOf(operand);
+                WorldQuery.this.conditions.add((Thing thing) ->
+                    ((Job) thing).getRequirementSet().contains(skill));
+                this.useSource(Source.SKILL_INDEX, operand);
+                return;
+            }
+
+            // Definitions
+            attribute = this.parseAttribute();
+            operator = this.next("an operator");
+            operand = this.next("a value");
+
+            WorldQuery.this.conditions.add(attribute.compile(operator, operand));
+
+            if (ShipRangeIndex.isIndexed(attribute)) {
+                this.narrowRange(attribute, operator, Double.parseDouble(operand));
+            }
+
+            if (!operator.equals("=")) {
+                return;
+            }
+
+            switch (attribute.getName()) {
+                case "name":
+                    this.useSource(Source.NAME_INDEX, operand);
+                    break;
+                case "index":
+                    if (WorldQuery.isCanonicalInt(operand)) {
+                        this.useSource(Source.INDEX_TABLE, operand);
+                    }
+                    break;
+                case "skill":
+                    this.useSource(Source.SKILL_INDEX, operand);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * Notes the bound placed by a condition upon an indexed attribute, should the condition
+         * bound a range at all.
+         *
+         * @param attribute An indexed <code>QueryAttribute</code>
+         * @param operator <code>String</code>
+         * @param value Parsed operand
+         * @return void
+         */
+        private void narrowRange(QueryAttribute<? extends Thing> attribute, String operator,
+                double value) {
+            ShipRangeIndex.Range range = WorldQuery.this.ranges
+                .getOrDefault(attribute, ShipRangeIndex.Range.ALL).narrow(operator, value);
+
+            if (range != null) {
+                WorldQuery.this.ranges.put(attribute, range);
+                this.useSource(Source.RANGE_INDEX, attribute.getName());
+            }
+        }
+
+        /**
+         * Reads the number of matches to keep and the numeric attribute by which to rank them.
+         *
+         * @param descending <code>true</code> to keep the greatest, or <code>false</code> the least
+         * @return void
+         */
+        private void parseRank(boolean descending) {
+            WorldQuery.this.rankCount = this.parseCount("by");
+            WorldQuery.this.rankDescending = descending;
+            WorldQuery.this.rankAttribute = this.parseAttribute();
+
+            if (!WorldQuery.this.rankAttribute.isNumeric()) {
+                throw new IllegalArgumentException("Only numbers may rank matches, not the text "
+                    + WorldQuery.this.rankAttribute.getName());
+            } else if (ShipRangeIndex.isIndexed(WorldQuery.this.rankAttribute)) {
+                this.useSource(Source.RANGE_INDEX, WorldQuery.this.rankAttribute.getName());
+            }
+        }
+
+        /**
+         * Reads the number of ships to find and the ship whose nearest neighbours they are to be,
+         * by name or index.
+         *
+         * @return void
+         */
+        private void parseNearest() {
+            if (!Ship.class.isAssignableFrom(WorldQuery.this.kind.thingClass)) {
+                throw new IllegalArgumentException("Only ships have nearest neighbours, not every "
+                    + WorldQuery.this.kind.keyword);
+            }
+
+            WorldQuery.this.rankCount = this.parseCount("to");
+            WorldQuery.this.nearShipName = this.next("a ship");
+        }
+
+        /**
+         * Reads the positive count of a <code>top</code>, <code>bottom</code> or
+         * <code>nearest</code> clause and the keyword following it.
+         *
+         * @param keyword The keyword expected after the count
+         * @return <code>int</code>
+         */
+        private int parseCount(String keyword) {
+            String count = this.next("a count");
+
+            if (!WorldQuery.isCanonicalInt(count) || Integer.parseInt(count) < 1) {
+                throw new IllegalArgumentException("Expected a positive count, not " + count);
+            } else if (!this.nextKeyword().equals(keyword)) {
+                throw new IllegalArgumentException("Expected '" + keyword + "' after the count "
+                    + count);
+            }
+            return Integer.parseInt(count);
+        }
+
+        /**
+         * Reads an attribute's name, checking that the kind sought possesses it.
+         *
+         * @return <code>QueryAttribute</code>
+         */
+        private QueryAttribute<? extends Thing> parseAttribute() {
+            String name = this.next("an attribute");
+            QueryAttribute<? extends Thing> attribute = QueryAttribute.getAttribute(name);
+
+            if (attribute == null) {
+                throw new IllegalArgumentException("Unknown attribute '" + name + "'");
+            } else if (!attribute.appliesTo(WorldQuery.this.kind.thingClass)) {
+                throw new IllegalArgumentException("Only " + attribute.getThingClass()
+                    .getSimpleName() + "s have a " + attribute.getName() + ", not every "
+                    + WorldQuery.this.kind.keyword);
+            }
+            return attribute;
+        }
+
+        /**
+         * Adopts the given source of candidates should it be narrower than that already chosen.
+         *
+         * @param source <code>Source</code>
+         * @param key The key to look up within the source
+         * @return void
+         */
+        private void useSource(Source source, String key) {
+            if (source.ordinal() < WorldQuery.this.source.ordinal()) {
+                WorldQuery.this.source = source;
+                WorldQuery.this.sourceKey = key;
+            }
+        }
+
+        /**
+         * @return <code>true</code> if tokens remain
+         */
+        private boolean hasNext() {
+            return this.position < this.tokens.size();
+        }
+
+        /**
+         * @return The next token, without consuming it
+         */
+        private String peek() {
+            return this.tokens.get(this.position);
+        }
+
+        /**
+         * @return The next token in lowercase, without consuming it, or an empty string if quoted
+         *     or if none remain
+         */
+        private String peekKeyword() {
+            return (!this.hasNext() || this.quoted.get(this.position))
+                ? ""
+                : this.peek().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * @return The next token in lowercase
+         */
+        private String nextKeyword() {
+            String keyword = this.peekKeyword();
+
+            this.next("a keyword");
+            return keyword;
+        }
+
+        /**
+         * @param expected Description of the token expected, for the error message
+         * @return The next token
+         */
+        private String next(String expected) {
+            if (!this.hasNext()) {
+                throw new IllegalArgumentException("Expected " + expected + " at end of query");
+            }
+            return this.tokens.get(this.position++);
+        }
+
+        /**
+         * Consumes the next token, returning <code>true</code> for use within conditions.
+         *
+         * @return <code>true</code>
+         */
+        private boolean skip() {
+            this.position++;
+            return true;
+        }
+    }
+
+    /**
+     * @param text <code>String</code>
+     * @return <code>true</code> if the text is the canonical form of an <code>int</code>
+     */
+    private static boolean isCanonicalInt(String text) {
+        try {
+            return String.valueOf(Integer.parseInt(text)).equals(text);
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * The sources of candidates, from narrowest to broadest.
+     */
+    private enum Source {
+
+        NAME_INDEX("name index"),
+        INDEX_TABLE("index table"),
+        SKILL_INDEX("skill index"),
+        SPATIAL_INDEX("spatial index"),
+        RANGE_INDEX("range index"),
+        PORT_LISTS("port lists"),
+        PARALLEL_SCAN("parallel scan");
+
+        private final String label;
+
+        /**
+         * Parameterized constructor
+         * @param label <code>String</code>
+         */
+        Source(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @inheritdoc
+         * @return <code>String</code>
+         */
+        @Override
+        public String toString() {
+            return this.label;
+        }
+    }
+
+    /**
+     * The kinds of <code>Thing</code> that may be sought, along with the lists of a port holding
+     * each, where such lists exist.
+     */
+    private enum Kind {
+
+        THING("thing", Thing.class, null),
+        PORT("port", SeaPort.class, List::of),
+        DOCK("dock", Dock.class, SeaPort::getDocks),
+        SHIP("ship", Ship.class, SeaPort::getShips),
+        CARGO_SHIP("cargoship", CargoShip.class, SeaPort::getShips),
+        PASSENGER_SHIP("passengership", PassengerShip.class, SeaPort::getShips),
+        PERSON("person", Person.class, SeaPort::getPersons),
+        JOB("job", Job.class, Kind::jobsOf);
+
+        private final String keyword;
+        private final Class<? extends Thing> thingClass;
+        private final Function<SeaPort, List<? extends Thing>> portContents;
+
+        /**
+         * Parameterized constructor
+         * @param keyword Singular name of the kind within queries
+         * @param thingClass <code>Class</code> of the kind
+         * @param portContents <code>Function</code> listing the kind's things at a port, if any
+         */
+        Kind(String keyword, Class<? extends Thing> thingClass,
+                Function<SeaPort, List<? extends Thing>> portContents) {
+            this.keyword = keyword;
+            this.thingClass = thingClass;
+            this.portContents = portContents;
+        }
+
+        /**
+         * @param port <code>SeaPort</code>
+         * @return Every job of every ship at the port
+         */
+        private static List<Job> jobsOf(SeaPort port) {
+            ArrayList<Job> jobs = new ArrayList<>();
+
+            for (Ship ship : port.getShips()) {
+                jobs.addAll(ship.getJobs());
+            }
+            return jobs;
+        }
+    }
+}
@@ -0,0 +1,405 @@
+/**
+ * WorldReloader.java - Class for <code>WorldReloader</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
+
+/**
+ * This class brings a loaded <code>World</code> up to date with subsequent changes to the
+ * <code>.txt</code> file from which it was loaded, without loading the file again. The reloader
+ * remembers, for each record of the file, a 64-bit hash of its line and the <code>Thing</code>
+ * built from it, keyed by the record's index. A rescan of the file hashes every line anew, reading
+ * only each record's keyword and index, and builds new <code>Thing</code>s only for lines whose
+ * index is new or whose hash has changed. Indices no longer present denote removed records.
+ * <br />
+ * <br />
+ * Scanning is separate from applying, such that a file may be scanned on a background thread
+ * while the world remains in use, and the resulting <code>Delta</code> applied in a single step on
+ * the event dispatch thread via <code>World.applyChanges</code>. As records are matched by index,
+ * a file in which two records share an index cannot be reloaded incrementally, and
+ * <code>scan</code> instead returns <code>null</code> to request a full load. The same is true
+ * should the file already have differed from the world when the reloader was created.
+ *
+ * @see project1.World
+ * @see project1.WorldWatcher
+ * @author Andrew Eissen
+ */
+final class WorldReloader {
+
+    // FNV-1a 64-bit hash parameters
+    private static final long HASH_OFFSET = 0xCBF29CE484222325L;
+    private static final long HASH_PRIME = 0x100000001B3L;
+
+    // Reload-related fields
+    private World world;
+    private File file;
+
+    // Hash and <code>Thing</code> of every record of the file, by index, or <code>null</code>
+    private HashMap<Integer, Record> records;
+
+    /**
+     * Parameterized constructor, reading the file once to relate its lines to the world's records.
+     * The world must have been loaded from the file's current contents.
+     * @param world The <code>World</code> loaded from the file
+     * @param file The <code>.txt</code> file from which the world was loaded
+     * @throws IOException If the file cannot be read
+     */
+    protected WorldReloader(World world, File file) throws IOException {
+        this.setWorld(world);
+        this.setFile(file);
+        this.setRecords(this.readBaseline());
+    }
+
+    // Setters
+
+    /**
+     * Setter for <code>world</code>
+     * @param world <code>World</code>
+     * @return void
+     */
+    private void setWorld(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Setter for <code>file</code>
+     * @param file <code>File</code>
+     * @return void
+     */
+    private void setFile(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Setter for <code>records</code>
+     * @param records <code>HashMap</code>, or <code>null</code> if incremental reloads are not
+     *     possible
+     * @return void
+     */
+    private void setRecords(HashMap<Integer, Record> records) {
+        this.records = records;
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>world</code>
+     * @return <code>this.world</code>
+     */
+    protected World getWorld() {
+        return this.world;
+    }
+
+    /**
+     * Getter for <code>file</code>
+     * @return <code>this.file</code>
+     */
+    protected File getFile() {
+        return this.file;
+    }
+
+    // Handlers
+
+    /**
+     * Rescans the file and determines how its records differ from those last seen, building new
+     * <code>Thing</code>s for new and changed records. Neither the world nor the reloader is
+     * modified, so this method may be invoked on any thread while the world is in use.
+     *
+     * @return The <code>Delta</code>, possibly empty, or <code>null</code> if the file must be
+     *     loaded in full
+     * @throws IOException If the file cannot be read
+     */
+    protected Delta scan() throws IOException {
+
+        // Declarations
+        Delta delta;
+        FieldTokenizer lineContents;
+        RecordType<? extends Thing> recordType;
+        ByteBuffer region;
+        Record oldRecord;
+        Thing newThing;
+        int lineStart, lineEnd, index;
+        long hash;
+
+        if (this.records == null) {
+            return null;
+        }
+
+        // Definitions
+        delta = new Delta(this.records.size());
+        lineContents = new FieldTokenizer();
+        region = this.read();
+        lineStart = 0;
+
+        while (lineStart < region.limit()) {
+            lineEnd = WorldReloader.findLineEnd(region, lineStart);
+            lineContents.resetAscii(region, lineStart, lineEnd);
+
+            if (!lineContents.isBlankOrComment()
+                    && World.matchRecordType(lineContents) != null) {
+                index = WorldReloader.readIndex(lineContents);
+                hash = WorldReloader.hash(region, lineStart, lineEnd);
+                oldRecord = this.records.get(index);
+
+                if (delta.records.containsKey(index)) {
+                    return null;
+                }
+
+                if (oldRecord != null && oldRecord.hash == hash) {
+                    newThing = oldRecord.thing;
+                } else {
+                    lineContents.resetAscii(region, lineStart, lineEnd);
+                    recordType = World.matchRecordType(lineContents);
+                    newThing = recordType.build(lineContents);
+                    delta.added.add(newThing);
+
+                    if (oldRecord != null) {
+                        delta.changedCount++;
+                    }
+                }
+
+                delta.records.put(index, new Record(hash, newThing));
+                delta.allThings.add(newThing);
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        for (Thing oldThing : this.getWorld().getAllThings()) {
+            oldRecord = delta.records.get(oldThing.getIndex());
+
+            if (oldRecord == null || oldRecord.thing != oldThing) {
+                delta.removed.add(oldThing);
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Applies a <code>Delta</code> found by <code>scan</code> to the world, after which it is the
+     * basis of the next scan. Must be invoked on the thread owning the world, i.e. the event
+     * dispatch thread, and only with the most recent <code>Delta</code>.
+     *
+     * @param delta <code>Delta</code>
+     * @return void
+     */
+    protected void apply(Delta delta) {
+        delta.affectedPorts = this.getWorld().applyChanges(delta.removed, delta.added,
+            delta.allThings);
+        this.setRecords(delta.records);
+    }
+
+    /**
+     * Relates each record line of the file, in order, to the world's records, which are in file
+     * order in <code>allThings</code>.
+     *
+     * @return The table of records, or <code>null</code> if the file and world do not correspond
+     *     or two records share an index
+     * @throws IOException If the file cannot be read
+     */
+    private HashMap<Integer, Record> readBaseline() throws IOException {
+
+        // Declarations
+        HashMap<Integer, Record> baseline;
+        ArrayList<Thing> allThings;
+        FieldTokenizer lineContents;
+        ByteBuffer region;
+        Thing oldThing;
+        int lineStart, lineEnd, index, count;
+
+        // Definitions
+        allThings = this.getWorld().getAllThings();
+        baseline = new HashMap<>(allThings.size() * 4 / 3 + 1);
+        lineContents = new FieldTokenizer();
+        region = this.read();
+        lineStart = 0;
+        count = 0;
+
+        while (lineStart < region.limit()) {
+            lineEnd = WorldReloader.findLineEnd(region, lineStart);
+            lineContents.resetAscii(region, lineStart, lineEnd);
+
+            if (!lineContents.isBlankOrComment()
+                    && World.matchRecordType(lineContents) != null) {
+                index = WorldReloader.readIndex(lineContents);
+
+                if (count == allThings.size()) {
+                    return null;
+                }
+
+                oldThing = allThings.get(count++);
+                if (oldThing.getIndex() != index || baseline.put(index,
+                        new Record(WorldReloader.hash(region, lineStart, lineEnd), oldThing))
+                        != null) {
+                    return null;
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return (count == allThings.size()) ? baseline : null;
+    }
+
+    /**
+     * Reads the whole of the file onto the heap. The file is deliberately not memory-mapped, as it
+     * is being edited, and a mapped file truncated while being read faults rather than throwing an
+     * <code>IOException</code>.
+     *
+     * @return <code>ByteBuffer</code>
+     * @throws IOException If the file cannot be read
+     */
+    private ByteBuffer read() throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(this.getFile().toPath()));
+    }
+
+    /**
+     * Reads a record's index exactly as the <code>Thing</code> constructor would, from a tokenizer
+     * positioned after the record's keyword, without allocating its name.
+     *
+     * @param lineContents <code>FieldTokenizer</code>
+     * @return The record's index, or <code>0</code> if it has none
+     */
+    private static int readIndex(FieldTokenizer lineContents) {
+        if (lineContents.hasNext()) {
+            lineContents.skip();
+        }
+        return lineContents.hasNextInt() ? lineContents.nextInt() : 0;
+    }
+
+    /**
+     * @param region <code>ByteBuffer</code>
+     * @param start Index of the line's first byte
+     * @return Index of the line's terminating newline, or of the region's end
+     */
+    private static int findLineEnd(ByteBuffer region, int start) {
+        int end = start;
+
+        while (end < region.limit() && region.get(end) != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * @param region <code>ByteBuffer</code>
+     * @param start Index of the line's first byte
+     * @param end Index one past the line's last byte
+     * @return The FNV-1a hash of the line's bytes
+     */
+    private static long hash(ByteBuffer region, int start, int end) {
+        long hash = HASH_OFFSET;
+
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ (region.get(i) & 0xFF)) * HASH_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * The hash of a record's line and the <code>Thing</code> built from it.
+     */
+    private static final class Record {
+
+        private final long hash;
+        private final Thing thing;
+
+        /**
+         * Parameterized constructor
+         * @param hash <code>long</code>
+         * @param thing <code>Thing</code>
+         */
+        private Record(long hash, Thing thing) {
+            this.hash = hash;
+            this.thing = thing;
+        }
+    }
+
+    /**
+     * The differences between two versions of the file, as found by <code>scan</code>. A changed
+     * record appears among both the removed and the added records.
+     */
+    protected static final class Delta {
+
+        private final ArrayList<Thing> removed;
+        private final ArrayList<Thing> added;
+        private final ArrayList<Thing> allThings;
+        private final HashMap<Integer, Record> records;
+        private int changedCount;
+        private Set<SeaPort> affectedPorts;
+
+        /**
+         * Parameterized constructor
+         * @param expectedSize Expected number of records in the file
+         */
+        private Delta(int expectedSize) {
+            this.removed = new ArrayList<>();
+            this.added = new ArrayList<>();
+            this.allThings = new ArrayList<>(expectedSize);
+            this.records = new HashMap<>(expectedSize * 4 / 3 + 1);
+            this.affectedPorts = Collections.emptySet();
+        }
+
+        /**
+         * @return <code>true</code> if no record was added, changed or removed
+         */
+        protected boolean isEmpty() {
+            return this.removed.isEmpty() && this.added.isEmpty();
+        }
+
+        /**
+         * @return The number of records new to the file
+         */
+        protected int getAddedCount() {
+            return this.added.size() - this.changedCount;
+        }
+
+        /**
+         * @return The number of records whose lines have changed
+         */
+        protected int getChangedCount() {
+            return this.changedCount;
+        }
+
+        /**
+         * @return The number of records no longer in the file
+         */
+        protected int getRemovedCount() {
+            return this.removed.size() - this.changedCount;
+        }
+
+        /**
+         * @return <code>true</code> if any port was added, changed or removed, such that the
+         *     world's listing of ports may have changed
+         */
+        protected boolean hasChangedPorts() {
+            for (Thing thing : this.removed) {
+                if (thing instanceof SeaPort) {
+                    return true;
+                }
+            }
+
+            for (Thing thing : this.added) {
+                if (thing instanceof SeaPort) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return Every <code>SeaPort</code> whose contents may have changed, once applied
+         */
+        protected Set<SeaPort> getAffectedPorts() {
+            return this.affectedPorts;
+        }
+    }
+}
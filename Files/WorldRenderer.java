@@ -0,0 +1,101 @@
+/**
+ * WorldRenderer.java - Class for rendering <code>World</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import javax.swing.JTextArea;
+
+/**
+ * This class collects the various destinations to which a <code>World</code>, or any other
+ * <code>Thing</code>, may be rendered. Each method streams the hierarchy via
+ * <code>Thing.appendTo</code> into a buffered <code>Writer</code>, so the time taken is linear in
+ * the size of the output and the temporary memory used is bounded by the size of the buffer,
+ * regardless of the size of the world. The previous <code>toString</code>-based approach built
+ * the whole of the output through repeated <code>String</code> concatenation, which was quadratic.
+ *
+ * @see project1.Thing
+ * @see project1.TextAreaWriter
+ * @author Andrew Eissen
+ */
+final class WorldRenderer {
+
+    /**
+     * Private constructor, as the class contains only <code>static</code> methods
+     */
+    private WorldRenderer() {}
+
+    /**
+     * Renders the given <code>Thing</code> to any <code>Appendable</code>.
+     *
+     * @param thing The <code>World</code> or other <code>Thing</code> to render
+     * @param output <code>Appendable</code>
+     * @return void
+     * @throws IOException If the underlying output fails
+     */
+    protected static void render(Thing thing, Appendable output) throws IOException {
+        thing.appendTo(output);
+    }
+
+    /**
+     * Renders the given <code>Thing</code> to a file, replacing any existing contents.
+     *
+     * @param thing The <code>World</code> or other <code>Thing</code> to render
+     * @param file The destination <code>File</code>
+     * @return void
+     * @throws IOException If the file cannot be written
+     */
+    protected static void renderToFile(Thing thing, File file) throws IOException {
+        try (Writer output = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            thing.appendTo(output);
+        }
+    }
+
+    /**
+     * Renders the given <code>Thing</code> to an <code>OutputStream</code> such as
+     * <code>System.out</code>. The stream is flushed but left open.
+     *
+     * @param thing The <code>World</code> or other <code>Thing</code> to render
+     * @param stream <code>OutputStream</code>
+     * @return void
+     * @throws IOException If the stream cannot be written
+     */
+    protected static void renderToStream(Thing thing, OutputStream stream) throws IOException {
+        Writer output = new BufferedWriter(new OutputStreamWriter(stream,
+            StandardCharsets.UTF_8));
+
+        thing.appendTo(output);
+        output.flush();
+    }
+
+    /**
+     * Renders the given <code>Thing</code> to a <code>JTextArea</code>, replacing its contents.
+     * The text is appended in chunks via <code>TextAreaWriter</code>.
+     *
+     * @param thing The <code>World</code> or other <code>Thing</code> to render
+     * @param textArea <code>JTextArea</code>
+     * @return void
+     */
+    protected static void renderToTextArea(Thing thing, JTextArea textArea) {
+        TextAreaWriter output = new TextAreaWriter(textArea);
+
+        textArea.setText("");
+        try {
+            thing.appendTo(output);
+        } catch (IOException ex) {
+            // Never thrown by TextAreaWriter
+            System.out.println("Error: " + ex);
+        }
+        output.flush();
+    }
+}
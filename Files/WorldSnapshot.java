@@ -0,0 +1,466 @@
+/**
+ * WorldSnapshot.java - Class for reading and writing binary <code>World</code> snapshots
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * This class saves a loaded <code>World</code> to a compact binary snapshot and restores it
+ * again, sparing repeated loads of the same <code>.txt</code> file the cost of parsing its text.
+ * A snapshot is kept beside its source file, under the same name suffixed with
+ * <code>.snapshot</code>, and is only used while the source's length and modification time match
+ * those recorded when it was written.
+ * <br />
+ * <br />
+ * A snapshot consists of a fixed-size header followed by a payload. The header holds a magic
+ * number, the format <code>VERSION</code>, the source's length and modification time, and the
+ * length and CRC32 checksum of the payload. The payload holds the keywords of the record types
+ * used, the names of the skills interned when it was written, every record of the world as
+ * written by <code>SnapshotWriter</code>, the layout of the hierarchy, and lastly the position and
+ * index of each record within <code>World.getAllThings()</code>.
+ * <br />
+ * <br />
+ * Records are stored in the order of the port/dock/ship/person/job hierarchy rather than that of
+ * the source file, i.e. each port followed by its docks, each of its ships directly followed by
+ * that ship's jobs, and its persons, with any records not placed in the hierarchy following last.
+ * The layout then holds, for each port, the number of its docks, ships and persons, and for each
+ * of its ships the position of the dock at which it is moored, or whether it is queued, and the
+ * number of its jobs. Restoring a snapshot thus attaches every placed record to its parent by
+ * position alone, via <code>World.restorePort</code> and its kin, without looking up any parent or
+ * resolving any pending record, and into a registry sized in advance. Only the records outside the
+ * hierarchy are passed to <code>World.linkThing</code>, in which they are left pending once more.
+ * Should any two records share an index, which record a lookup finds depends upon the order of
+ * linking, so such worlds are stored in file order, without a layout, and linked record by record.
+ * <br />
+ * <br />
+ * <code>allThings</code> is restored to file order from the stored positions, and the world's
+ * <code>ThingIndex</code> from the stored indices, such that its names are only indexed by the
+ * first search by name. The snapshot is memory-mapped and checksummed in bulk, and its fields,
+ * positions and indices are read directly as binary values, so only names are ever allocated.
+ *
+ * @see project1.SnapshotWriter
+ * @see project1.SnapshotReader
+ * @author Andrew Eissen
+ */
+final class WorldSnapshot {
+
+    // Header-related constants
+    private static final int MAGIC = 0x53505753; // "SPWS"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 40;
+
+    // Placements of a ship within the layout, besides the position of the dock at which it moors
+    private static final int UNMOORED = -1;
+    private static final int QUEUED = -2;
+
+    // Suffix of a snapshot's name, appended to that of its source
+    private static final String SUFFIX = ".snapshot";
+
+    /**
+     * Private constructor, as the class holds only <code>static</code> members
+     */
+    private WorldSnapshot() {}
+
+    // Handlers
+
+    /**
+     * @param source The <code>.txt</code> file from which a world was loaded
+     * @return The <code>File</code> holding the source's snapshot, which may not yet exist
+     */
+    protected static File snapshotFileFor(File source) {
+        return new File(source.getPath() + SUFFIX);
+    }
+
+    /**
+     * Writes a snapshot of the given world, loaded from the given source file. The snapshot is
+     * first written to a temporary file and then moved into place, such that a failed write never
+     * leaves a partial snapshot behind, the temporary file being deleted should the write fail.
+     * <br />
+     * <br />
+     * The source's length and modification time must be those read before the world was parsed
+     * from it, not after. Were the file saved during the load, the snapshot would otherwise be
+     * stamped as current while holding the content it replaced.
+     *
+     * @param world The <code>World</code> to save
+     * @param source The <code>.txt</code> file from which the world was loaded
+     * @param sourceLength The source's <code>length()</code> before the world was parsed
+     * @param sourceModified The source's <code>lastModified()</code> before the world was parsed
+     * @return void
+     * @throws IOException If the snapshot cannot be written
+     */
+    protected static void write(World world, File source, long sourceLength, long sourceModified)
+            throws IOException {
+
+        // Declarations
+        Path target, temporary;
+        CRC32 checksum;
+        SnapshotWriter output;
+        HashMap<Class<?>, Integer> typeIndices;
+        ArrayList<RecordType<? extends Thing>> recordTypes;
+        IdentityHashMap<Thing, Integer> ordinals;
+        ArrayList<Thing> records;
+        int[] layout;
+        ByteBuffer header;
+        int skills;
+
+        // Definitions
+        target = WorldSnapshot.snapshotFileFor(source).toPath();
+        temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        checksum = new CRC32();
+        typeIndices = new HashMap<>();
+        recordTypes = new ArrayList<>(World.getRecordTypes());
+        skills = SkillTable.size();
+        ordinals = new IdentityHashMap<>(world.getAllThings().size());
+        records = new ArrayList<>(world.getAllThings().size());
+        layout = new int[0];
+
+        // Hierarchy order, unless lookups by a shared index would depend upon the order of linking
+        if (world.getThingsByIndex().size() + world.getPendingCount()
+                == world.getAllThings().size()) {
+            layout = WorldSnapshot.layOut(world, ordinals, records);
+        }
+
+        // Pending records, and any of record types outside the hierarchy
+        for (Thing thing : world.getAllThings()) {
+            WorldSnapshot.addRecord(thing, ordinals, records);
+        }
+
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                channel.position(HEADER_SIZE);
+                output = new SnapshotWriter(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), checksum), 1 << 16));
+
+                // Record type table
+                output.writeHeaderInt(recordTypes.size());
+                for (RecordType<? extends Thing> recordType : recordTypes) {
+                    typeIndices.put(recordType.getThingClass(), typeIndices.size());
+                    output.writeHeaderString(recordType.getKeyword());
+                }
+
+                // Skill table
+                output.writeHeaderInt(skills);
+                for (int i = 0; i < skills; i++) {
+                    output.writeHeaderString(SkillTable.nameOf(i));
+                }
+
+                // Records
+                output.writeHeaderInt(records.size());
+                for (Thing thing : records) {
+                    output.beginRecord(typeIndices.get(thing.getClass()));
+                    thing.writeFields(output);
+                    output.endRecord();
+                }
+
+                // Layout of the hierarchy
+                output.writeHeaderInt(layout.length);
+                for (int value : layout) {
+                    output.writeHeaderInt(value);
+                }
+
+                // File order, then the index of each record in file order
+                for (Thing thing : world.getAllThings()) {
+                    output.writeHeaderInt(ordinals.get(thing));
+                }
+                for (Thing thing : world.getAllThings()) {
+                    output.writeHeaderInt(thing.getIndex());
+                }
+                output.flush();
+
+                header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(sourceLength)
+                    .putLong(sourceModified)
+                    .putLong(channel.size() - HEADER_SIZE)
+                    .putLong(checksum.getValue());
+                header.flip();
+                channel.write(header, 0);
+            }
+
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                ex.addSuppressed(suppressed);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Assigns each record placed in the hierarchy its position within the snapshot, port by port,
+     * and lays out the hierarchy of each port as described above.
+     *
+     * @param world The <code>World</code> to save
+     * @param ordinals Position of each record assigned one so far
+     * @param records Records in order of position
+     * @return The layout
+     */
+    private static int[] layOut(World world, IdentityHashMap<Thing, Integer> ordinals,
+            ArrayList<Thing> records) {
+
+        // Declarations
+        int[] layout;
+        int position;
+        IdentityHashMap<Ship, Integer> moorings;
+        Set<Ship> queued;
+
+        // Definitions
+        position = 0;
+        for (SeaPort port : world.getPorts()) {
+            position += 3 + 2 * port.getShips().size();
+        }
+        layout = new int[position];
+        position = 0;
+
+        for (SeaPort port : world.getPorts()) {
+            moorings = new IdentityHashMap<>();
+            queued = Collections.newSetFromMap(new IdentityHashMap<>());
+            queued.addAll(port.getQue());
+
+            WorldSnapshot.addRecord(port, ordinals, records);
+            layout[position++] = port.getDocks().size();
+            layout[position++] = port.getShips().size();
+            layout[position++] = port.getPersons().size();
+
+            for (int d = 0; d < port.getDocks().size(); d++) {
+                WorldSnapshot.addRecord(port.getDocks().get(d), ordinals, records);
+
+                if (port.getDocks().get(d).getShip() != null) {
+                    moorings.put(port.getDocks().get(d).getShip(), d);
+                }
+            }
+            for (Ship ship : port.getShips()) {
+                WorldSnapshot.addRecord(ship, ordinals, records);
+                layout[position++] = moorings.containsKey(ship)
+                    ? moorings.get(ship)
+                    : (queued.contains(ship) ? QUEUED : UNMOORED);
+                layout[position++] = ship.getJobs().size();
+
+                for (Job job : ship.getJobs()) {
+                    WorldSnapshot.addRecord(job, ordinals, records);
+                }
+            }
+            for (Person person : port.getPersons()) {
+                WorldSnapshot.addRecord(person, ordinals, records);
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * Assigns the given record the next position within the snapshot, unless already assigned one.
+     *
+     * @param thing <code>Thing</code>
+     * @param ordinals Position of each record assigned one so far
+     * @param records Records in order of position
+     * @return void
+     */
+    private static void addRecord(Thing thing, IdentityHashMap<Thing, Integer> ordinals,
+            ArrayList<Thing> records) {
+        if (ordinals.putIfAbsent(thing, records.size()) == null) {
+            records.add(thing);
+        }
+    }
+
+    /**
+     * Restores the world loaded from the given source file from its snapshot, if one exists and
+     * the source has not since changed.
+     *
+     * @param source The <code>.txt</code> file from which the world was loaded
+     * @return The restored <code>World</code>, or <code>null</code> if there is no current
+     *     snapshot
+     * @throws IOException If the snapshot cannot be read, is of another version, or is corrupt
+     */
+    protected static World read(File source) throws IOException {
+
+        // Declarations
+        File snapshot;
+        MappedByteBuffer buffer;
+        ByteBuffer payload;
+        CRC32 checksum;
+        long size;
+
+        // Definitions
+        snapshot = WorldSnapshot.snapshotFileFor(source);
+        checksum = new CRC32();
+
+        if (!snapshot.isFile()) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(snapshot.toPath(), StandardOpenOption.READ)) {
+            size = channel.size();
+
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a world snapshot: " + snapshot.getName());
+            } else if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + snapshot.getName());
+            }
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a world snapshot: " + snapshot.getName());
+        } else if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + snapshot.getName());
+        } else if (buffer.getLong(8) != source.length()
+                || buffer.getLong(16) != source.lastModified()) {
+            return null;
+        } else if (buffer.getLong(24) != size - HEADER_SIZE) {
+            throw new IOException("Truncated snapshot: " + snapshot.getName());
+        }
+
+        payload = buffer.position(HEADER_SIZE).slice();
+        checksum.update(payload.duplicate());
+        if (buffer.getLong(32) != checksum.getValue()) {
+            throw new IOException("Snapshot checksum mismatch: " + snapshot.getName());
+        }
+
+        try {
+            return WorldSnapshot.readPayload(new SnapshotReader(payload));
+        } catch (BufferUnderflowException | IllegalStateException | IndexOutOfBoundsException
+                | ClassCastException | NegativeArraySizeException ex) {
+            throw new IOException("Corrupt snapshot: " + snapshot.getName(), ex);
+        }
+    }
+
+    /**
+     * Rebuilds a <code>World</code> from a snapshot's payload.
+     *
+     * @param input <code>SnapshotReader</code> positioned at the start of the payload
+     * @return <code>World</code>
+     * @throws IOException If the snapshot names a record type that is not registered
+     */
+    private static World readPayload(SnapshotReader input) throws IOException {
+
+        // Declarations
+        World world;
+        RecordType<?>[] recordTypes, typesOfRecords;
+        int[] skillIds, layout, order, indices;
+        Thing[] records;
+        int placed;
+
+        // Definitions
+        world = new World();
+        recordTypes = new RecordType<?>[input.readHeaderInt()];
+
+        for (int i = 0; i < recordTypes.length; i++) {
+            recordTypes[i] = World.getRecordType(input.readHeaderString());
+
+            if (recordTypes[i] == null) {
+                throw new IOException("Snapshot contains an unknown record type");
+            }
+        }
+
+        skillIds = new int[input.readHeaderInt()];
+        for (int i = 0; i < skillIds.length; i++) {
+            skillIds[i] = SkillTable.intern(input.readHeaderString());
+        }
+        input.setSkillIds(skillIds);
+
+        records = new Thing[input.readHeaderInt()];
+        typesOfRecords = new RecordType<?>[records.length];
+        for (int i = 0; i < records.length; i++) {
+            typesOfRecords[i] = recordTypes[input.beginRecord()];
+            records[i] = typesOfRecords[i].build(input);
+            input.endRecord();
+        }
+
+        layout = new int[input.readHeaderInt()];
+        input.readHeaderInts(layout);
+
+        world.ensureCapacity(records.length);
+        placed = WorldSnapshot.restoreHierarchy(world, records, layout);
+        for (int i = placed; i < records.length; i++) {
+            world.linkThing(typesOfRecords[i], records[i]);
+        }
+
+        order = new int[records.length];
+        indices = new int[records.length];
+        input.readHeaderInts(order);
+        input.readHeaderInts(indices);
+        world.restoreAllThings(records, order, indices);
+        return world;
+    }
+
+    /**
+     * Restores the records placed in the hierarchy, which lead the snapshot, port by port as laid
+     * out, attaching each to its parent by position.
+     *
+     * @param world The <code>World</code> being restored
+     * @param records Every record of the snapshot, in order of position
+     * @param layout Layout of the hierarchy
+     * @return The number of records restored
+     */
+    private static int restoreHierarchy(World world, Thing[] records, int[] layout) {
+
+        // Declarations
+        SeaPort port;
+        Dock[] docks;
+        Ship ship;
+        Dock dock;
+        int next, position, ships, persons, placement, jobs;
+
+        // Definitions
+        next = 0;
+        position = 0;
+
+        while (position < layout.length) {
+            port = (SeaPort) records[next++];
+            docks = new Dock[layout[position++]];
+            ships = layout[position++];
+            persons = layout[position++];
+            world.restorePort(port, docks.length, ships, persons);
+
+            for (int d = 0; d < docks.length; d++) {
+                docks[d] = (Dock) records[next++];
+                world.restoreDock(port, docks[d]);
+            }
+
+            for (int s = 0; s < ships; s++) {
+                ship = (Ship) records[next++];
+                placement = layout[position++];
+                jobs = layout[position++];
+                dock = (placement >= 0) ? docks[placement] : null;
+                world.restoreShip(port, ship, dock, placement == QUEUED, jobs);
+
+                for (int j = 0; j < jobs; j++) {
+                    world.restoreJob(port, ship, dock, (Job) records[next++]);
+                }
+            }
+
+            for (int p = 0; p < persons; p++) {
+                world.restorePerson(port, (Person) records[next++]);
+            }
+        }
+        return next;
+    }
+}
@@ -0,0 +1,355 @@
+/**
+ * WorldTreeModel.java - Class for <code>WorldTreeModel</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+
+/**
+ * This class exposes a <code>World</code> to a <code>JTree</code> without copying it into a tree of
+ * <code>DefaultMutableTreeNode</code>s. Every node is the <code>Thing</code> itself (or, for the
+ * groupings beneath each port, a lightweight <code>Category</code>), and every child is read on
+ * demand from <code>World.getPorts()</code>, <code>SeaPort.getDocks()</code>/<code>getQue()</code>/
+ * <code>getShips()</code>/<code>getPersons()</code>, <code>Dock.getShip()</code> and
+ * <code>Ship.getJobs()</code>. As a <code>JTree</code> only asks for the children of expanded
+ * nodes, only those nodes the user actually opens are ever visited or rendered.
+ * <br />
+ * <br />
+ * The contents of each port may be listed in any <code>ThingOrder</code>, in which case they are
+ * read from the port's cached sorted views, which are only sorted again once the port changes.
+ * <br />
+ * <br />
+ * The hierarchy is as follows:
+ * <pre>
+ * World
+ *   SeaPort
+ *     Docks  &gt; Dock &gt; Ship &gt; Job
+ *     Que    &gt; Ship &gt; Job
+ *     Ships  &gt; Ship &gt; Job
+ *     Persons &gt; Person
+ * </pre>
+ *
+ * Class implements <code>TreeModel</code>
+ * @see javax.swing.tree.TreeModel
+ * @author Andrew Eissen
+ */
+final class WorldTreeModel implements TreeModel {
+
+    // Labels of the groupings shown beneath each port, in display order
+    private static final String[] CATEGORY_NAMES = {"Docks", "Que", "Ships", "Persons"};
+
+    // Model-related fields
+    private World world;
+    private ThingOrder order;
+    private ArrayList<TreeModelListener> listeners;
+
+    /**
+     * Parameterized constructor
+     * @param world The <code>World</code> to display, possibly <code>null</code>
+     */
+    protected WorldTreeModel(World world) {
+        this.listeners = new ArrayList<>();
+        this.setWorld(world);
+    }
+
+    // Setters
+
+    /**
+     * Setter for <code>world</code>. Notifies listeners that the whole tree has changed.
+     * @param world <code>World</code>
+     * @return void
+     */
+    protected void setWorld(World world) {
+        this.world = world;
+        this.fireTreeStructureChanged(new TreePath(this.getRoot()));
+    }
+
+    /**
+     * Setter for <code>order</code>. Notifies listeners that the contents of every port have
+     * changed, such that the ports themselves stay expanded.
+     * @param order <code>ThingOrder</code>, or <code>null</code> for the order of the file
+     * @return void
+     */
+    protected void setOrder(ThingOrder order) {
+        this.order = order;
+
+        if (this.world != null) {
+            for (SeaPort port : this.world.getPorts()) {
+                this.portChanged(port);
+            }
+        }
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>world</code>
+     * @return <code>this.world</code>
+     */
+    protected World getWorld() {
+        return this.world;
+    }
+
+    /**
+     * Getter for <code>order</code>
+     * @return <code>this.order</code>
+     */
+    protected ThingOrder getOrder() {
+        return this.order;
+    }
+
+    // Handlers
+
+    /**
+     * Notifies listeners that the subtree beneath the given port has changed, such that only that
+     * port's expanded nodes are revalidated.
+     *
+     * @param port <code>SeaPort</code>
+     * @return void
+     */
+    protected void portChanged(SeaPort port) {
+        this.fireTreeStructureChanged(new TreePath(new Object[] {this.getRoot(), port}));
+    }
+
+    /**
+     * Builds the short, single-line label shown for a node. <code>toString</code> is not used as
+     * that of a <code>Ship</code> or <code>SeaPort</code> includes its entire subtree.
+     *
+     * @param node Any node of this model
+     * @return <code>String</code>
+     */
+    protected static String describe(Object node) {
+        Thing thing;
+
+        if (node instanceof World) {
+            return "World (" + ((World) node).getPorts().size() + " ports)";
+        } else if (!(node instanceof Thing)) {
+            return String.valueOf(node);
+        }
+
+        thing = (Thing) node;
+        if (thing instanceof Person) {
+            return "Person: " + thing.getName() + " " + thing.getIndex() + " ("
+                + ((Person) thing).getSkill() + ")";
+        } else if (thing instanceof Job) {
+            return "Job: " + thing.getName() + " " + thing.getIndex() + " ("
+                + ((Job) thing).getDuration() + ")";
+        }
+        return thing.getClass().getSimpleName() + ": " + thing.getName() + " "
+            + thing.getIndex();
+    }
+
+    /**
+     * Returns the children of the given node, read directly from the underlying world.
+     *
+     * @param parent Any node of this model
+     * @return <code>List</code>
+     */
+    private List<?> getChildren(Object parent) {
+        if (parent instanceof World) {
+            return ((World) parent).getPorts();
+        } else if (parent instanceof SeaPort) {
+            return Category.listFor((SeaPort) parent);
+        } else if (parent instanceof Category) {
+            return ((Category) parent).getContents(this.order);
+        } else if (parent instanceof Dock) {
+            return (((Dock) parent).getShip() == null)
+                ? Collections.emptyList()
+                : Collections.singletonList(((Dock) parent).getShip());
+        } else if (parent instanceof Ship) {
+            return ((Ship) parent).getJobs();
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @param path <code>TreePath</code> of the changed subtree
+     * @return void
+     */
+    private void fireTreeStructureChanged(TreePath path) {
+        TreeModelEvent event = new TreeModelEvent(this, path);
+
+        for (TreeModelListener listener : this.listeners) {
+            listener.treeStructureChanged(event);
+        }
+    }
+
+    // Overridden methods
+
+    /**
+     * @inheritdoc
+     * @return The <code>World</code>, or a placeholder label if none is loaded
+     */
+    @Override
+    public Object getRoot() {
+        return (this.getWorld() == null) ? "No world loaded" : this.getWorld();
+    }
+
+    /**
+     * @inheritdoc
+     * @param parent <code>Object</code>
+     * @param index <code>int</code>
+     * @return <code>Object</code>
+     */
+    @Override
+    public Object getChild(Object parent, int index) {
+        return this.getChildren(parent).get(index);
+    }
+
+    /**
+     * @inheritdoc
+     * @param parent <code>Object</code>
+     * @return <code>int</code>
+     */
+    @Override
+    public int getChildCount(Object parent) {
+        return this.getChildren(parent).size();
+    }
+
+    /**
+     * @inheritdoc
+     * @param node <code>Object</code>
+     * @return <code>boolean</code>
+     */
+    @Override
+    public boolean isLeaf(Object node) {
+        return node instanceof Person || node instanceof Job
+            || (node instanceof Dock && ((Dock) node).getShip() == null)
+            || !(node instanceof Thing || node instanceof Category);
+    }
+
+    /**
+     * @inheritdoc
+     * @param parent <code>Object</code>
+     * @param child <code>Object</code>
+     * @return <code>int</code>
+     */
+    @Override
+    public int getIndexOfChild(Object parent, Object child) {
+        if (parent == null || child == null) {
+            return -1;
+        }
+        return this.getChildren(parent).indexOf(child);
+    }
+
+    /**
+     * The world is read-only from the tree, so edits are ignored.
+     * @param path <code>TreePath</code>
+     * @param newValue <code>Object</code>
+     * @return void
+     */
+    @Override
+    public void valueForPathChanged(TreePath path, Object newValue) {}
+
+    /**
+     * @inheritdoc
+     * @param listener <code>TreeModelListener</code>
+     * @return void
+     */
+    @Override
+    public void addTreeModelListener(TreeModelListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * @inheritdoc
+     * @param listener <code>TreeModelListener</code>
+     * @return void
+     */
+    @Override
+    public void removeTreeModelListener(TreeModelListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * A grouping node beneath a <code>SeaPort</code>, i.e. its docks or its queued ships. Instances
+     * are created on demand and compare equal by port and name, so the <code>JTree</code>'s
+     * expansion state survives their re-creation.
+     */
+    private static final class Category {
+
+        private final SeaPort port;
+        private final String name;
+
+        /**
+         * Parameterized constructor
+         * @param port <code>SeaPort</code>
+         * @param name One of <code>CATEGORY_NAMES</code>
+         */
+        private Category(SeaPort port, String name) {
+            this.port = port;
+            this.name = name;
+        }
+
+        /**
+         * @param port <code>SeaPort</code>
+         * @return The port's categories, in display order
+         */
+        private static List<Category> listFor(SeaPort port) {
+            ArrayList<Category> categories = new ArrayList<>(CATEGORY_NAMES.length);
+
+            for (String name : CATEGORY_NAMES) {
+                categories.add(new Category(port, name));
+            }
+            return categories;
+        }
+
+        /**
+         * @param order <code>ThingOrder</code>, or <code>null</code> for the order of the file
+         * @return The port's listing corresponding to this category, or its cached sorted view
+         */
+        private List<? extends Thing> getContents(ThingOrder order) {
+            switch (this.name) {
+                case "Docks":
+                    return (order == null) ? this.port.getDocks() : this.port.getSortedDocks(order);
+                case "Que":
+                    return (order == null) ? this.port.getQue() : this.port.getSortedQue(order);
+                case "Ships":
+                    return (order == null) ? this.port.getShips() : this.port.getSortedShips(order);
+                default:
+                    return (order == null)
+                        ? this.port.getPersons()
+                        : this.port.getSortedPersons(order);
+            }
+        }
+
+        /**
+         * @inheritdoc
+         * @param other <code>Object</code>
+         * @return <code>boolean</code>
+         */
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Category && ((Category) other).port == this.port
+                && ((Category) other).name.equals(this.name);
+        }
+
+        /**
+         * @inheritdoc
+         * @return <code>int</code>
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(this.port), this.name);
+        }
+
+        /**
+         * @inheritdoc
+         * @return <code>String</code>
+         */
+        @Override
+        public String toString() {
+            return this.name + " (" + this.getContents(null).size() + ")";
+        }
+    }
+}
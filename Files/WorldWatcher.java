@@ -0,0 +1,317 @@
+/**
+ * WorldWatcher.java - Class for <code>WorldWatcher</code> objects
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * This class watches the <code>.txt</code> file from which a <code>World</code> was loaded via a
+ * <code>WatchService</code> and keeps the world up to date with any changes made to it. As the
+ * service watches directories rather than files, events concerning the directory's other files
+ * are ignored. Editors frequently save a file in several steps, so once the file has changed, the
+ * watcher waits until no further events have arrived for <code>QUIET_PERIOD</code> milliseconds
+ * before reading it.
+ * <br />
+ * <br />
+ * Each change is found by a <code>WorldReloader</code> on the watcher's own thread and applied to
+ * the world on the event dispatch thread, after which the <code>Delta</code> is handed to the
+ * <code>onReloaded</code> callback, such that the GUI may refresh only the affected ports. Should
+ * the change not be applicable incrementally, <code>onStale</code> is invoked instead, and the
+ * file should be loaded in full. Once <code>stop</code> has been invoked, no callback is invoked
+ * and the world is left untouched.
+ *
+ * @see project1.WorldReloader
+ * @author Andrew Eissen
+ */
+final class WorldWatcher implements Runnable {
+
+    // Milliseconds without events after which a changed file is deemed saved
+    private static final long QUIET_PERIOD = 250;
+
+    // Watch-related fields
+    private World world;
+    private File file;
+    private WorldReloader reloader;
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean running;
+
+    // Callback-related fields
+    private Consumer<WorldReloader.Delta> onReloaded;
+    private Runnable onStale;
+    private Consumer<String> onFailed;
+
+    /**
+     * Parameterized constructor
+     * @param world The <code>World</code> loaded from the file
+     * @param file The <code>.txt</code> file to watch
+     * @param onReloaded <code>Consumer</code> receiving each <code>Delta</code> once applied
+     * @param onStale <code>Runnable</code> invoked should the file need to be loaded in full
+     * @param onFailed <code>Consumer</code> receiving an error message should the file become
+     *     unreadable
+     */
+    protected WorldWatcher(World world, File file, Consumer<WorldReloader.Delta> onReloaded,
+            Runnable onStale, Consumer<String> onFailed) {
+        this.setWorld(world);
+        this.setFile(file.getAbsoluteFile());
+        this.setOnReloaded(onReloaded);
+        this.setOnStale(onStale);
+        this.setOnFailed(onFailed);
+    }
+
+    // Setters
+
+    /**
+     * Setter for <code>world</code>
+     * @param world <code>World</code>
+     * @return void
+     */
+    private void setWorld(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Setter for <code>file</code>
+     * @param file <code>File</code>
+     * @return void
+     */
+    private void setFile(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Setter for <code>onReloaded</code>
+     * @param onReloaded <code>Consumer</code>
+     * @return void
+     */
+    private void setOnReloaded(Consumer<WorldReloader.Delta> onReloaded) {
+        this.onReloaded = onReloaded;
+    }
+
+    /**
+     * Setter for <code>onStale</code>
+     * @param onStale <code>Runnable</code>
+     * @return void
+     */
+    private void setOnStale(Runnable onStale) {
+        this.onStale = onStale;
+    }
+
+    /**
+     * Setter for <code>onFailed</code>
+     * @param onFailed <code>Consumer</code>
+     * @return void
+     */
+    private void setOnFailed(Consumer<String> onFailed) {
+        this.onFailed = onFailed;
+    }
+
+    // Getters
+
+    /**
+     * Getter for <code>world</code>
+     * @return <code>this.world</code>
+     */
+    protected World getWorld() {
+        return this.world;
+    }
+
+    /**
+     * Getter for <code>file</code>
+     * @return <code>this.file</code>
+     */
+    protected File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Getter for <code>running</code>
+     * @return <code>true</code> if started and not yet stopped
+     */
+    protected boolean isRunning() {
+        return this.running;
+    }
+
+    // Handlers
+
+    /**
+     * Registers the file's directory with a new <code>WatchService</code> and begins watching on a
+     * daemon thread.
+     *
+     * @return void
+     * @throws IOException If the directory cannot be watched
+     */
+    protected void start() throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.getFile().getParentFile().toPath().register(this.watchService,
+            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        this.running = true;
+        this.thread = new Thread(this, "WorldWatcher-" + this.getFile().getName());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stops watching. Must be invoked on the event dispatch thread, such that any change already
+     * awaiting application there is discarded.
+     *
+     * @return void
+     */
+    protected void stop() {
+        this.running = false;
+
+        if (this.thread != null) {
+            this.thread.interrupt();
+        }
+
+        try {
+            if (this.watchService != null) {
+                this.watchService.close();
+            }
+        } catch (IOException ex) {
+            // The service is unusable either way
+        }
+    }
+
+    /**
+     * Blocks until the file has changed and no events have arrived for <code>QUIET_PERIOD</code>
+     * milliseconds.
+     *
+     * @return void
+     * @throws InterruptedException If the watcher is stopped while waiting
+     */
+    private void awaitChange() throws InterruptedException {
+        WatchKey key;
+
+        while (!this.concernsFile(this.watchService.take())) {}
+
+        key = this.watchService.poll(QUIET_PERIOD, TimeUnit.MILLISECONDS);
+        while (key != null) {
+            this.concernsFile(key);
+            key = this.watchService.poll(QUIET_PERIOD, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Consumes the events of the given key and resets it.
+     *
+     * @param key <code>WatchKey</code>
+     * @return <code>true</code> if any event concerned the file, or events may have been lost
+     */
+    private boolean concernsFile(WatchKey key) {
+        Path name = this.getFile().toPath().getFileName();
+        boolean concerned = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || name.equals(event.context())) {
+                concerned = true;
+            }
+        }
+
+        key.reset();
+        return concerned;
+    }
+
+    /**
+     * Scans the changed file and applies its <code>Delta</code>, if any, on the event dispatch
+     * thread, waiting until it has been applied such that the next scan is made against it.
+     *
+     * @return void
+     * @throws InterruptedException If the watcher is stopped while waiting
+     */
+    private void reload() throws InterruptedException {
+        WorldReloader.Delta delta;
+
+        try {
+            delta = this.reloader.scan();
+        } catch (IOException ex) {
+            this.report("Cannot read " + this.getFile().getName());
+            return;
+        }
+
+        if (delta == null) {
+            this.stale();
+        } else if (!delta.isEmpty()) {
+            try {
+                SwingUtilities.invokeAndWait(() -> {
+                    if (this.running) {
+                        this.reloader.apply(delta);
+                        this.onReloaded.accept(delta);
+                    }
+                });
+            } catch (InvocationTargetException ex) {
+                this.stale();
+            }
+        }
+    }
+
+    /**
+     * Invokes <code>onStale</code> on the event dispatch thread, unless stopped by then.
+     *
+     * @return void
+     */
+    private void stale() {
+        SwingUtilities.invokeLater(() -> {
+            if (this.running) {
+                this.onStale.run();
+            }
+        });
+    }
+
+    /**
+     * Passes a message to <code>onFailed</code> on the event dispatch thread, unless stopped by
+     * then.
+     *
+     * @param message <code>String</code>
+     * @return void
+     */
+    private void report(String message) {
+        SwingUtilities.invokeLater(() -> {
+            if (this.running) {
+                this.onFailed.accept(message);
+            }
+        });
+    }
+
+    // Overridden methods
+
+    /**
+     * Relates the file to the world and then applies each change to the file in turn until
+     * stopped.
+     *
+     * @return void
+     */
+    @Override
+    public void run() {
+        try {
+            this.reloader = new WorldReloader(this.getWorld(), this.getFile());
+
+            while (this.running) {
+                this.awaitChange();
+                this.reload();
+            }
+        } catch (IOException ex) {
+            this.report("Cannot watch " + this.getFile().getName());
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // Stopped
+        }
+    }
+}
@@ -0,0 +1,331 @@
+/**
+ * BenchmarkRunner.java - Class for running the benchmarks against a baseline
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class is the entry point of the benchmarks jar. It runs the benchmarks selected on the
+ * command line, accepting every option of JMH itself, with the GC profiler always attached such
+ * that each benchmark reports its allocation rate alongside its throughput and latency. Two
+ * options of its own are read before the rest are passed to JMH:
+ * <pre>
+ *     --save-baseline FILE   writes the results to FILE
+ *     --baseline FILE        compares the results with those previously written to FILE
+ * </pre>
+ * A baseline holds one tab-separated line per benchmark, parameter set, mode and metric, the
+ * metrics being the benchmark's score, its 99th percentile latency where sampled, and its
+ * allocation rate per second and per operation. A comparison lists the change in each metric,
+ * judging it better or worse only where the change exceeds both the combined errors of the two
+ * scores and <code>THRESHOLD</code> percent of the baseline, and unchanged otherwise.
+ * <br />
+ * <br />
+ * Baselines are only meaningful on the machine that recorded them, so none is stored with the
+ * sources; one is instead recorded before a change and compared against after it.
+ *
+ * @author Andrew Eissen
+ */
+final class BenchmarkRunner {
+
+    // Percentage by which a metric must change before it is judged better or worse
+    private static final double THRESHOLD = 5;
+
+    // Secondary results of the GC profiler recorded in baselines
+    private static final List<String> ALLOCATION_METRICS = List.of("gc.alloc.rate",
+        "gc.alloc.rate.norm");
+
+    /**
+     * Private constructor, as the class contains only <code>static</code> methods
+     */
+    private BenchmarkRunner() {}
+
+    /**
+     * @param args Command line options, those of JMH included
+     * @return void
+     * @throws IOException If a baseline cannot be read or written
+     * @throws RunnerException If a benchmark fails
+     */
+    public static void main(String[] args) throws IOException, RunnerException {
+
+        // Declarations
+        ArrayList<String> jmhArgs;
+        CommandLineOptions options;
+        Path baseline, savedBaseline;
+        Map<String, Metric> results;
+
+        // Definitions
+        jmhArgs = new ArrayList<>(Arrays.asList(args));
+        baseline = BenchmarkRunner.takeFileOption(jmhArgs, "--baseline");
+        savedBaseline = BenchmarkRunner.takeFileOption(jmhArgs, "--save-baseline");
+
+        try {
+            options = new CommandLineOptions(jmhArgs.toArray(new String[0]));
+        } catch (CommandLineOptionException ex) {
+            System.err.println("Error: " + ex.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        // Listings and help need no runs, so are left to JMH
+        if (options.shouldHelp() || options.shouldList() || options.shouldListWithParams()
+                || options.shouldListProfilers() || options.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(jmhArgs.toArray(new String[0]));
+            return;
+        }
+
+        results = BenchmarkRunner.collectMetrics(new Runner(new OptionsBuilder().parent(options)
+            .addProfiler(GCProfiler.class).build()).run());
+
+        if (savedBaseline != null) {
+            BenchmarkRunner.writeBaseline(results, savedBaseline);
+            System.out.println("Baseline written to " + savedBaseline);
+        }
+        if (baseline != null) {
+            BenchmarkRunner.compare(BenchmarkRunner.readBaseline(baseline), results, baseline);
+        }
+    }
+
+    /**
+     * Removes an option and its value from the arguments.
+     *
+     * @param args Arguments, from which the option is removed
+     * @param option Name of the option, i.e. <code>"--baseline"</code>
+     * @return The option's value as a <code>Path</code>, or <code>null</code> if absent
+     * @throws IllegalArgumentException If the option lacks a value
+     */
+    private static Path takeFileOption(List<String> args, String option) {
+        int position = args.indexOf(option);
+        String value;
+
+        if (position < 0) {
+            return null;
+        } else if (position == args.size() - 1) {
+            throw new IllegalArgumentException("Expected a file after " + option);
+        }
+
+        value = args.remove(position + 1);
+        args.remove(position);
+        return Paths.get(value);
+    }
+
+    /**
+     * Gathers the metrics of every result, keyed by benchmark, parameters, mode and metric.
+     *
+     * @param runResults Results of the run
+     * @return Metrics, in the order of the run
+     */
+    private static Map<String, Metric> collectMetrics(Collection<RunResult> runResults) {
+
+        // Declarations
+        LinkedHashMap<String, Metric> metrics;
+        BenchmarkParams params;
+        Result<?> primary, secondary;
+        String key;
+
+        // Definitions
+        metrics = new LinkedHashMap<>();
+
+        for (RunResult runResult : runResults) {
+            params = runResult.getParams();
+            primary = runResult.getPrimaryResult();
+            key = BenchmarkRunner.keyOf(params);
+
+            metrics.put(key + "\tscore", new Metric(primary.getScore(), primary.getScoreError(),
+                primary.getScoreUnit(), params.getMode() == Mode.Throughput));
+
+            if (params.getMode() == Mode.SampleTime) {
+                metrics.put(key + "\tp0.99", new Metric(primary.getStatistics().getPercentile(99),
+                    0, primary.getScoreUnit(), false));
+            }
+
+            for (String name : ALLOCATION_METRICS) {
+                secondary = runResult.getSecondaryResults().get(name);
+
+                if (secondary != null) {
+                    metrics.put(key + "\t" + name, new Metric(secondary.getScore(),
+                        secondary.getScoreError(), secondary.getScoreUnit(), false));
+                }
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @param params <code>BenchmarkParams</code>
+     * @return The benchmark's name, parameters and mode, i.e.
+     *     <code>LoadBenchmark.mapped(input=aSPaa.txt)\tthrpt</code>
+     */
+    private static String keyOf(BenchmarkParams params) {
+        StringBuilder key = new StringBuilder(params.getBenchmark().replace("project1.", ""));
+        TreeMap<String, String> values = new TreeMap<>();
+
+        for (String name : params.getParamsKeys()) {
+            values.put(name, params.getParam(name));
+        }
+
+        if (!values.isEmpty()) {
+            key.append(values.toString().replace('{', '(').replace('}', ')'));
+        }
+        return key.append("\t").append(params.getMode().shortLabel()).toString();
+    }
+
+    /**
+     * @param metrics Metrics of the run
+     * @param file Baseline to write
+     * @return void
+     * @throws IOException If the baseline cannot be written
+     */
+    private static void writeBaseline(Map<String, Metric> metrics, Path file) throws IOException {
+        try (BufferedWriter output = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            output.write("# benchmark\tmode\tmetric\tscore\terror\tunit\thigherIsBetter\n");
+
+            for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+                output.write(entry.getKey() + "\t" + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    /**
+     * @param file Baseline to read
+     * @return Metrics of the baseline
+     * @throws IOException If the baseline cannot be read or is malformed
+     */
+    private static Map<String, Metric> readBaseline(Path file) throws IOException {
+        LinkedHashMap<String, Metric> metrics = new LinkedHashMap<>();
+        String[] fields;
+
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+
+            fields = line.split("\t");
+            if (fields.length != 7) {
+                throw new IOException("Malformed baseline line: " + line);
+            }
+
+            metrics.put(fields[0] + "\t" + fields[1] + "\t" + fields[2], new Metric(
+                Double.parseDouble(fields[3]), Double.parseDouble(fields[4]), fields[5],
+                Boolean.parseBoolean(fields[6])));
+        }
+        return metrics;
+    }
+
+    /**
+     * Prints the change in each metric of the run that the baseline also holds in the same unit.
+     *
+     * @param baseline Metrics of the baseline
+     * @param current Metrics of the run
+     * @param file Baseline, for the heading
+     * @return void
+     */
+    private static void compare(Map<String, Metric> baseline, Map<String, Metric> current,
+            Path file) {
+
+        // Declarations
+        Metric before, after;
+        String[] key;
+        double change;
+        String verdict;
+        int better, worse;
+
+        // Definitions
+        better = 0;
+        worse = 0;
+
+        System.out.println("\nComparison with baseline " + file + ":\n");
+        System.out.println(String.format("%-70s %-6s %-18s %14s %14s %9s  %s", "Benchmark",
+            "Mode", "Metric", "Baseline", "Current", "Change", "Verdict"));
+
+        for (Map.Entry<String, Metric> entry : current.entrySet()) {
+            before = baseline.get(entry.getKey());
+            after = entry.getValue();
+
+            if (before == null || !before.unit.equals(after.unit)) {
+                continue;
+            }
+
+            change = (before.score == 0) ? 0 : 100 * (after.score - before.score) / before.score;
+            verdict = "unchanged";
+
+            if (Math.abs(after.score - before.score) > before.error + after.error
+                    && Math.abs(change) > THRESHOLD) {
+                verdict = ((change > 0) == after.higherIsBetter) ? "better" : "worse";
+            }
+
+            if (verdict.equals("better")) {
+                better++;
+            } else if (verdict.equals("worse")) {
+                worse++;
+            }
+
+            key = entry.getKey().split("\t");
+            System.out.println(String.format("%-70s %-6s %-18s %14.3f %14.3f %+8.1f%%  %s",
+                key[0], key[1], key[2], before.score, after.score, change, verdict));
+        }
+
+        System.out.println(String.format("\n%d better, %d worse, by more than %.0f%% and the "
+            + "error of the scores\n", better, worse, THRESHOLD));
+    }
+
+    /**
+     * A single score, its error and unit, and whether a greater score is the better.
+     */
+    private static final class Metric {
+
+        private final double score;
+        private final double error;
+        private final String unit;
+        private final boolean higherIsBetter;
+
+        /**
+         * Parameterized constructor
+         * @param score <code>double</code>
+         * @param error Half-width of the score's confidence interval, or <code>NaN</code> if
+         *     unknown, as when too few iterations were run
+         * @param unit <code>String</code>
+         * @param higherIsBetter <code>true</code> for throughput
+         */
+        private Metric(double score, double error, String unit, boolean higherIsBetter) {
+            this.score = score;
+            this.error = Double.isNaN(error) ? 0 : error;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+
+        /**
+         * @inheritdoc
+         * @return The metric as the last four fields of a baseline line
+         */
+        @Override
+        public String toString() {
+            return this.score + "\t" + this.error + "\t" + this.unit + "\t" + this.higherIsBetter;
+        }
+    }
+}
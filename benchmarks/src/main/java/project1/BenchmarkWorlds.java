@@ -0,0 +1,240 @@
+/**
+ * BenchmarkWorlds.java - Class for locating and generating benchmark worlds
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * This class supplies the world files read by the benchmarks, as named by their
+ * <code>input</code> parameter. The sample worlds <code>aSPaa.txt</code> and
+ * <code>aSPad.txt</code> are bundled with the benchmarks and copied out of the classpath, whereas
+ * an input of the form <code>generated:N</code> names a world of <code>N</code> ports generated on
+ * the spot, each port having 5 docks, 20 ships, 12 persons and 200 jobs. Generated worlds use a
+ * fixed seed, such that every run, and thus every baseline, measures the very same world.
+ * <br />
+ * <br />
+ * Files are written to a temporary directory once per benchmark process, and removed on exit.
+ *
+ * @see project1.LoadBenchmark
+ * @author Andrew Eissen
+ */
+final class BenchmarkWorlds {
+
+    // Prefix of the inputs naming generated worlds
+    private static final String GENERATED_PREFIX = "generated:";
+
+    // Skills assigned to generated persons and required by generated jobs
+    private static final String[] SKILLS = {"captain", "carpenter", "engineer", "janitor",
+        "crane_operator", "electrician", "cleaner", "inspector", "clerk", "mate", "stevedore",
+        "driver"};
+
+    // Files already supplied, by input
+    private static final HashMap<String, File> FILES = new HashMap<>();
+
+    /**
+     * Private constructor, as the class contains only <code>static</code> methods
+     */
+    private BenchmarkWorlds() {}
+
+    /**
+     * Returns the file of the given input, copying or generating it on first request.
+     *
+     * @param input <code>aSPaa.txt</code>, <code>aSPad.txt</code> or <code>generated:N</code>
+     * @return <code>File</code>
+     * @throws IllegalArgumentException If the input names neither a bundled nor generated world
+     */
+    protected static synchronized File fileOf(String input) {
+        File file = FILES.get(input);
+
+        if (file != null) {
+            return file;
+        }
+
+        try {
+            file = input.startsWith(GENERATED_PREFIX)
+                ? BenchmarkWorlds.generate(Integer.parseInt(input.substring(GENERATED_PREFIX
+                    .length())))
+                : BenchmarkWorlds.copyResource(input);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        FILES.put(input, file);
+        return file;
+    }
+
+    /**
+     * Loads the world of the given input via <code>MappedWorldLoader</code>, as the GUI does.
+     *
+     * @param input <code>String</code>
+     * @return <code>World</code>
+     * @throws IOException If the file cannot be read
+     */
+    protected static World load(String input) throws IOException {
+        return new MappedWorldLoader(BenchmarkWorlds.fileOf(input)).load();
+    }
+
+    /**
+     * @param name Name of a world bundled with the benchmarks
+     * @return A temporary copy of the world
+     * @throws IOException If the copy cannot be written
+     */
+    private static File copyResource(String name) throws IOException {
+        Path path;
+
+        try (InputStream input = BenchmarkWorlds.class.getResourceAsStream("/" + name)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Unknown input " + name + "; expected "
+                    + "aSPaa.txt, aSPad.txt or " + GENERATED_PREFIX + "N");
+            }
+
+            path = BenchmarkWorlds.createDirectory().resolve(name);
+            Files.copy(input, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        path.toFile().deleteOnExit();
+        return path.toFile();
+    }
+
+    /**
+     * Writes a world of the given number of ports. Of each port's ships, about two in five are
+     * moored, at the port's first free docks, and the rest queued, whereas jobs are spread over
+     * every ship of the world at random.
+     *
+     * @param ports <code>int</code>
+     * @return The generated world
+     * @throws IOException If the world cannot be written
+     */
+    private static File generate(int ports) throws IOException {
+
+        // Declarations
+        Random random;
+        Path path;
+        int portIndex, dockIndex, shipIndex, ships;
+        boolean[] docked;
+
+        // Definitions
+        random = new Random(7);
+        path = BenchmarkWorlds.createDirectory().resolve("generated-" + ports + ".txt");
+        ships = ports * 20;
+        docked = new boolean[ports * 5];
+
+        try (BufferedWriter output = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            output.write("// Generated world of " + ports + " ports\n");
+
+            for (int p = 0; p < ports; p++) {
+                portIndex = 10000 + p;
+                output.write("port Port_" + portIndex + " " + portIndex + " 0\n");
+
+                for (int d = 0; d < 5; d++) {
+                    dockIndex = 20000000 + p * 5 + d;
+                    output.write("  dock Pier_" + dockIndex + " " + dockIndex + " " + portIndex
+                        + " 0\n");
+                }
+            }
+
+            for (int s = 0; s < ships; s++) {
+                portIndex = 10000 + s / 20;
+                shipIndex = 30000000 + s;
+                BenchmarkWorlds.writeShip(output, random, shipIndex,
+                    BenchmarkWorlds.chooseParent(random, docked, s / 20, portIndex));
+            }
+
+            for (int p = 0; p < ports; p++) {
+                for (int k = 0; k < 12; k++) {
+                    output.write(String.format(Locale.ROOT, "    person P_%d %d %d %s\n",
+                        50000000 + p * 100 + k, 50000000 + p * 100 + k, 10000 + p,
+                        SKILLS[random.nextInt(SKILLS.length)]));
+                }
+            }
+
+            for (int j = 0; j < ports * 200; j++) {
+                output.write(String.format(Locale.ROOT, "    job Job_%d %d %d %.2f", 60000000 + j,
+                    60000000 + j, 30000000 + random.nextInt(ships), 1 + random.nextDouble() * 199));
+
+                for (int r = random.nextInt(4); r > 0; r--) {
+                    output.write(" " + SKILLS[random.nextInt(SKILLS.length)]);
+                }
+                output.write("\n");
+            }
+        }
+
+        path.toFile().deleteOnExit();
+        return path.toFile();
+    }
+
+    /**
+     * Chooses the parent of the next ship of a port, being the port's first free dock about two
+     * times in five, or else the port itself.
+     *
+     * @param random <code>Random</code>
+     * @param docked Whether each dock of the world is taken
+     * @param port Position of the port
+     * @param portIndex Index of the port
+     * @return Index of the parent
+     */
+    private static int chooseParent(Random random, boolean[] docked, int port, int portIndex) {
+        if (random.nextDouble() < 0.4) {
+            for (int d = port * 5; d < port * 5 + 5; d++) {
+                if (!docked[d]) {
+                    docked[d] = true;
+                    return 20000000 + d;
+                }
+            }
+        }
+        return portIndex;
+    }
+
+    /**
+     * Writes a passenger or cargo ship, with equal likelihood.
+     *
+     * @param output <code>BufferedWriter</code>
+     * @param random <code>Random</code>
+     * @param index Index of the ship
+     * @param parent Index of its dock or port
+     * @return void
+     * @throws IOException If the world cannot be written
+     */
+    private static void writeShip(BufferedWriter output, Random random, int index, int parent)
+            throws IOException {
+        String dimensions = String.format(Locale.ROOT, "%.2f %.2f %.2f %.2f",
+            100 + random.nextDouble() * 200, 100 + random.nextDouble() * 200,
+            20 + random.nextDouble() * 40, 10 + random.nextDouble() * 30);
+
+        if (random.nextBoolean()) {
+            output.write(String.format(Locale.ROOT, "    pship Ship_%d %d %d %s %d %d %d\n", index,
+                index, parent, dimensions, random.nextInt(3001), random.nextInt(1001),
+                random.nextInt(1001)));
+        } else {
+            output.write(String.format(Locale.ROOT, "    cship Ship_%d %d %d %s %.2f %.2f %.2f\n",
+                index, index, parent, dimensions, 100 + random.nextDouble() * 200,
+                100 + random.nextDouble() * 200, 100 + random.nextDouble() * 900));
+        }
+    }
+
+    /**
+     * @return A temporary directory, removed on exit once emptied
+     * @throws IOException If the directory cannot be created
+     */
+    private static Path createDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("seaport-benchmarks");
+
+        directory.toFile().deleteOnExit();
+        return directory;
+    }
+}
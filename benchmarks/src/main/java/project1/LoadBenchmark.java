@@ -0,0 +1,117 @@
+/**
+ * LoadBenchmark.java - Class for <code>World</code> construction benchmarks
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the construction of a <code>World</code> from each of the sample worlds
+ * and from generated worlds of 100 and 1,000 ports, by each of the means available: the original
+ * <code>Scanner</code>-based <code>World.process</code>, its <code>Reader</code>-based overload,
+ * the memory-mapped loader used by the GUI, its parallel counterpart, and the reading of a binary
+ * snapshot. Each is measured both as
+ * throughput and as a distribution of single-load latencies.
+ * <br />
+ * <br />
+ * Like every benchmark class, this class is <code>public</code> and not <code>final</code>, as the
+ * code generated for it by JMH resides in another package and extends it.
+ *
+ * @see project1.BenchmarkWorlds
+ * @author Andrew Eissen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class LoadBenchmark {
+
+    @Param({"aSPaa.txt", "aSPad.txt", "generated:100", "generated:1000"})
+    private String input;
+
+    private File file;
+
+    /**
+     * Supplies the input's file and writes its snapshot, such that no benchmark pays for either.
+     *
+     * @return void
+     * @throws IOException If the file or snapshot cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        this.file = BenchmarkWorlds.fileOf(this.input);
+        WorldSnapshot.write(new MappedWorldLoader(this.file).load(), this.file,
+            this.file.length(), this.file.lastModified());
+        WorldSnapshot.snapshotFileFor(this.file).deleteOnExit();
+    }
+
+    /**
+     * @return <code>World</code>
+     * @throws FileNotFoundException If the file has vanished
+     */
+    @Benchmark
+    public World scanner() throws FileNotFoundException {
+        try (Scanner scanner = new Scanner(this.file)) {
+            return new World(scanner);
+        }
+    }
+
+    /**
+     * @return <code>World</code>
+     * @throws IOException If the file cannot be read
+     */
+    @Benchmark
+    public World reader() throws IOException {
+        try (FileReader reader = new FileReader(this.file)) {
+            return new World(reader);
+        }
+    }
+
+    /**
+     * @return <code>World</code>
+     * @throws IOException If the file cannot be read
+     */
+    @Benchmark
+    public World mapped() throws IOException {
+        return new MappedWorldLoader(this.file).load();
+    }
+
+    /**
+     * @return <code>World</code>
+     * @throws IOException If the file cannot be read
+     */
+    @Benchmark
+    public World parallel() throws IOException {
+        return new MappedWorldLoader(this.file).loadParallel();
+    }
+
+    /**
+     * @return <code>World</code>
+     * @throws IOException If the snapshot cannot be read
+     */
+    @Benchmark
+    public World snapshot() throws IOException {
+        return WorldSnapshot.read(this.file);
+    }
+}
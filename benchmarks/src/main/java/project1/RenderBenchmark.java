@@ -0,0 +1,87 @@
+/**
+ * RenderBenchmark.java - Class for rendering benchmarks
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the rendering of a world as text, both streamed by
+ * <code>WorldRenderer</code> into a reused buffer, as the GUI renders into its text area, and built
+ * whole by the <code>toString</code> of the <code>World</code>. The rendering of a single port is
+ * measured alongside, as when a port is selected in the world browser.
+ *
+ * @see project1.WorldRenderer
+ * @author Andrew Eissen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class RenderBenchmark {
+
+    @Param({"aSPad.txt", "generated:1000"})
+    private String input;
+
+    private World world;
+    private SeaPort port;
+    private StringBuilder output;
+
+    /**
+     * @return void
+     * @throws IOException If the world cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        this.world = BenchmarkWorlds.load(this.input);
+        this.port = this.world.getPorts().get(0);
+        this.output = new StringBuilder();
+    }
+
+    /**
+     * @return The length of the rendering
+     * @throws IOException Never, as the output is a <code>StringBuilder</code>
+     */
+    @Benchmark
+    public int renderWorld() throws IOException {
+        this.output.setLength(0);
+        WorldRenderer.render(this.world, this.output);
+        return this.output.length();
+    }
+
+    /**
+     * @return The length of the rendering
+     * @throws IOException Never, as the output is a <code>StringBuilder</code>
+     */
+    @Benchmark
+    public int renderPort() throws IOException {
+        this.output.setLength(0);
+        WorldRenderer.render(this.port, this.output);
+        return this.output.length();
+    }
+
+    /**
+     * @return <code>String</code>
+     */
+    @Benchmark
+    public String worldToString() {
+        return this.world.toString();
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * SearchBenchmark.java - Class for search benchmarks
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks each search mode of <code>SeaPortProgram</code>, i.e. by name, by index,
+ * by skill and by query, exactly as the "Search" button performs them, results assembled for
+ * display included. Queries are measured once for each source of candidates a query may use
+ * besides the index of names: a parallel scan, free of any indexed condition, the skill index,
+ * the range index and the spatial index. As the indices cache their sorted columns and trees,
+ * queries are measured once those are built, as they are for every search after the first.
+ * <br />
+ * <br />
+ * The targets of the searches are chosen from the loaded world itself, such that every search
+ * finds something whatever the input.
+ *
+ * @see project1.SeaPortProgram
+ * @see project1.WorldQuery
+ * @author Andrew Eissen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class SearchBenchmark {
+
+    // Greatest number of query matches formatted, as in the GUI
+    private static final int QUERY_RESULT_LIMIT = 200;
+
+    @Param({"aSPad.txt", "generated:1000"})
+    private String input;
+
+    private World world;
+    private String name;
+    private String index;
+    private String skill;
+    private String scanQuery;
+    private String skillQuery;
+    private String rangeQuery;
+    private String nearestQuery;
+
+    /**
+     * Loads the world and chooses the searches' targets from the middle of its records.
+     *
+     * @return void
+     * @throws IOException If the world cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+
+        // Declarations
+        ArrayList<Thing> things;
+        Ship ship;
+
+        // Definitions
+        this.world = BenchmarkWorlds.load(this.input);
+        things = this.world.getAllThings();
+        ship = this.world.getPorts().get(0).getShips().get(0);
+
+        this.name = things.get(things.size() / 2).getName();
+        this.index = String.valueOf(things.get(things.size() / 3).getIndex());
+        this.skill = this.world.getPorts().get(0).getPersons().get(0).getSkill();
+        this.scanQuery = "jobs where duration > 150";
+        this.skillQuery = "jobs where duration > 150 and requires " + this.skill;
+        this.rangeQuery = "ships where draft >= 20 and draft < 22";
+        this.nearestQuery = "ships nearest 10 to " + ship.getIndex();
+
+        for (String query : new String[] {this.scanQuery, this.skillQuery, this.rangeQuery,
+                this.nearestQuery}) {
+            this.query(query);
+        }
+    }
+
+    /**
+     * @return <code>String</code>
+     */
+    @Benchmark
+    public String byName() {
+        return SeaPortProgram.assembleResults(this.world, 0, this.name);
+    }
+
+    /**
+     * @return <code>String</code>
+     */
+    @Benchmark
+    public String byIndex() {
+        return SeaPortProgram.assembleResults(this.world, 1, this.index);
+    }
+
+    /**
+     * @return <code>String</code>
+     */
+    @Benchmark
+    public String bySkill() {
+        return SeaPortProgram.assembleSkillResults(this.world, this.skill);
+    }
+
+    /**
+     * @return <code>String</code>
+     */
+    @Benchmark
+    public String byQueryScan() {
+        return this.query(this.scanQuery);
+    }
+
+    /**
+     * @return <code>String</code>
+     */
+    @Benchmark
+    public String byQuerySkill() {
+        return this.query(this.skillQuery);
+    }
+
+    /**
+     * @return <code>String</code>
+     */
+    @Benchmark
+    public String byQueryRange() {
+        return this.query(this.rangeQuery);
+    }
+
+    /**
+     * @return <code>String</code>
+     */
+    @Benchmark
+    public String byQueryNearest() {
+        return this.query(this.nearestQuery);
+    }
+
+    /**
+     * Compiles, executes and formats a query, as does <code>assembleQueryResults</code>.
+     *
+     * @param query <code>String</code>
+     * @return <code>String</code>
+     */
+    private String query(String query) {
+        WorldQuery worldQuery = new WorldQuery(query);
+
+        return worldQuery.format(worldQuery.execute(this.world),
+            SearchBenchmark.QUERY_RESULT_LIMIT);
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * MappedWorldLoaderTest.java - Class for <code>MappedWorldLoader</code> tests
+ * Begun 10/18/26
+ * @author Andrew Eissen
+ */
+
+package project1;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class checks that the parallel load of <code>MappedWorldLoader</code> builds the same world
+ * as its sequential load, in particular for a file whose lines cannot be split evenly between the
+ * fork-join tasks.
+ *
+ * @author Andrew Eissen
+ */
+final class MappedWorldLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * A comment line longer than a chunk, following the sample world, leaves no line break after
+     * the midpoint of the file's range but the file's last. The range must be parsed whole rather
+     * than split again and again into itself.
+     *
+     * @return void
+     * @throws IOException If the world cannot be written or read
+     */
+    @Test
+    void loadParallelParsesLongLineWhole() throws IOException {
+
+        // Declarations
+        File file;
+        MappedWorldLoader loader;
+
+        file = this.directory.resolve("longLine.txt").toFile();
+        Files.writeString(file.toPath(), Files.readString(Path.of("..", "Files", "aSPaa.txt"))
+            + "\n// " + "x".repeat(3 << 19) + "\n");
+        loader = new MappedWorldLoader(file);
+
+        assertEquals(MappedWorldLoaderTest.describe(loader.load()),
+            MappedWorldLoaderTest.describe(loader.loadParallel()));
+    }
+
+    /**
+     * @param world <code>World</code>
+     * @return The <code>toString</code> of every <code>Thing</code> in the world, in order
+     */
+    private static ArrayList<String> describe(World world) {
+        ArrayList<String> things = new ArrayList<>();
+
+        for (Thing thing : world.getAllThings()) {
+            things.add(thing.getClass().getSimpleName() + " " + thing);
+        }
+        return things;
+    }
+}